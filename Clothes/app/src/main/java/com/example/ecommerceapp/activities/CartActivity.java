@@ -14,8 +14,12 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerceapp.R;
 import com.example.ecommerceapp.adapters.CartAdapter;
+import com.example.ecommerceapp.data.CartChangeListener;
 import com.example.ecommerceapp.data.CartManager;
+import com.example.ecommerceapp.models.CartChange;
 import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.CartSnapshot;
+import com.example.ecommerceapp.models.Money;
 
 import java.util.List;
 
@@ -28,6 +32,8 @@ import java.util.List;
  * - Remove item button
  * - Total price display
  * - Checkout button -> CheckoutActivity
+ * While visible it follows CartManager change events: changed rows are diffed and
+ * partially rebound, and the totals card is only refreshed when the totals change
  */
 public class CartActivity extends AppCompatActivity {
     private RecyclerView rvCart;
@@ -39,7 +45,30 @@ public class CartActivity extends AppCompatActivity {
     private View cardTotal;
     private CartAdapter adapter;
     private CartManager cartManager;
+    private CartSnapshot cartSnapshot;
     private List<CartItem> cartItems;
+    private long shownVersion;
+    private final CartChangeListener cartListener = new CartChangeListener() {
+        @Override
+        public void onItemAdded(CartChange change, CartSnapshot snapshot) {
+            showItems(snapshot);
+        }
+
+        @Override
+        public void onItemUpdated(CartChange change, CartSnapshot snapshot) {
+            showItems(snapshot);
+        }
+
+        @Override
+        public void onItemRemoved(CartChange change, CartSnapshot snapshot) {
+            showItems(snapshot);
+        }
+
+        @Override
+        public void onTotalsChanged(CartSnapshot snapshot) {
+            showTotals(snapshot);
+        }
+    };
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -69,13 +98,23 @@ public class CartActivity extends AppCompatActivity {
     }
 
     @Override
-    protected void onResume() {
-        super.onResume();
-        loadCart();
+    protected void onStart() {
+        super.onStart();
+        // Catch up with changes made while stopped, then follow live events
+        cartManager.addChangeListener(cartListener);
         if (adapter != null) {
-            adapter.updateCartItems(cartItems);
+            CartSnapshot snapshot = cartManager.getSnapshot();
+            showItems(snapshot);
+            showTotals(snapshot);
         }
-        updateUI();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        cartManager.removeChangeListener(cartListener);
+        // Persist quantity changes still waiting for the write-behind quiet period
+        cartManager.flush();
     }
 
     private void initializeViews() {
@@ -105,25 +144,23 @@ public class CartActivity extends AppCompatActivity {
     }
 
     private void loadCart() {
-        cartItems = cartManager.getCart();
+        // One snapshot so the list and the totals always describe the same cart state
+        cartSnapshot = cartManager.getSnapshot();
+        cartItems = cartSnapshot.getItems();
+        shownVersion = cartSnapshot.getVersion();
     }
 
     private void setupRecyclerView() {
         adapter = new CartAdapter(cartItems, new CartAdapter.OnCartItemClickListener() {
             @Override
             public void onQuantityChanged(CartItem item, int newQuantity) {
-                cartManager.updateQuantity(item.getProduct().getId(), newQuantity);
-                loadCart();
-                adapter.updateCartItems(cartItems);
-                updateUI();
+                // The row and totals update from the change events
+                cartManager.updateQuantity(item.getProductId(), newQuantity);
             }
 
             @Override
             public void onRemoveItem(CartItem item) {
-                cartManager.removeFromCart(item.getProduct().getId());
-                loadCart();
-                adapter.updateCartItems(cartItems);
-                updateUI();
+                cartManager.removeFromCart(item.getProductId());
             }
         });
 
@@ -131,6 +168,38 @@ public class CartActivity extends AppCompatActivity {
         rvCart.setAdapter(adapter);
     }
 
+    /**
+     * Show the lines of a snapshot
+     * Several events of one write share a snapshot, and older snapshots may still be queued
+     * after a catch-up in onStart, so only newer versions are submitted
+     */
+    private void showItems(CartSnapshot snapshot) {
+        if (snapshot.getVersion() <= shownVersion) {
+            return;
+        }
+        boolean wasEmpty = cartItems.isEmpty();
+        shownVersion = snapshot.getVersion();
+        cartSnapshot = snapshot;
+        cartItems = snapshot.getItems();
+        adapter.updateCartItems(cartItems);
+        if (wasEmpty != cartItems.isEmpty()) {
+            updateUI();
+        }
+    }
+
+    private void showTotals(CartSnapshot snapshot) {
+        if (snapshot.getVersion() < cartSnapshot.getVersion()) {
+            return;
+        }
+        cartSnapshot = snapshot;
+        if (!snapshot.isEmpty()) {
+            Money subtotal = snapshot.getSubtotal();
+            Money shipping = Money.ofCents(500); // Free shipping
+            tvSubtotal.setText(subtotal.format());
+            tvTotal.setText(subtotal.plus(shipping).format());
+        }
+    }
+
     private void updateUI() {
         if (cartItems.isEmpty()) {
             // Show empty state
@@ -143,12 +212,7 @@ public class CartActivity extends AppCompatActivity {
             rvCart.setVisibility(View.VISIBLE);
             cardTotal.setVisibility(View.VISIBLE);
             
-            double subtotal = cartManager.getTotal();
-            double shipping = 5; // Free shipping
-            double total = subtotal + shipping;
-            
-            tvSubtotal.setText(String.format("$%.2f", subtotal));
-            tvTotal.setText(String.format("$%.2f", total));
+            showTotals(cartSnapshot);
             btnCheckout.setEnabled(true);
         }
     }
@@ -181,19 +181,33 @@ public class CheckoutActivity extends AppCompatActivity {
         User user = authManager.getCurrentUser();
         String userEmail = user != null ? user.getEmail() : email;
 
-        // Create order
-        orderManager.createOrder(userEmail, cartItems, fullName, address, phone, email);
+        // Persist any pending cart edits before placing the order
+        cartManager.flush();
 
-        // Clear cart
-        cartManager.clearCart();
-
-        Toast.makeText(this, "Order placed successfully!", Toast.LENGTH_SHORT).show();
-
-        // Navigate to PurchaseHistoryActivity
-        Intent intent = new Intent(CheckoutActivity.this, PurchaseHistoryActivity.class);
-        startActivity(intent);
-        overridePendingTransition(android.R.anim.slide_in_left, android.R.anim.slide_out_right);
-        finish();
+        // Create order off the main thread; disable the button so it cannot be placed twice
+        btnPlaceOrder.setEnabled(false);
+        orderManager.createOrderAsync(userEmail, cartItems, fullName, address, phone, email)
+                .whenComplete((order, error) -> {
+                    if (isDestroyed()) {
+                        return;
+                    }
+                    if (error != null) {
+                        btnPlaceOrder.setEnabled(true);
+                        Toast.makeText(this, "Failed to place order", Toast.LENGTH_SHORT).show();
+                        return;
+                    }
+
+                    // Clear cart
+                    cartManager.clearCart();
+
+                    Toast.makeText(this, "Order placed successfully!", Toast.LENGTH_SHORT).show();
+
+                    // Navigate to PurchaseHistoryActivity
+                    Intent intent = new Intent(CheckoutActivity.this, PurchaseHistoryActivity.class);
+                    startActivity(intent);
+                    overridePendingTransition(android.R.anim.slide_in_left, android.R.anim.slide_out_right);
+                    finish();
+                });
     }
 
     private boolean isValidEmail(String email) {
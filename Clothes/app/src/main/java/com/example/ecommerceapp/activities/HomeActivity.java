@@ -14,13 +14,15 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerceapp.R;
 import com.example.ecommerceapp.adapters.ProductAdapter;
+import com.example.ecommerceapp.catalog.CatalogQuery;
+import com.example.ecommerceapp.catalog.ColumnarCatalog;
+import com.example.ecommerceapp.catalog.PagedCatalog;
+import com.example.ecommerceapp.data.AsyncDataStore;
 import com.example.ecommerceapp.data.AuthManager;
 import com.example.ecommerceapp.data.CartManager;
-import com.example.ecommerceapp.data.DataStore;
-import com.example.ecommerceapp.models.Product;
 import com.example.ecommerceapp.utils.Constants;
-
-import java.util.List;
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
 
 /**
  * HomeActivity - Main screen showing products in 2-column grid
@@ -28,6 +30,9 @@ import java.util.List;
  * Features:
  * - Product cards in RecyclerView with GridLayoutManager (2 columns)
  * - Search bar at top (navigates to SearchActivity)
+ * - Sort chips (featured, price, rating, popularity) and a 4-star filter over the ColumnarCatalog
+ * - Grid pages through the result (PagedCatalog), prefetching as the end nears; the catalog
+ *   itself is fully loaded, so paging spares the adapter a copy of the result, not memory
  * - Toolbar with icons: History, Cart (with badge), Profile
  * - Tap product card -> ProductDetailActivity (with EXTRA_PRODUCT_ID)
  */
@@ -38,8 +43,13 @@ public class HomeActivity extends AppCompatActivity {
     private ImageButton btnCart;
     private ImageButton btnProfile;
     private TextView tvCartBadge;
+    private ChipGroup chipGroupSort;
+    private Chip chipMinRating;
     private ProductAdapter adapter;
-    private List<Product> products;
+    private GridLayoutManager layoutManager;
+    private ColumnarCatalog catalog;
+    private PagedCatalog pages;
+    private CatalogQuery.Sort sort = CatalogQuery.Sort.CATALOG;
     private CartManager cartManager;
     private AuthManager authManager;
 
@@ -61,8 +71,8 @@ public class HomeActivity extends AppCompatActivity {
 
         setupToolbar();
         initializeViews();
-        loadProducts();
         setupRecyclerView();
+        loadProducts();
         setupClickListeners();
         updateCartBadge();
     }
@@ -85,6 +95,14 @@ public class HomeActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (pages != null) {
+            pages.close();
+        }
+    }
+
     private void initializeViews() {
         rvProducts = findViewById(R.id.rvProducts);
         etSearch = findViewById(R.id.etSearch);
@@ -92,6 +110,8 @@ public class HomeActivity extends AppCompatActivity {
         btnCart = findViewById(R.id.btnCart);
         btnProfile = findViewById(R.id.btnProfile);
         tvCartBadge = findViewById(R.id.tvCartBadge);
+        chipGroupSort = findViewById(R.id.chipGroupSort);
+        chipMinRating = findViewById(R.id.chipMinRating);
     }
 
     private void setupClickListeners() {
@@ -116,6 +136,13 @@ public class HomeActivity extends AppCompatActivity {
             overridePendingTransition(android.R.anim.slide_in_left, android.R.anim.slide_out_right);
         });
 
+        // Sort and filter chips
+        chipGroupSort.setOnCheckedStateChangeListener((group, checkedIds) -> {
+            sort = sortFor(group.getCheckedChipId());
+            showProducts();
+        });
+        chipMinRating.setOnCheckedChangeListener((chip, checked) -> showProducts());
+
         // Profile button (for now, just show a toast - can add ProfileActivity later if needed)
         btnProfile.setOnClickListener(v -> {
             // Could navigate to a profile/settings screen
@@ -133,13 +160,55 @@ public class HomeActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Load the catalog columns on the I/O executor and show them when ready
+     */
     private void loadProducts() {
-        DataStore dataStore = DataStore.getInstance(this);
-        products = dataStore.loadProducts();
+        AsyncDataStore.getInstance(this).loadCatalog().thenAccept(loaded -> {
+            if (isDestroyed()) {
+                return;
+            }
+            catalog = loaded;
+            showProducts();
+        });
+    }
+
+    /**
+     * Show the catalog in the selected order and filter, one page at a time
+     */
+    private void showProducts() {
+        if (catalog == null) {
+            return;
+        }
+        CatalogQuery query = CatalogQuery.all().sortedBy(sort);
+        if (chipMinRating.isChecked()) {
+            query.minRating(4);
+        }
+        if (pages != null) {
+            pages.close();
+        }
+        // Pages share the ColumnarCatalog's products; only the row numbers are new per query
+        pages = PagedCatalog.onMainThread(catalog.asStore(catalog.query(query)), Constants.CATALOG_PAGE_SIZE,
+                Constants.CATALOG_PREFETCH_DISTANCE, Constants.CATALOG_RETAIN_PAGES, adapter::onRangeLoaded);
+        adapter.setProducts(pages);
+        rvProducts.scrollToPosition(0);
+    }
+
+    private static CatalogQuery.Sort sortFor(int chipId) {
+        if (chipId == R.id.chipSortPriceAsc) {
+            return CatalogQuery.Sort.PRICE_ASC;
+        } else if (chipId == R.id.chipSortPriceDesc) {
+            return CatalogQuery.Sort.PRICE_DESC;
+        } else if (chipId == R.id.chipSortRating) {
+            return CatalogQuery.Sort.RATING;
+        } else if (chipId == R.id.chipSortPopular) {
+            return CatalogQuery.Sort.POPULARITY;
+        }
+        return CatalogQuery.Sort.CATALOG;
     }
 
     private void setupRecyclerView() {
-        adapter = new ProductAdapter(products, product -> {
+        adapter = new ProductAdapter(product -> {
             // Navigate to ProductDetailActivity with product ID
             Intent intent = new Intent(HomeActivity.this, ProductDetailActivity.class);
             intent.putExtra(Constants.EXTRA_PRODUCT_ID, product.getId());
@@ -148,8 +217,19 @@ public class HomeActivity extends AppCompatActivity {
         });
 
         // Use GridLayoutManager with 2 columns
-        GridLayoutManager layoutManager = new GridLayoutManager(this, 2);
+        layoutManager = new GridLayoutManager(this, 2);
         rvProducts.setLayoutManager(layoutManager);
         rvProducts.setAdapter(adapter);
+
+        // Report the visible rows so pages ahead are prefetched and far ones dropped
+        rvProducts.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (pages != null) {
+                    pages.onVisibleRange(layoutManager.findFirstVisibleItemPosition(),
+                            layoutManager.findLastVisibleItemPosition());
+                }
+            }
+        });
     }
 }
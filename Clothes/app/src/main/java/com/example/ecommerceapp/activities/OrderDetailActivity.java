@@ -88,7 +88,7 @@ public class OrderDetailActivity extends AppCompatActivity {
         SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy HH:mm", Locale.getDefault());
         tvOrderDate.setText(dateFormat.format(order.getTimestamp()));
         tvStatus.setText(order.getStatus() != null ? order.getStatus() : "Delivered");
-        tvTotal.setText(String.format("$%.2f", order.getTotal()));
+        tvTotal.setText(order.getTotal().format());
     }
 
     private void setupRecyclerView() {
@@ -12,13 +12,12 @@ import androidx.appcompat.widget.Toolbar;
 
 import com.bumptech.glide.Glide;
 import com.example.ecommerceapp.R;
+import com.example.ecommerceapp.data.AsyncDataStore;
 import com.example.ecommerceapp.data.CartManager;
-import com.example.ecommerceapp.data.DataStore;
+import com.example.ecommerceapp.models.Money;
 import com.example.ecommerceapp.models.Product;
 import com.example.ecommerceapp.utils.Constants;
 
-import java.util.List;
-
 /**
  * ProductDetailActivity - Product detail screen
  * 
@@ -59,9 +58,17 @@ public class ProductDetailActivity extends AppCompatActivity {
 
         setupToolbar();
         initializeViews();
-        loadProduct(productId);
+        // Controls stay disabled until the product has loaded
+        btnAddToCart.setEnabled(false);
         setupQuantityControls();
-        updateAddToCartButton();
+        loadProduct(productId);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Persist quantity changes still waiting for the write-behind quiet period
+        cartManager.flush();
     }
 
     private void setupToolbar() {
@@ -88,17 +95,18 @@ public class ProductDetailActivity extends AppCompatActivity {
         btnAddToCart = findViewById(R.id.btnAddToCart);
     }
 
+    /**
+     * Look the product up on the I/O executor (a cold lookup decodes the catalog)
+     */
     private void loadProduct(int productId) {
-        DataStore dataStore = DataStore.getInstance(this);
-        List<Product> products = dataStore.loadProducts();
-        
-        for (Product p : products) {
-            if (p.getId() == productId) {
-                product = p;
-                break;
-            }
-        }
+        AsyncDataStore.getInstance(this).findProduct(productId).thenAccept(this::showProduct);
+    }
 
+    private void showProduct(Product loaded) {
+        if (isDestroyed()) {
+            return;
+        }
+        product = loaded;
         if (product == null) {
             Toast.makeText(this, "Product not found", Toast.LENGTH_SHORT).show();
             finish();
@@ -107,7 +115,7 @@ public class ProductDetailActivity extends AppCompatActivity {
 
         // Display product info
         tvProductName.setText(product.getName());
-        tvProductPrice.setText(String.format("$%.2f", product.getPrice()));
+        tvProductPrice.setText(product.getPrice().format());
         tvProductDescription.setText(product.getDescription());
         
         // Load image using Glide
@@ -116,6 +124,9 @@ public class ProductDetailActivity extends AppCompatActivity {
                 .placeholder(android.R.drawable.ic_menu_gallery)
                 .error(android.R.drawable.ic_menu_gallery)
                 .into(ivProductImage);
+
+        btnAddToCart.setEnabled(true);
+        updateAddToCartButton();
     }
 
     private void setupQuantityControls() {
@@ -144,7 +155,10 @@ public class ProductDetailActivity extends AppCompatActivity {
     }
 
     private void updateAddToCartButton() {
-        double totalPrice = product.getPrice() * quantity;
-        btnAddToCart.setText(String.format("Add to Cart - $%.2f", totalPrice));
+        if (product == null) {
+            return;
+        }
+        Money totalPrice = product.getPrice().times(quantity);
+        btnAddToCart.setText("Add to Cart - " + totalPrice.format());
     }
 }
@@ -24,6 +24,7 @@ import com.example.ecommerceapp.models.Order;
 import com.example.ecommerceapp.models.User;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -43,7 +44,7 @@ public class PurchaseHistoryActivity extends AppCompatActivity {
     private OrderAdapter adapter;
     private OrderManager orderManager;
     private AuthManager authManager;
-    private List<Order> orders;
+    private List<Order> orders = new ArrayList<>();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -55,8 +56,8 @@ public class PurchaseHistoryActivity extends AppCompatActivity {
 
         setupToolbar();
         initializeViews();
-        loadOrders();
         setupRecyclerView();
+        // Orders are (re)loaded in onResume
     }
 
     private void setupToolbar() {
@@ -76,10 +77,6 @@ public class PurchaseHistoryActivity extends AppCompatActivity {
     protected void onResume() {
         super.onResume();
         loadOrders();
-        if (adapter != null) {
-            adapter.notifyDataSetChanged();
-        }
-        updateEmptyState();
     }
 
     private void initializeViews() {
@@ -88,18 +85,27 @@ public class PurchaseHistoryActivity extends AppCompatActivity {
     }
 
     /**
-     * Load orders for current user from last 6 months
+     * Load orders for current user from last 6 months on the I/O executor
      */
     private void loadOrders() {
         User user = authManager.getCurrentUser();
         if (user != null) {
             // Get orders from last 6 months only
-            orders = orderManager.getUserOrdersLast6Months(user.getEmail());
+            orderManager.getUserOrdersLast6MonthsAsync(user.getEmail()).thenAccept(this::showOrders);
         } else {
-            orders = new java.util.ArrayList<>();
+            showOrders(new ArrayList<>());
         }
     }
 
+    private void showOrders(List<Order> loaded) {
+        if (isDestroyed()) {
+            return;
+        }
+        orders = loaded;
+        adapter.updateOrders(orders);
+        updateEmptyState();
+    }
+
     private void setupRecyclerView() {
         adapter = new OrderAdapter(orders, order -> {
             // Show order details in a dialog (no separate screen)
@@ -132,7 +138,7 @@ public class PurchaseHistoryActivity extends AppCompatActivity {
         tvOrderId.setText(order.getFormattedOrderId());
         tvOrderDate.setText(formattedDate);
         tvOrderStatus.setText(order.getStatus());
-        tvOrderTotal.setText(String.format(Locale.US, "$%.2f", order.getTotal()));
+        tvOrderTotal.setText(order.getTotal().format());
         
         // Add order items
         llOrderItems.removeAllViews();
@@ -146,7 +152,7 @@ public class PurchaseHistoryActivity extends AppCompatActivity {
             
             tvItemName.setText(item.getProduct().getName());
             tvItemQuantity.setText("Qty: " + item.getQuantity());
-            tvItemPrice.setText(String.format(Locale.US, "$%.2f", item.getTotalPrice()));
+            tvItemPrice.setText(item.getTotalPrice().format());
             
             Glide.with(this)
                     .load(item.getProduct().getImageUrl())
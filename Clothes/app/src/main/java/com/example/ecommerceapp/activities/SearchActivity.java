@@ -14,12 +14,11 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.ecommerceapp.R;
 import com.example.ecommerceapp.adapters.SuggestionAdapter;
 import com.example.ecommerceapp.data.DataStore;
-import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.search.SearchPipeline;
 import com.example.ecommerceapp.utils.Constants;
 import com.google.android.material.textfield.TextInputLayout;
 
 import java.util.ArrayList;
-import java.util.List;
 
 /**
  * SearchActivity - Search screen with type-ahead suggestions
@@ -28,14 +27,15 @@ import java.util.List;
  * - EditText with TextWatcher for real-time search
  * - RecyclerView showing filtered suggestions as user types
  * - Tap suggestion -> ProductDetailActivity (with EXTRA_PRODUCT_ID)
- * - Filters products by name (case-insensitive)
+ * - Matches product name terms by prefix through the catalog SearchIndex, best match first
+ * - Keystrokes go through a SearchPipeline: debounced, searched off the main thread,
+ *   and stale results are dropped
  */
 public class SearchActivity extends AppCompatActivity {
     private TextInputLayout searchLayout;
     private RecyclerView rvSuggestions;
     private SuggestionAdapter adapter;
-    private List<Product> allProducts;
-    private List<Product> filteredProducts;
+    private SearchPipeline searchPipeline;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -49,6 +49,12 @@ public class SearchActivity extends AppCompatActivity {
         setupSearchListener();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        searchPipeline.cancel();
+    }
+
     private void setupToolbar() {
         Toolbar toolbar = findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
@@ -69,12 +75,14 @@ public class SearchActivity extends AppCompatActivity {
 
     private void loadProducts() {
         DataStore dataStore = DataStore.getInstance(this);
-        allProducts = dataStore.loadProducts();
-        filteredProducts = new ArrayList<>();
+        // The index is built (first time only) on the search thread, not here
+        searchPipeline = SearchPipeline.onMainThread(dataStore::getSearchIndex, dataStore.getProductRepository(),
+                Constants.SEARCH_DEBOUNCE_MS, Constants.SEARCH_MAX_RESULTS,
+                (query, products) -> adapter.updateSuggestions(products));
     }
 
     private void setupRecyclerView() {
-        adapter = new SuggestionAdapter(filteredProducts, product -> {
+        adapter = new SuggestionAdapter(new ArrayList<>(), product -> {
             // Navigate to ProductDetailActivity with product ID
             android.content.Intent intent = new android.content.Intent(SearchActivity.this, ProductDetailActivity.class);
             intent.putExtra(Constants.EXTRA_PRODUCT_ID, product.getId());
@@ -95,7 +103,7 @@ public class SearchActivity extends AppCompatActivity {
 
                 @Override
                 public void onTextChanged(CharSequence s, int start, int before, int count) {
-                    filterProducts(s.toString());
+                    searchPipeline.setQuery(s.toString());
                 }
 
                 @Override
@@ -104,26 +112,4 @@ public class SearchActivity extends AppCompatActivity {
             });
         }
     }
-
-    /**
-     * Filter products by search query (type-ahead)
-     * Updates RecyclerView with filtered suggestions
-     */
-    private void filterProducts(String query) {
-        filteredProducts.clear();
-        
-        if (query.isEmpty()) {
-            adapter.updateSuggestions(filteredProducts);
-            return;
-        }
-
-        String lowerQuery = query.toLowerCase();
-        for (Product product : allProducts) {
-            if (product.getName().toLowerCase().contains(lowerQuery)) {
-                filteredProducts.add(product);
-            }
-        }
-
-        adapter.updateSuggestions(filteredProducts);
-    }
 }
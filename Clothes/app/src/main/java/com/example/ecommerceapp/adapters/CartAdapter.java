@@ -8,6 +8,8 @@ import android.widget.TextView;
 import android.widget.Button;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
@@ -19,9 +21,34 @@ import java.util.List;
 /**
  * CartAdapter for displaying cart items in RecyclerView
  * Used in CartActivity to show cart items with quantity controls and remove button
+ * Lists are diffed off the main thread (ListAdapter); rows are keyed by product id and a
+ * quantity or price change only rebinds those two views, not the name or the image
  */
-public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder> {
-    private List<CartItem> cartItems;
+public class CartAdapter extends ListAdapter<CartItem, CartAdapter.CartViewHolder> {
+    /**
+     * Payload for a row whose quantity and/or unit price changed
+     */
+    private static final Object PAYLOAD_QUANTITY_PRICE = new Object();
+
+    private static final DiffUtil.ItemCallback<CartItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<CartItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull CartItem oldItem, @NonNull CartItem newItem) {
+            return oldItem.getProductId() == newItem.getProductId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull CartItem oldItem, @NonNull CartItem newItem) {
+            // Cart lines are replaced on every change, so an unchanged line is the same instance
+            return oldItem == newItem || (oldItem.getQuantity() == newItem.getQuantity()
+                    && oldItem.getUnitPrice().equals(newItem.getUnitPrice()));
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull CartItem oldItem, @NonNull CartItem newItem) {
+            return PAYLOAD_QUANTITY_PRICE;
+        }
+    };
+
     private OnCartItemClickListener listener;
 
     public interface OnCartItemClickListener {
@@ -30,8 +57,10 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
     }
 
     public CartAdapter(List<CartItem> cartItems, OnCartItemClickListener listener) {
-        this.cartItems = cartItems;
+        super(DIFF_CALLBACK);
         this.listener = listener;
+        setHasStableIds(true);
+        submitList(cartItems);
     }
 
     @NonNull
@@ -44,21 +73,28 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull CartViewHolder holder, int position) {
-        CartItem item = cartItems.get(position);
-        holder.bind(item);
+        holder.bind(getItem(position));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull CartViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.bindQuantityAndPrice(getItem(position));
+        }
     }
 
     @Override
-    public int getItemCount() {
-        return cartItems != null ? cartItems.size() : 0;
+    public long getItemId(int position) {
+        return getItem(position).getProductId();
     }
 
     /**
-     * Update the cart items list and notify adapter
+     * Show a new cart state; only rows that differ from the current list are rebound
      */
     public void updateCartItems(List<CartItem> newCartItems) {
-        this.cartItems = newCartItems;
-        notifyDataSetChanged();
+        submitList(newCartItems);
     }
 
     class CartViewHolder extends RecyclerView.ViewHolder {
@@ -79,14 +115,14 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
             btnDecrease = itemView.findViewById(R.id.btnDecrease);
             btnIncrease = itemView.findViewById(R.id.btnIncrease);
             btnRemove = itemView.findViewById(R.id.btnRemove);
-        }
-
-        void bind(CartItem item) {
-            tvProductName.setText(item.getProduct().getName());
-            tvProductPrice.setText(String.format("$%.2f", item.getProduct().getPrice()));
-            tvQuantity.setText(String.valueOf(item.getQuantity()));
 
+            // Listeners read the row's current line at click time, since partial binds
+            // do not re-create them
             btnDecrease.setOnClickListener(v -> {
+                CartItem item = currentItem();
+                if (item == null) {
+                    return;
+                }
                 int newQuantity = item.getQuantity() - 1;
                 if (newQuantity < 1) {
                     newQuantity = 1; // Minimum quantity is 1
@@ -97,17 +133,28 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
             });
 
             btnIncrease.setOnClickListener(v -> {
-                int newQuantity = item.getQuantity() + 1;
-                if (listener != null) {
-                    listener.onQuantityChanged(item, newQuantity);
+                CartItem item = currentItem();
+                if (item != null && listener != null) {
+                    listener.onQuantityChanged(item, item.getQuantity() + 1);
                 }
             });
 
             btnRemove.setOnClickListener(v -> {
-                if (listener != null) {
+                CartItem item = currentItem();
+                if (item != null && listener != null) {
                     listener.onRemoveItem(item);
                 }
             });
+        }
+
+        private CartItem currentItem() {
+            int position = getAdapterPosition();
+            return position != RecyclerView.NO_POSITION ? getItem(position) : null;
+        }
+
+        void bind(CartItem item) {
+            tvProductName.setText(item.getProduct().getName());
+            bindQuantityAndPrice(item);
 
             // Load image using Glide
             Glide.with(itemView.getContext())
@@ -116,5 +163,10 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
                     .error(android.R.drawable.ic_menu_gallery)
                     .into(ivProductImage);
         }
+
+        void bindQuantityAndPrice(CartItem item) {
+            tvProductPrice.setText(item.getUnitPrice().format());
+            tvQuantity.setText(String.valueOf(item.getQuantity()));
+        }
     }
 }
@@ -53,6 +53,14 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
         return orders != null ? orders.size() : 0;
     }
 
+    /**
+     * Update the orders list and notify adapter
+     */
+    public void updateOrders(List<Order> newOrders) {
+        this.orders = newOrders;
+        notifyDataSetChanged();
+    }
+
     class OrderViewHolder extends RecyclerView.ViewHolder {
         private TextView tvOrderId;
         private TextView tvOrderDate;
@@ -86,7 +94,7 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
         void bind(Order order) {
             tvOrderId.setText(order.getFormattedOrderId());
             tvOrderDate.setText(dateFormat.format(order.getTimestamp()));
-            tvOrderTotal.setText(String.format("$%.2f", order.getTotal()));
+            tvOrderTotal.setText(order.getTotal().format());
             
             String status = order.getStatus() != null ? order.getStatus() : "Delivered";
             tvStatus.setText(status);
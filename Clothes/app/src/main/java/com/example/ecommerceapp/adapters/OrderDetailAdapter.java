@@ -12,6 +12,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.example.ecommerceapp.R;
 import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Money;
 
 import java.util.List;
 
@@ -62,8 +63,8 @@ public class OrderDetailAdapter extends RecyclerView.Adapter<OrderDetailAdapter.
         void bind(CartItem item) {
             tvItemName.setText(item.getProduct().getName());
             tvItemQuantity.setText("Qty: " + item.getQuantity());
-            double lineTotal = item.getTotalPrice();
-            tvItemPrice.setText(String.format("$%.2f", lineTotal));
+            Money lineTotal = item.getTotalPrice();
+            tvItemPrice.setText(lineTotal.format());
             
             // Load image using Glide
             Glide.with(itemView.getContext())
@@ -11,24 +11,24 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.ecommerceapp.R;
+import com.example.ecommerceapp.catalog.PagedCatalog;
 import com.example.ecommerceapp.models.Product;
 
-import java.util.List;
-
 /**
  * ProductAdapter for displaying products in RecyclerView grid
  * Used in HomeActivity to show product cards in 2-column grid
+ * Reads rows from a PagedCatalog; rows whose page is still loading show a placeholder card
+ * and are rebound when the page arrives (see onRangeLoaded)
  */
 public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductViewHolder> {
-    private List<Product> products;
+    private PagedCatalog products;
     private OnProductClickListener listener;
 
     public interface OnProductClickListener {
         void onProductClick(Product product);
     }
 
-    public ProductAdapter(List<Product> products, OnProductClickListener listener) {
-        this.products = products;
+    public ProductAdapter(OnProductClickListener listener) {
         this.listener = listener;
     }
 
@@ -43,7 +43,11 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
     @Override
     public void onBindViewHolder(@NonNull ProductViewHolder holder, int position) {
         Product product = products.get(position);
-        holder.bind(product);
+        if (product != null) {
+            holder.bind(product);
+        } else {
+            holder.bindPlaceholder();
+        }
     }
 
     @Override
@@ -51,6 +55,21 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
         return products != null ? products.size() : 0;
     }
 
+    /**
+     * Show another paged catalog (e.g. after a sort or filter change) and notify adapter
+     */
+    public void setProducts(PagedCatalog newProducts) {
+        this.products = newProducts;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Rebind rows whose page just loaded (PagedCatalog.Listener)
+     */
+    public void onRangeLoaded(int position, int count) {
+        notifyItemRangeChanged(position, count);
+    }
+
     class ProductViewHolder extends RecyclerView.ViewHolder {
         private ImageView ivProductImage;
         private TextView tvProductName;
@@ -67,14 +86,17 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onProductClick(products.get(position));
+                    Product product = products.get(position);
+                    if (product != null) {
+                        listener.onProductClick(product);
+                    }
                 }
             });
         }
 
         void bind(Product product) {
             tvProductName.setText(product.getName());
-            tvProductPrice.setText(String.format("$%.2f", product.getPrice()));
+            tvProductPrice.setText(product.getPrice().format());
             tvRating.setText(String.format("%.1f (%d)", product.getRating(), product.getReviews()));
             
             // Load image using Glide
@@ -84,5 +106,13 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
                     .error(android.R.drawable.ic_menu_gallery)
                     .into(ivProductImage);
         }
+
+        void bindPlaceholder() {
+            tvProductName.setText("");
+            tvProductPrice.setText("");
+            tvRating.setText("");
+            Glide.with(itemView.getContext()).clear(ivProductImage);
+            ivProductImage.setImageResource(android.R.drawable.ic_menu_gallery);
+        }
     }
 }
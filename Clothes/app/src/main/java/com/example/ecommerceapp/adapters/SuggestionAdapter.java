@@ -6,6 +6,8 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ecommerceapp.R;
@@ -16,9 +18,23 @@ import java.util.List;
 /**
  * SuggestionAdapter for displaying search suggestions in RecyclerView
  * Used in SearchActivity for type-ahead search results
+ * Each new result list is diffed against the shown one (ListAdapter), so rows that stay
+ * in the results while the user types are moved or kept instead of rebound
  */
-public class SuggestionAdapter extends RecyclerView.Adapter<SuggestionAdapter.SuggestionViewHolder> {
-    private List<Product> suggestions;
+public class SuggestionAdapter extends ListAdapter<Product, SuggestionAdapter.SuggestionViewHolder> {
+    private static final DiffUtil.ItemCallback<Product> DIFF_CALLBACK = new DiffUtil.ItemCallback<Product>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Product oldItem, @NonNull Product newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Product oldItem, @NonNull Product newItem) {
+            return oldItem == newItem || (oldItem.getName().equals(newItem.getName())
+                    && oldItem.getPrice().equals(newItem.getPrice()));
+        }
+    };
+
     private OnSuggestionClickListener listener;
 
     public interface OnSuggestionClickListener {
@@ -26,8 +42,10 @@ public class SuggestionAdapter extends RecyclerView.Adapter<SuggestionAdapter.Su
     }
 
     public SuggestionAdapter(List<Product> suggestions, OnSuggestionClickListener listener) {
-        this.suggestions = suggestions;
+        super(DIFF_CALLBACK);
         this.listener = listener;
+        setHasStableIds(true);
+        submitList(suggestions);
     }
 
     @NonNull
@@ -40,18 +58,19 @@ public class SuggestionAdapter extends RecyclerView.Adapter<SuggestionAdapter.Su
 
     @Override
     public void onBindViewHolder(@NonNull SuggestionViewHolder holder, int position) {
-        Product product = suggestions.get(position);
-        holder.bind(product);
+        holder.bind(getItem(position));
     }
 
     @Override
-    public int getItemCount() {
-        return suggestions != null ? suggestions.size() : 0;
+    public long getItemId(int position) {
+        return getItem(position).getId();
     }
 
+    /**
+     * Show new suggestions; the list must not be modified afterwards
+     */
     public void updateSuggestions(List<Product> newSuggestions) {
-        this.suggestions = newSuggestions;
-        notifyDataSetChanged();
+        submitList(newSuggestions);
     }
 
     class SuggestionViewHolder extends RecyclerView.ViewHolder {
@@ -66,14 +85,14 @@ public class SuggestionAdapter extends RecyclerView.Adapter<SuggestionAdapter.Su
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onSuggestionClick(suggestions.get(position));
+                    listener.onSuggestionClick(getItem(position));
                 }
             });
         }
 
         void bind(Product product) {
             tvProductName.setText(product.getName());
-            tvProductPrice.setText(String.format("$%.2f", product.getPrice()));
+            tvProductPrice.setText(product.getPrice().format());
         }
     }
 }
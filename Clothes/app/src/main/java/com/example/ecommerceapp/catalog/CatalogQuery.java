@@ -0,0 +1,78 @@
+package com.example.ecommerceapp.catalog;
+
+import com.example.ecommerceapp.models.Money;
+
+/**
+ * CatalogQuery class describing which catalog rows to list and in what order
+ * Filters on a price range [min, max] and a minimum rating; unset criteria match everything
+ * Evaluated by ColumnarCatalog directly against its primitive columns
+ */
+public class CatalogQuery {
+    /**
+     * Order of the returned rows
+     * - CATALOG: as saved
+     * - PRICE_ASC / PRICE_DESC: by price
+     * - RATING: best rated first, more reviews first among equal ratings
+     * - POPULARITY: most reviewed first, better rated first among equal review counts
+     */
+    public enum Sort {
+        CATALOG, PRICE_ASC, PRICE_DESC, RATING, POPULARITY
+    }
+
+    private long minPriceCents = Long.MIN_VALUE;
+    private long maxPriceCents = Long.MAX_VALUE;
+    private float minRating = Float.NEGATIVE_INFINITY;
+    private Sort sort = Sort.CATALOG;
+
+    /**
+     * Query matching every product, in catalog order
+     */
+    public static CatalogQuery all() {
+        return new CatalogQuery();
+    }
+
+    /**
+     * Only match products priced from min to max (both inclusive; null leaves that end open)
+     */
+    public CatalogQuery priceBetween(Money min, Money max) {
+        this.minPriceCents = min != null ? min.getCents() : Long.MIN_VALUE;
+        this.maxPriceCents = max != null ? max.getCents() : Long.MAX_VALUE;
+        return this;
+    }
+
+    /**
+     * Only match products rated at least the given number of stars
+     */
+    public CatalogQuery minRating(double stars) {
+        this.minRating = (float) stars;
+        return this;
+    }
+
+    public CatalogQuery sortedBy(Sort sort) {
+        this.sort = sort;
+        return this;
+    }
+
+    public long getMinPriceCents() {
+        return minPriceCents;
+    }
+
+    public long getMaxPriceCents() {
+        return maxPriceCents;
+    }
+
+    public float getMinRating() {
+        return minRating;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * Check a row's columns against the filters
+     */
+    boolean accept(long priceCents, float rating) {
+        return priceCents >= minPriceCents && priceCents <= maxPriceCents && rating >= minRating;
+    }
+}
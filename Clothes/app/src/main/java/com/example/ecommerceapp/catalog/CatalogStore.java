@@ -0,0 +1,24 @@
+package com.example.ecommerceapp.catalog;
+
+import com.example.ecommerceapp.models.Product;
+
+import java.util.List;
+
+/**
+ * CatalogStore interface for reading a product list by position range
+ * PagedCatalog reads it one page at a time on a background thread, so implementations may
+ * block (e.g. read from disk) and only need to hold what they return
+ * ColumnarCatalog.asStore is the in-memory implementation: its reads allocate no products
+ */
+public interface CatalogStore {
+    /**
+     * Get number of products
+     */
+    int size();
+
+    /**
+     * Read the products at positions [offset, offset + count)
+     * @param count Number to read; callers never read past size()
+     */
+    List<Product> read(int offset, int count);
+}
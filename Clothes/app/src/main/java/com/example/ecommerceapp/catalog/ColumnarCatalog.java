@@ -0,0 +1,273 @@
+package com.example.ecommerceapp.catalog;
+
+import com.example.ecommerceapp.models.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ColumnarCatalog class holding the product catalog as parallel primitive columns for
+ * sorting and filtering
+ * - Columns: id, price in cents, rating, review count (one array each, indexed by row)
+ * - Sort permutations for price, rating and popularity are computed once at build time
+ * - query() returns matching row numbers: a price or rating filter combined with the sort on
+ *   the same column is a binary search plus a scan of the matching range; other filters scan
+ *   the columns. Nothing is allocated per product
+ * Rows are numbered in catalog order; getProduct(row) maps a row back to its Product
+ * Immutable; DataStore builds a new one after the catalog is saved
+ */
+public class ColumnarCatalog {
+    /**
+     * Row ordering used to sort the permutations without boxing
+     */
+    interface RowOrder {
+        int compare(int rowA, int rowB);
+    }
+
+    private final Product[] products;
+    private final int[] ids;
+    private final long[] priceCents;
+    private final float[] ratings;
+    private final int[] reviews;
+
+    // Row numbers in sorted order
+    private final int[] byPrice;       // ascending price
+    private final int[] byRating;      // descending rating, then reviews
+    private final int[] byPopularity;  // descending reviews, then rating
+
+    private ColumnarCatalog(List<Product> catalog) {
+        int size = catalog.size();
+        products = catalog.toArray(new Product[0]);
+        ids = new int[size];
+        priceCents = new long[size];
+        ratings = new float[size];
+        reviews = new int[size];
+        for (int row = 0; row < size; row++) {
+            Product product = products[row];
+            ids[row] = product.getId();
+            priceCents[row] = product.getPrice().getCents();
+            ratings[row] = (float) product.getRating();
+            reviews[row] = product.getReviews();
+        }
+        byPrice = sortedRows(size, (a, b) -> Long.compare(priceCents[a], priceCents[b]));
+        byRating = sortedRows(size, (a, b) -> {
+            int order = Float.compare(ratings[b], ratings[a]);
+            return order != 0 ? order : Integer.compare(reviews[b], reviews[a]);
+        });
+        byPopularity = sortedRows(size, (a, b) -> {
+            int order = Integer.compare(reviews[b], reviews[a]);
+            return order != 0 ? order : Float.compare(ratings[b], ratings[a]);
+        });
+    }
+
+    /**
+     * Build the columns and sort permutations for a catalog
+     */
+    public static ColumnarCatalog build(List<Product> products) {
+        return new ColumnarCatalog(products);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public Product getProduct(int row) {
+        return products[row];
+    }
+
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    public long getPriceCents(int row) {
+        return priceCents[row];
+    }
+
+    public float getRating(int row) {
+        return ratings[row];
+    }
+
+    public int getReviews(int row) {
+        return reviews[row];
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * Find the rows matching a query, in the query's sort order
+     * @return Row numbers (a new array sized to the result)
+     */
+    public int[] query(CatalogQuery query) {
+        int[] rows = new int[size()];
+        int count = query(query, rows);
+        return count == rows.length ? rows : Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Find the rows matching a query into a caller-owned buffer (reusable across queries)
+     * @param into Buffer of at least size() rows
+     * @return Number of rows written
+     */
+    public int query(CatalogQuery query, int[] into) {
+        int count = 0;
+        switch (query.getSort()) {
+            case PRICE_ASC:
+            case PRICE_DESC: {
+                // The price filter is the matching range of the price permutation
+                int from = firstPriceAtLeast(query.getMinPriceCents());
+                int to = query.getMaxPriceCents() == Long.MAX_VALUE
+                        ? byPrice.length : firstPriceAtLeast(query.getMaxPriceCents() + 1);
+                float minRating = query.getMinRating();
+                if (query.getSort() == CatalogQuery.Sort.PRICE_ASC) {
+                    for (int i = from; i < to; i++) {
+                        int row = byPrice[i];
+                        if (ratings[row] >= minRating) {
+                            into[count++] = row;
+                        }
+                    }
+                } else {
+                    for (int i = to - 1; i >= from; i--) {
+                        int row = byPrice[i];
+                        if (ratings[row] >= minRating) {
+                            into[count++] = row;
+                        }
+                    }
+                }
+                return count;
+            }
+            case RATING: {
+                // The rating filter is a prefix of the rating permutation
+                int to = firstRatingBelow(query.getMinRating());
+                for (int i = 0; i < to; i++) {
+                    int row = byRating[i];
+                    if (query.accept(priceCents[row], ratings[row])) {
+                        into[count++] = row;
+                    }
+                }
+                return count;
+            }
+            case POPULARITY:
+                for (int row : byPopularity) {
+                    if (query.accept(priceCents[row], ratings[row])) {
+                        into[count++] = row;
+                    }
+                }
+                return count;
+            default:
+                for (int row = 0; row < ids.length; row++) {
+                    if (query.accept(priceCents[row], ratings[row])) {
+                        into[count++] = row;
+                    }
+                }
+                return count;
+        }
+    }
+
+    /**
+     * Count matches per whole star (index 0-5) for a rating facet
+     * The query's own rating filter is ignored so every threshold can be offered with its count
+     */
+    public int[] countByStars(CatalogQuery query) {
+        int[] counts = new int[6];
+        long min = query.getMinPriceCents();
+        long max = query.getMaxPriceCents();
+        for (int row = 0; row < ids.length; row++) {
+            if (priceCents[row] >= min && priceCents[row] <= max) {
+                counts[Math.max(0, Math.min(5, (int) ratings[row]))]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * View some rows (e.g. a query result) as a CatalogStore for paging
+     * Pages are the catalog's own Product instances, so paging over this store keeps no extra
+     * products but frees none either: the whole catalog stays decoded while this catalog lives
+     * @param rows Row numbers in display order; must not be modified afterwards
+     */
+    public CatalogStore asStore(int[] rows) {
+        return new CatalogStore() {
+            @Override
+            public int size() {
+                return rows.length;
+            }
+
+            @Override
+            public List<Product> read(int offset, int count) {
+                List<Product> page = new ArrayList<>(count);
+                for (int i = offset; i < offset + count; i++) {
+                    page.add(products[rows[i]]);
+                }
+                return page;
+            }
+        };
+    }
+
+    /**
+     * Position in byPrice of the first row priced at least the given cents
+     */
+    private int firstPriceAtLeast(long cents) {
+        int low = 0;
+        int high = byPrice.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (priceCents[byPrice[mid]] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Position in byRating of the first row rated below the given stars
+     */
+    private int firstRatingBelow(float stars) {
+        int low = 0;
+        int high = byRating.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ratings[byRating[mid]] >= stars) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // ========== Sorting ==========
+
+    /**
+     * Sort the row numbers 0..size-1 with a stable merge sort (equal rows keep catalog order)
+     */
+    static int[] sortedRows(int size, RowOrder order) {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        int[] buffer = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int low = 0; low < size - width; low += 2 * width) {
+                int mid = low + width;
+                int high = Math.min(low + 2 * width, size);
+                if (order.compare(rows[mid - 1], rows[mid]) <= 0) {
+                    continue;
+                }
+                System.arraycopy(rows, low, buffer, low, high - low);
+                int left = low;
+                int right = mid;
+                for (int k = low; k < high; k++) {
+                    if (right >= high || (left < mid && order.compare(buffer[left], buffer[right]) <= 0)) {
+                        rows[k] = buffer[left++];
+                    } else {
+                        rows[k] = buffer[right++];
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+}
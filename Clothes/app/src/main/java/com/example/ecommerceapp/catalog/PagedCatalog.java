@@ -0,0 +1,219 @@
+package com.example.ecommerceapp.catalog;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.utils.IntObjectHashMap;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * PagedCatalog class presenting a CatalogStore to a list one page at a time
+ * - get(position) returns the product if its page is loaded, otherwise null (show a
+ *   placeholder) and starts loading that page on the worker
+ * - onVisibleRange() prefetches the next (or previous) page when the visible rows come within
+ *   prefetchDistance of it, and drops pages more than retainPages away from the visible ones
+ * So the pager holds at most the visible pages plus retainPages on each side, whatever the
+ * catalog size. It only bounds the heap when the store reads ranges from storage; over an
+ * in-memory store (ColumnarCatalog.asStore) the pages are references to products that stay
+ * loaded anyway, and paging only saves copying the result and binding far rows
+ * Not thread-safe: call every method, and receive the Listener, on one thread (normally main)
+ */
+public class PagedCatalog {
+    /**
+     * Notified when a page arrives, so the list can rebind those rows
+     */
+    public interface Listener {
+        void onRangeLoaded(int position, int count);
+    }
+
+    private static ExecutorService sharedWorker;
+
+    private final CatalogStore store;
+    private final Executor worker;
+    private final Executor callbackExecutor;
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final int retainPages;
+    private final Listener listener;
+
+    private final int size;
+    private final IntObjectHashMap<Product[]> pages = new IntObjectHashMap<>();
+    private final boolean[] loading;
+    // Pages around the visible rows; loaded pages outside [first - retain, last + retain] are dropped
+    private int firstVisiblePage;
+    private int lastVisiblePage;
+    private int pageLoads;
+    private boolean closed;
+
+    /**
+     * @param worker Reads pages from the store
+     * @param callbackExecutor Delivers pages (the thread every other method is called on)
+     * @param prefetchDistance Rows before the end of the loaded range that start the next page
+     * @param retainPages Pages kept on each side of the visible ones
+     */
+    public PagedCatalog(CatalogStore store, Executor worker, Executor callbackExecutor,
+                        int pageSize, int prefetchDistance, int retainPages, Listener listener) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.store = store;
+        this.worker = worker;
+        this.callbackExecutor = callbackExecutor;
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+        this.retainPages = retainPages;
+        this.listener = listener;
+        this.size = store.size();
+        this.loading = new boolean[(size + pageSize - 1) / pageSize];
+    }
+
+    /**
+     * Paged catalog reading on a shared background thread and delivering on the main thread
+     */
+    public static PagedCatalog onMainThread(CatalogStore store, int pageSize, int prefetchDistance,
+                                            int retainPages, Listener listener) {
+        Handler handler = new Handler(Looper.getMainLooper());
+        return new PagedCatalog(store, sharedWorker(), handler::post, pageSize, prefetchDistance,
+                retainPages, listener);
+    }
+
+    private static synchronized ExecutorService sharedWorker() {
+        if (sharedWorker == null) {
+            sharedWorker = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "catalog-pages");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return sharedWorker;
+    }
+
+    /**
+     * Get number of products (loaded or not)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the product at a position
+     * @return Product, or null while its page is loading
+     */
+    public Product get(int position) {
+        int page = position / pageSize;
+        Product[] loaded = pages.get(page);
+        if (loaded == null) {
+            if (!isRetained(page)) {
+                // Bound before the scroll listener reported it (e.g. a fling): treat as visible
+                firstVisiblePage = page;
+                lastVisiblePage = page;
+            }
+            request(page);
+            return null;
+        }
+        return loaded[position - page * pageSize];
+    }
+
+    /**
+     * Report the rows on screen (e.g. from a scroll listener)
+     * Loads missing visible pages, prefetches towards the scroll edges and drops far pages
+     */
+    public void onVisibleRange(int firstPosition, int lastPosition) {
+        if (size == 0 || firstPosition < 0 || lastPosition < firstPosition) {
+            return;
+        }
+        lastPosition = Math.min(lastPosition, size - 1);
+        firstVisiblePage = firstPosition / pageSize;
+        lastVisiblePage = lastPosition / pageSize;
+        dropFarPages();
+
+        for (int page = firstVisiblePage; page <= lastVisiblePage; page++) {
+            request(page);
+        }
+        int ahead = Math.min(lastPosition + prefetchDistance, size - 1) / pageSize;
+        if (ahead > lastVisiblePage) {
+            request(ahead);
+        }
+        int behind = Math.max(firstPosition - prefetchDistance, 0) / pageSize;
+        if (behind < firstVisiblePage) {
+            request(behind);
+        }
+    }
+
+    /**
+     * Stop loading; pages still in flight are discarded
+     */
+    public void close() {
+        closed = true;
+        pages.clear();
+    }
+
+    /**
+     * Get number of pages held in memory
+     */
+    public int getLoadedPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Get number of product references held in loaded pages
+     */
+    public int getLoadedProductCount() {
+        int[] count = new int[1];
+        pages.forEach((page, products) -> count[0] += products.length);
+        return count[0];
+    }
+
+    /**
+     * Get number of pages read from the store so far
+     */
+    public int getPageLoadCount() {
+        return pageLoads;
+    }
+
+    private void request(int page) {
+        if (closed || page < 0 || page >= loading.length || loading[page] || pages.containsKey(page)) {
+            return;
+        }
+        loading[page] = true;
+        int offset = page * pageSize;
+        int count = Math.min(pageSize, size - offset);
+        worker.execute(() -> {
+            List<Product> read = store.read(offset, count);
+            Product[] products = read.toArray(new Product[0]);
+            callbackExecutor.execute(() -> deliver(page, products));
+        });
+    }
+
+    private void deliver(int page, Product[] products) {
+        loading[page] = false;
+        if (closed || !isRetained(page)) {
+            return;
+        }
+        pages.put(page, products);
+        pageLoads++;
+        listener.onRangeLoaded(page * pageSize, products.length);
+    }
+
+    private boolean isRetained(int page) {
+        return page >= firstVisiblePage - retainPages && page <= lastVisiblePage + retainPages;
+    }
+
+    private void dropFarPages() {
+        int[] far = new int[pages.size()];
+        int[] count = new int[1];
+        pages.forEach((page, products) -> {
+            if (!isRetained(page)) {
+                far[count[0]++] = page;
+            }
+        });
+        for (int i = 0; i < count[0]; i++) {
+            pages.remove(far[i]);
+        }
+    }
+}
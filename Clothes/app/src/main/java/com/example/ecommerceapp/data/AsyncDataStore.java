@@ -0,0 +1,195 @@
+package com.example.ecommerceapp.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.ecommerceapp.catalog.ColumnarCatalog;
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.models.User;
+import com.example.ecommerceapp.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * AsyncDataStore class running DataStore reads and writes off the main thread
+ * - Work runs on a small fixed pool of I/O threads with a bounded queue;
+ *   when the queue is full the submitting thread runs the task itself (caller-runs),
+ *   which throttles bursts instead of piling up work or dropping a save
+ * - Operations on the same key (Constants.KEY_*) run in submission order,
+ *   so a load always observes earlier saves of that key
+ * - Futures complete on the main thread, so thenAccept callbacks may touch views
+ */
+public class AsyncDataStore {
+    static final int IO_THREADS = 2;
+    // KeyedSerialExecutor queues at most one task per key here, the rest wait in its per-key queues
+    static final int IO_QUEUE_CAPACITY = 32;
+
+    private static AsyncDataStore instance;
+    private final DataStore dataStore;
+    private final KeyedSerialExecutor ioExecutor;
+    private final Executor callbackExecutor;
+
+    AsyncDataStore(DataStore dataStore, Executor ioExecutor, Executor callbackExecutor) {
+        this.dataStore = dataStore;
+        this.ioExecutor = new KeyedSerialExecutor(ioExecutor);
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    public static synchronized AsyncDataStore getInstance(Context context) {
+        if (instance == null) {
+            Handler mainHandler = new Handler(Looper.getMainLooper());
+            instance = new AsyncDataStore(DataStore.getInstance(context), newIoExecutor(IO_QUEUE_CAPACITY), mainHandler::post);
+        }
+        return instance;
+    }
+
+    /**
+     * Create the I/O pool: IO_THREADS daemon threads over a queue of at most queueCapacity tasks
+     * Overflow uses CallerRunsPolicy, so a full queue never rejects a task; the submitter
+     * (a pool thread chaining the next task for a key, or rarely the main thread) runs it inline
+     */
+    static ThreadPoolExecutor newIoExecutor(int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(IO_THREADS, IO_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "DataStore-IO-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Run a task on the I/O executor after earlier tasks for the same key
+     * Use for compound operations (e.g. placing an order) that must stay ordered with plain saves
+     * @param key Ordering key, normally one of Constants.KEY_*
+     * @return Future completed on the main thread
+     */
+    public <T> CompletableFuture<T> submit(String key, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ioExecutor.execute(key, () -> {
+            try {
+                T value = task.call();
+                callbackExecutor.execute(() -> result.complete(value));
+            } catch (Throwable t) {
+                callbackExecutor.execute(() -> result.completeExceptionally(t));
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<Void> run(String key, Runnable task) {
+        return submit(key, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    // ========== Users Management ==========
+    public CompletableFuture<Void> saveUsers(Map<String, User> users) {
+        return run(Constants.KEY_USERS, () -> dataStore.saveUsers(users));
+    }
+
+    public CompletableFuture<Map<String, User>> loadUsers() {
+        return submit(Constants.KEY_USERS, dataStore::loadUsers);
+    }
+
+    // ========== Current User Session ==========
+    public CompletableFuture<Void> saveCurrentUser(String email) {
+        return run(Constants.KEY_CURRENT_USER, () -> dataStore.saveCurrentUser(email));
+    }
+
+    public CompletableFuture<String> getCurrentUser() {
+        return submit(Constants.KEY_CURRENT_USER, dataStore::getCurrentUser);
+    }
+
+    public CompletableFuture<Void> clearCurrentUser() {
+        return run(Constants.KEY_CURRENT_USER, dataStore::clearCurrentUser);
+    }
+
+    // ========== Cart Management ==========
+    // All carts share the KEY_CART ordering key, so a load, merge or clear always sees
+    // the saves queued before it, whichever user they belong to
+    /**
+     * Save cart items
+     * @param owner User email, or null for the guest cart
+     * @param cart Supplies the lines when the write runs, so it includes every change made
+     *             before then (the supplier is called on the I/O thread)
+     */
+    public CompletableFuture<Void> saveCart(String owner, Supplier<List<CartItem>> cart) {
+        return run(Constants.KEY_CART, () -> dataStore.saveCart(owner, cart.get()));
+    }
+
+    public CompletableFuture<List<CartItem>> loadCart(String owner) {
+        return submit(Constants.KEY_CART, () -> dataStore.loadCart(owner));
+    }
+
+    public CompletableFuture<Void> clearCart(String owner) {
+        return run(Constants.KEY_CART, () -> dataStore.clearCart(owner));
+    }
+
+    /**
+     * Merge guest lines into a user's saved cart in a single write
+     * @param guestLines Supplies the guest lines on the I/O thread (null result: use the saved guest cart)
+     * @see DataStore#mergeGuestCart(String, List)
+     */
+    public CompletableFuture<List<CartItem>> mergeGuestCart(String owner, Supplier<List<CartItem>> guestLines) {
+        return submit(Constants.KEY_CART, () -> dataStore.mergeGuestCart(owner, guestLines.get()));
+    }
+
+    // ========== Orders Management ==========
+    public CompletableFuture<Void> appendOrder(Order order) {
+        return run(Constants.KEY_ORDERS, () -> dataStore.appendOrder(order));
+    }
+
+    public CompletableFuture<List<Order>> loadOrders() {
+        return submit(Constants.KEY_ORDERS, dataStore::loadOrders);
+    }
+
+    /**
+     * Collect the orders matching a query
+     */
+    public CompletableFuture<List<Order>> queryOrders(OrderQuery query) {
+        return submit(Constants.KEY_ORDERS, () -> {
+            List<Order> orders = new ArrayList<>();
+            dataStore.queryOrders(query, orders::add);
+            return orders;
+        });
+    }
+
+    public CompletableFuture<Order> findOrder(int orderId) {
+        return submit(Constants.KEY_ORDERS, () -> dataStore.findOrder(orderId));
+    }
+
+    // ========== Products Management ==========
+    public CompletableFuture<Void> saveProducts(List<Product> products) {
+        List<Product> snapshot = new ArrayList<>(products);
+        return run(Constants.KEY_PRODUCTS, () -> dataStore.saveProducts(snapshot));
+    }
+
+    public CompletableFuture<List<Product>> loadProducts() {
+        return submit(Constants.KEY_PRODUCTS, dataStore::loadProducts);
+    }
+
+    public CompletableFuture<ColumnarCatalog> loadCatalog() {
+        return submit(Constants.KEY_PRODUCTS, dataStore::getCatalog);
+    }
+
+    public CompletableFuture<Product> findProduct(int productId) {
+        return submit(Constants.KEY_PRODUCTS, () -> dataStore.findProduct(productId));
+    }
+}
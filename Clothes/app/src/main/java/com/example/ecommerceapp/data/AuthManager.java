@@ -4,19 +4,23 @@ import android.content.Context;
 
 import com.example.ecommerceapp.models.User;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
  * AuthManager class for managing user authentication
  * Handles: register, login, logout, get current user
  * Uses DataStore for persistence
+ * Tells CartManager when the user changes so it can switch to (and merge into) their cart
  */
 public class AuthManager {
     private static AuthManager instance;
     private DataStore dataStore;
+    private CartManager cartManager;
 
     private AuthManager(Context context) {
         dataStore = DataStore.getInstance(context);
+        cartManager = CartManager.getInstance(context);
     }
 
     public static synchronized AuthManager getInstance(Context context) {
@@ -34,7 +38,7 @@ public class AuthManager {
      * @return true if registration successful, false if email already exists
      */
     public boolean register(String email, String fullName, String password) {
-        Map<String, User> users = dataStore.loadUsers();
+        Map<String, User> users = new HashMap<>(dataStore.loadUsers());
         
         // Check if email already exists
         if (users.containsKey(email)) {
@@ -61,6 +65,7 @@ public class AuthManager {
         
         if (user != null && user.getPassword().equals(password)) {
             dataStore.saveCurrentUser(email);
+            cartManager.onLogin(email);
             return true;
         }
         
@@ -71,6 +76,8 @@ public class AuthManager {
      * Logout current user
      */
     public void logout() {
+        // Save the user's cart under their email before the session ends
+        cartManager.onLogout();
         dataStore.clearCurrentUser();
     }
 
@@ -0,0 +1,149 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Product;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CartBatch class collecting cart operations to apply in one go (see CartManager.batch)
+ * - The whole batch is applied under one lock, so readers see all of it or none of it
+ * - One snapshot, one change event and one save per batch instead of per line
+ * - Every operation gets its own Status; a failed one does not stop the rest
+ */
+public final class CartBatch {
+    public enum Status {
+        APPLIED,
+        /** Valid but the cart already matched (e.g. same quantity) */
+        UNCHANGED,
+        /** Product id not found in the catalog */
+        UNKNOWN_PRODUCT,
+        /** Update or remove of a product that is not in the cart */
+        NOT_IN_CART,
+        /** Quantity out of range for the operation */
+        INVALID_QUANTITY
+    }
+
+    enum Kind {
+        ADD,
+        SET_QUANTITY,
+        REMOVE
+    }
+
+    static final class Op {
+        final Kind kind;
+        final int productId;
+        final Product product;
+        final int quantity;
+
+        Op(Kind kind, int productId, Product product, int quantity) {
+            this.kind = kind;
+            this.productId = productId;
+            this.product = product;
+            this.quantity = quantity;
+        }
+    }
+
+    /**
+     * Per-operation outcome, in the order the operations were added
+     */
+    public static final class Result {
+        private final List<Status> statuses;
+
+        Result(List<Status> statuses) {
+            this.statuses = Collections.unmodifiableList(statuses);
+        }
+
+        public List<Status> getStatuses() {
+            return statuses;
+        }
+
+        public Status getStatus(int index) {
+            return statuses.get(index);
+        }
+
+        /**
+         * Get number of operations that changed the cart
+         */
+        public int getAppliedCount() {
+            return count(Status.APPLIED);
+        }
+
+        /**
+         * Get number of operations that were rejected (unknown product, not in cart, bad quantity)
+         */
+        public int getFailedCount() {
+            return statuses.size() - getAppliedCount() - count(Status.UNCHANGED);
+        }
+
+        public boolean isChanged() {
+            return getAppliedCount() > 0;
+        }
+
+        private int count(Status status) {
+            int count = 0;
+            for (Status s : statuses) {
+                if (s == status) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private final List<Op> ops = new ArrayList<>();
+
+    /**
+     * Add quantity of a product, creating the line if needed
+     */
+    public CartBatch add(Product product, int quantity) {
+        ops.add(new Op(Kind.ADD, product.getId(), product, quantity));
+        return this;
+    }
+
+    /**
+     * Add quantity of a product by id, looked up in the catalog when the batch is applied
+     * (at its current price)
+     */
+    public CartBatch add(int productId, int quantity) {
+        ops.add(new Op(Kind.ADD, productId, null, quantity));
+        return this;
+    }
+
+    /**
+     * Add every line of a saved list or past order by product id (e.g. "buy again")
+     */
+    public CartBatch addAll(List<CartItem> lines) {
+        for (CartItem line : lines) {
+            add(line.getProductId(), line.getQuantity());
+        }
+        return this;
+    }
+
+    /**
+     * Set quantity of a line (0 removes it)
+     */
+    public CartBatch setQuantity(int productId, int quantity) {
+        ops.add(new Op(Kind.SET_QUANTITY, productId, null, quantity));
+        return this;
+    }
+
+    public CartBatch remove(int productId) {
+        ops.add(new Op(Kind.REMOVE, productId, null, 0));
+        return this;
+    }
+
+    public int size() {
+        return ops.size();
+    }
+
+    public boolean isEmpty() {
+        return ops.isEmpty();
+    }
+
+    List<Op> getOps() {
+        return ops;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.CartChange;
+import com.example.ecommerceapp.models.CartSnapshot;
+
+/**
+ * Listener for cart changes published by CartManager
+ * Callbacks run on the main thread, in the order the changes were made
+ * Each callback receives the snapshot the change produced, so lines and totals shown
+ * together always belong to the same cart state
+ */
+public interface CartChangeListener {
+    default void onItemAdded(CartChange change, CartSnapshot snapshot) {
+    }
+
+    default void onItemUpdated(CartChange change, CartSnapshot snapshot) {
+    }
+
+    default void onItemRemoved(CartChange change, CartSnapshot snapshot) {
+    }
+
+    /**
+     * Subtotal or total quantity changed; called once per write, after the line callbacks
+     */
+    default void onTotalsChanged(CartSnapshot snapshot) {
+    }
+}
@@ -1,29 +1,91 @@
 package com.example.ecommerceapp.data;
 
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.Looper;
 
+import com.example.ecommerceapp.models.Cart;
+import com.example.ecommerceapp.models.CartChange;
 import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.CartSnapshot;
+import com.example.ecommerceapp.models.Money;
 import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.utils.Constants;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * CartManager class for managing shopping cart operations
- * Handles: add to cart, update quantity, remove item, calculate total
- * Persists cart to DataStore
+ * Handles: add to cart, update quantity, remove item, batch changes, calculate total
+ * Lines live in a SharedCart: any thread may read or change the cart; reads return an
+ * immutable CartSnapshot without locking and writes serialize on a single lock
+ * Persists cart to DataStore on the I/O executor (AsyncDataStore)
+ * Writes are coalesced: a burst of changes is saved once after a short quiet period,
+ * or immediately on flush() (checkout, onStop, memory trim)
+ * Every change is published to CartChangeListeners on the main thread as line events
+ * (added/updated/removed) followed by a totals event, so screens can update just what changed
+ * Each user has their own saved cart (plus one guest cart). Only the current owner's cart is
+ * kept in memory: it is loaded on first access after login and evicted on logout
  */
 public class CartManager {
     private static CartManager instance;
     private DataStore dataStore;
-    private List<CartItem> cart;
+    private AsyncDataStore asyncDataStore;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<CartChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Object sessionLock = new Object();
+    // Current owner's cart; null until first accessed after login/logout
+    private volatile CartSession session;
+    // Snapshot version the next session starts from (guarded by sessionLock)
+    private long nextVersion;
+
+    /**
+     * One owner's cart in memory with its own write-behind writer
+     */
+    private final class CartSession {
+        final String owner;
+        final SharedCart cart;
+        final WriteBehindScheduler writer;
+
+        CartSession(String owner, long version) {
+            this.owner = owner;
+            this.cart = new SharedCart(new Cart(), version);
+            // The lines are read when the write runs, after any load queued before it
+            this.writer = new WriteBehindScheduler(WriteBehindScheduler.mainThread(), Constants.CART_WRITE_DELAY_MS,
+                    () -> asyncDataStore.saveCart(owner, () -> cart.snapshot().getItems()));
+            cart.setListener((previous, current, changes) -> {
+                // An evicted cart may still be written by a late background task; stay quiet
+                if (session == this) {
+                    onPublished(previous, current, changes);
+                }
+            });
+        }
+    }
 
     private CartManager(Context context) {
         dataStore = DataStore.getInstance(context);
-        cart = dataStore.loadCart();
-        if (cart == null) {
-            cart = new ArrayList<>();
-        }
+        asyncDataStore = AsyncDataStore.getInstance(context);
+        context.registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                // Also fires with TRIM_MEMORY_UI_HIDDEN when the app goes to the background
+                flush();
+            }
+
+            @Override
+            public void onConfigurationChanged(Configuration newConfig) {
+            }
+
+            @Override
+            public void onLowMemory() {
+                flush();
+            }
+        });
     }
 
     public static synchronized CartManager getInstance(Context context) {
@@ -33,19 +95,156 @@ public class CartManager {
         return instance;
     }
 
+    // ========== User Sessions ==========
+
+    /**
+     * Get the current owner's cart, loading it on first access
+     */
+    private CartSession session() {
+        CartSession current = session;
+        if (current != null) {
+            return current;
+        }
+        synchronized (sessionLock) {
+            if (session == null) {
+                open(dataStore.getCurrentUser());
+            }
+            return session;
+        }
+    }
+
+    /**
+     * Create an empty cart for an owner and queue loading its saved lines
+     * The cart is usable at once; saved lines are merged in (quantities summed) when the
+     * load finishes, and any changes made before that are saved again afterwards
+     */
+    private void open(String owner) {
+        CartSession opened = new CartSession(owner, nextVersion);
+        // Installed before the load is queued, so the loaded lines are published to listeners
+        session = opened;
+        asyncDataStore.submit(Constants.KEY_CART, () -> {
+            boolean changedBeforeLoad = !opened.cart.snapshot().isEmpty();
+            opened.cart.merge(dataStore.loadCart(owner));
+            return changedBeforeLoad;
+        }).thenAccept(changedBeforeLoad -> {
+            if (changedBeforeLoad) {
+                opened.writer.markDirty();
+            }
+        });
+    }
+
+    /**
+     * Drop the in-memory cart, saving pending changes first if requested
+     * Listeners see the lines removed, since the next cart belongs to someone else
+     */
+    private void close(boolean save) {
+        CartSession closing = session;
+        if (closing == null) {
+            return;
+        }
+        if (save) {
+            closing.writer.flush();
+        } else {
+            closing.writer.cancel();
+        }
+        session = null;
+        CartSnapshot last = closing.cart.snapshot();
+        nextVersion = last.getVersion() + 1;
+        if (!last.isEmpty()) {
+            List<CartChange> removed = new ArrayList<>(last.getItems().size());
+            for (CartItem item : last.getItems()) {
+                removed.add(CartChange.between(item, null));
+            }
+            onPublished(last, new CartSnapshot(Collections.emptyList(), 0, 0, nextVersion), removed);
+        }
+    }
+
+    /**
+     * Switch to a user's cart after login (called by AuthManager)
+     * Guest lines are merged into the user's saved cart, summing quantities by product id,
+     * in a single write; the user's cart is then loaded on next access
+     * @param email Email of the user who logged in
+     */
+    public void onLogin(String email) {
+        synchronized (sessionLock) {
+            CartSession previous = session;
+            CartSession guest = previous != null && previous.owner == null ? previous : null;
+            // The merge replaces the guest save, so a pending guest write is dropped
+            close(guest == null);
+            // Without a loaded guest cart the merge reads the saved one
+            asyncDataStore.mergeGuestCart(email,
+                    () -> guest != null ? guest.cart.snapshot().getItems() : null);
+        }
+    }
+
+    /**
+     * Save and evict the current user's cart (called by AuthManager)
+     */
+    public void onLogout() {
+        synchronized (sessionLock) {
+            close(true);
+        }
+    }
+
+    // ========== Change Events ==========
+
+    /**
+     * Register a listener for cart changes (callbacks run on the main thread)
+     * Changes made before registration are not replayed; read getSnapshot() first
+     */
+    public void addChangeListener(CartChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(CartChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Called by SharedCart under its write lock; posting keeps the events in write order
+     */
+    private void onPublished(CartSnapshot previous, CartSnapshot current, List<CartChange> changes) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        boolean totalsChanged = previous.getSubtotalCents() != current.getSubtotalCents()
+                || previous.getTotalQuantity() != current.getTotalQuantity();
+        mainHandler.post(() -> dispatch(current, changes, totalsChanged));
+    }
+
+    private void dispatch(CartSnapshot snapshot, List<CartChange> changes, boolean totalsChanged) {
+        for (CartChangeListener listener : listeners) {
+            for (CartChange change : changes) {
+                switch (change.getType()) {
+                    case ADDED:
+                        listener.onItemAdded(change, snapshot);
+                        break;
+                    case UPDATED:
+                        listener.onItemUpdated(change, snapshot);
+                        break;
+                    case REMOVED:
+                        listener.onItemRemoved(change, snapshot);
+                        break;
+                }
+            }
+            if (totalsChanged) {
+                listener.onTotalsChanged(snapshot);
+            }
+        }
+    }
+
+    // ========== Cart Operations ==========
+
     /**
      * Add product to cart or increase quantity if already exists
      * @param product Product to add
      * @param quantity Quantity to add
      */
     public void addToCart(Product product, int quantity) {
-        CartItem existingItem = findCartItem(product.getId());
-        if (existingItem != null) {
-            existingItem.setQuantity(existingItem.getQuantity() + quantity);
-        } else {
-            cart.add(new CartItem(product, quantity));
+        CartSession current = session();
+        if (current.cart.add(product, quantity)) {
+            current.writer.markDirty();
         }
-        saveCart();
     }
 
     /**
@@ -54,14 +253,9 @@ public class CartManager {
      * @param quantity New quantity (if 0 or less, item is removed)
      */
     public void updateQuantity(int productId, int quantity) {
-        CartItem item = findCartItem(productId);
-        if (item != null) {
-            if (quantity <= 0) {
-                cart.remove(item);
-            } else {
-                item.setQuantity(quantity);
-            }
-            saveCart();
+        CartSession current = session();
+        if (current.cart.setQuantity(productId, quantity)) {
+            current.writer.markDirty();
         }
     }
 
@@ -70,40 +264,64 @@ public class CartManager {
      * @param productId Product ID to remove
      */
     public void removeFromCart(int productId) {
-        CartItem item = findCartItem(productId);
-        if (item != null) {
-            cart.remove(item);
-            saveCart();
+        CartSession current = session();
+        if (current.cart.remove(productId)) {
+            current.writer.markDirty();
         }
     }
 
     /**
-     * Get all cart items
+     * Apply many adds, updates and removes at once (e.g. "buy again", a saved list)
+     * The cart changes atomically, listeners get one set of events and the cart is saved once
+     * @param batch Operations in order; products added by id are looked up in the catalog
+     * @return Status of each operation; rejected ones (e.g. unknown product ids) are skipped
      */
-    public List<CartItem> getCart() {
-        return new ArrayList<>(cart);
+    public CartBatch.Result batch(CartBatch batch) {
+        CartSession current = session();
+        CartBatch.Result result = current.cart.apply(batch, dataStore.getProductRepository());
+        if (result.isChanged()) {
+            current.writer.markDirty();
+        }
+        return result;
     }
 
     /**
-     * Calculate total price of all items in cart
+     * Update line prices to the current catalog prices (safe to call from a background worker)
+     * @param catalog Product lookup, e.g. DataStore.getProductRepository()
      */
-    public double getTotal() {
-        double total = 0.0;
-        for (CartItem item : cart) {
-            total += item.getTotalPrice();
+    public void reprice(CartItem.ProductResolver catalog) {
+        CartSession current = session();
+        if (current.cart.reprice(catalog)) {
+            current.writer.markDirty();
         }
-        return total;
     }
 
     /**
-     * Get cart item count (total quantity of all items)
+     * Get the current cart state; lines and totals are consistent with each other
+     */
+    public CartSnapshot getSnapshot() {
+        return session().cart.snapshot();
+    }
+
+    /**
+     * Get all cart items (read-only)
+     */
+    public List<CartItem> getCart() {
+        return session().cart.snapshot().getItems();
+    }
+
+    /**
+     * Get total price of all items in cart (running total, O(1))
+     */
+    public Money getTotal() {
+        return session().cart.snapshot().getSubtotal();
+    }
+
+    /**
+     * Get cart item count (total quantity of all items, O(1))
      */
     public int getItemCount() {
-        int count = 0;
-        for (CartItem item : cart) {
-            count += item.getQuantity();
-        }
-        return count;
+        return session().cart.snapshot().getTotalQuantity();
     }
 
     /**
@@ -117,26 +335,20 @@ public class CartManager {
      * Clear entire cart
      */
     public void clearCart() {
-        cart.clear();
-        dataStore.clearCart();
+        CartSession current = session();
+        current.cart.clear();
+        current.writer.cancel();
+        asyncDataStore.clearCart(current.owner);
     }
 
     /**
-     * Find cart item by product ID
+     * Save pending cart changes now instead of waiting for the quiet period
      */
-    private CartItem findCartItem(int productId) {
-        for (CartItem item : cart) {
-            if (item.getProduct().getId() == productId) {
-                return item;
-            }
+    public void flush() {
+        // Nothing to save if the cart was never loaded
+        CartSession current = session;
+        if (current != null) {
+            current.writer.flush();
         }
-        return null;
-    }
-
-    /**
-     * Save cart to DataStore
-     */
-    private void saveCart() {
-        dataStore.saveCart(cart);
     }
 }
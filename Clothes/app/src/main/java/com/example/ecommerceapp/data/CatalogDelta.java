@@ -0,0 +1,122 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.data.json.GsonProvider;
+import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.utils.IntObjectHashMap;
+import com.google.gson.JsonParseException;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CatalogDelta class describing one versioned change to the catalog
+ * - upserts: products added or replaced, keyed by id
+ * - deletes: ids removed from the catalog
+ * - version: position in the catalog feed; deltas apply in increasing version order and a
+ *   delta at or below the catalog's version has already been applied
+ * JSON form (delta files and the delta log): {"version": 7, "upserts": [Product...], "deletes": [3, 9]}
+ */
+public class CatalogDelta {
+    private final long version;
+    private final List<Product> upserts;
+    private final int[] deletes;
+
+    public CatalogDelta(long version, List<Product> upserts, int[] deletes) {
+        this.version = version;
+        this.upserts = upserts != null
+                ? Collections.unmodifiableList(new ArrayList<>(upserts)) : Collections.emptyList();
+        this.deletes = deletes != null ? deletes.clone() : new int[0];
+    }
+
+    /**
+     * Read a delta in its JSON form
+     * @throws IllegalArgumentException if the JSON is malformed
+     */
+    public static CatalogDelta read(Reader source) {
+        CatalogDelta delta;
+        try {
+            delta = GsonProvider.get().fromJson(source, CatalogDelta.class);
+        } catch (JsonParseException | IllegalStateException | NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("malformed delta", e);
+        }
+        if (delta == null) {
+            throw new IllegalArgumentException("empty delta");
+        }
+        return delta;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Product> getUpserts() {
+        return upserts;
+    }
+
+    /**
+     * Get the deleted ids (a copy)
+     */
+    public int[] getDeletes() {
+        return deletes.clone();
+    }
+
+    /**
+     * Check the delta can be applied as a whole
+     * @throws IllegalArgumentException naming the first problem (invalid product, an id
+     *         upserted twice, or an id both upserted and deleted)
+     */
+    public void validate() {
+        if (version <= 0) {
+            throw new IllegalArgumentException("version must be positive");
+        }
+        IntObjectHashMap<Product> upserted = new IntObjectHashMap<>(upserts.size());
+        for (Product product : upserts) {
+            String problem = CatalogImporter.validate(product);
+            if (problem != null) {
+                throw new IllegalArgumentException("upsert: " + problem);
+            }
+            if (upserted.put(product.getId(), product) != null) {
+                throw new IllegalArgumentException("id " + product.getId() + " upserted twice");
+            }
+        }
+        for (int productId : deletes) {
+            if (upserted.containsKey(productId)) {
+                throw new IllegalArgumentException("id " + productId + " both upserted and deleted");
+            }
+        }
+    }
+
+    /**
+     * Apply the delta to a catalog without modifying it
+     * Existing products keep their position (replaced in place or removed); new products are
+     * appended in delta order. Deleting an id that is not in the catalog is not an error
+     * @return New catalog list
+     */
+    public List<Product> applyTo(List<Product> catalog) {
+        IntObjectHashMap<Product> pending = new IntObjectHashMap<>(upserts.size());
+        for (Product product : upserts) {
+            pending.put(product.getId(), product);
+        }
+        int[] deleted = deletes.clone();
+        Arrays.sort(deleted);
+
+        List<Product> updated = new ArrayList<>(catalog.size() + upserts.size());
+        for (Product product : catalog) {
+            int productId = product.getId();
+            if (deleted.length > 0 && Arrays.binarySearch(deleted, productId) >= 0) {
+                continue;
+            }
+            Product replacement = pending.remove(productId);
+            updated.add(replacement != null ? replacement : product);
+        }
+        for (Product product : upserts) {
+            if (pending.containsKey(product.getId())) {
+                updated.add(product);
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.data.json.GsonProvider;
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CatalogDeltaLog class persisting applied catalog deltas since the catalog was last saved whole
+ * - Each applied delta is appended as one record (its JSON form), so applying a delta writes
+ *   only the rows it touches instead of the whole catalog
+ * - Records use the OrderLog file layout: a checksummed record is either fully present or,
+ *   if the app died mid-append, truncated on open, so a delta is never half applied
+ * - The saved catalog is the stored product list with the logged deltas replayed over it;
+ *   clear() is called once that list is saved whole again (compaction)
+ */
+public class CatalogDeltaLog {
+    private final File file;
+    private final Gson gson;
+    private OrderLog log;
+    private long latestVersion;
+
+    /**
+     * Open (or create) the log
+     * @param file Backing file
+     */
+    public CatalogDeltaLog(File file) throws IOException {
+        this.file = file;
+        this.gson = GsonProvider.get();
+        this.log = new OrderLog(file);
+        for (CatalogDelta delta : readAll()) {
+            latestVersion = Math.max(latestVersion, delta.getVersion());
+        }
+    }
+
+    /**
+     * Append one delta and sync it to disk; once this returns the delta survives a restart
+     */
+    public synchronized void append(CatalogDelta delta) throws IOException {
+        log.append(gson.toJson(delta, CatalogDelta.class).getBytes(StandardCharsets.UTF_8));
+        latestVersion = Math.max(latestVersion, delta.getVersion());
+    }
+
+    /**
+     * Read every logged delta in the order applied
+     */
+    public synchronized List<CatalogDelta> readAll() throws IOException {
+        List<CatalogDelta> deltas = new ArrayList<>(log.size());
+        log.forEach((offset, payload) ->
+                deltas.add(gson.fromJson(new String(payload, StandardCharsets.UTF_8), CatalogDelta.class)));
+        return deltas;
+    }
+
+    /**
+     * Get number of logged deltas
+     */
+    public synchronized int size() {
+        return log.size();
+    }
+
+    /**
+     * Get highest logged version (0 when empty)
+     */
+    public synchronized long getLatestVersion() {
+        return latestVersion;
+    }
+
+    /**
+     * Drop every logged delta (after the catalog they produce has been saved whole)
+     */
+    public synchronized void clear() throws IOException {
+        if (!file.delete() && file.exists()) {
+            throw new IOException("Failed to delete " + file);
+        }
+        log = new OrderLog(file);
+        latestVersion = 0;
+    }
+}
@@ -0,0 +1,432 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.data.json.GsonProvider;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.utils.Constants;
+import com.example.ecommerceapp.utils.IntIntHashMap;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * CatalogImporter class streaming a product catalog from a JSONL or CSV source
+ * - The source is read line by line into chunks of chunkSize lines; only a bounded number
+ *   of chunks (twice the pool's parallelism) are in memory at once, never the whole file
+ * - Chunks are parsed and validated in parallel on a ForkJoinPool
+ * - Parsed chunks are handed to a Sink in source order, on the calling thread, as they finish
+ *   (so the caller can index and store them incrementally)
+ * - Invalid rows and duplicate ids are rejected with their line number; the rest still import
+ * JSONL: one Product object per line, in the same format as the saved catalog
+ * CSV: a header row naming the columns (id, name and price required; rating, reviews,
+ * description and imageUrl optional), then one product per line; fields may be quoted with ""
+ */
+public class CatalogImporter {
+    public enum Format {
+        JSONL, CSV;
+
+        /**
+         * Pick the format from a file name (".csv" is CSV, anything else JSONL)
+         */
+        public static Format forFileName(String fileName) {
+            return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : JSONL;
+        }
+    }
+
+    /**
+     * Receives each chunk of valid products, in source order
+     */
+    public interface Sink {
+        void accept(List<Product> products);
+    }
+
+    /**
+     * A row that was not imported
+     */
+    public static final class Reject {
+        private final int lineNumber;
+        private final String reason;
+
+        Reject(int lineNumber, String reason) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+
+        /**
+         * Get the 1-based line number in the source
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + lineNumber + ": " + reason;
+        }
+    }
+
+    /**
+     * Outcome of an import
+     */
+    public static final class Report {
+        private final int importedCount;
+        private final int rejectedCount;
+        private final List<Reject> rejects;
+
+        Report(int importedCount, int rejectedCount, List<Reject> rejects) {
+            this.importedCount = importedCount;
+            this.rejectedCount = rejectedCount;
+            this.rejects = Collections.unmodifiableList(rejects);
+        }
+
+        public int getImportedCount() {
+            return importedCount;
+        }
+
+        public int getRejectedCount() {
+            return rejectedCount;
+        }
+
+        /**
+         * Get the first rejects, in line order (at most Constants.IMPORT_MAX_REJECTS_KEPT)
+         */
+        public List<Reject> getRejects() {
+            return rejects;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Importer parsing on the common fork-join pool
+     */
+    public CatalogImporter() {
+        this(ForkJoinPool.commonPool(), Constants.IMPORT_CHUNK_SIZE);
+    }
+
+    public CatalogImporter(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import every product of a source
+     * @param source Read to the end but not closed
+     * @throws IOException if reading the source fails
+     * @throws IllegalArgumentException if a CSV source has no usable header row
+     */
+    public Report importFrom(Reader source, Format format, Sink sink) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader
+                ? (BufferedReader) source : new BufferedReader(source);
+        Delivery delivery = new Delivery(sink);
+        int lineNumber = 0;
+        CsvColumns columns = null;
+        if (format == Format.CSV) {
+            String header;
+            do {
+                header = reader.readLine();
+                lineNumber++;
+            } while (header != null && header.trim().isEmpty());
+            if (header == null) {
+                return delivery.report();
+            }
+            columns = CsvColumns.parse(header);
+        }
+
+        int maxInFlight = Math.max(2, pool.getParallelism() * 2);
+        Deque<ForkJoinTask<ParsedChunk>> inFlight = new ArrayDeque<>();
+        String[] lines = new String[chunkSize];
+        int count = 0;
+        int firstLine = lineNumber + 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (count == 0) {
+                firstLine = lineNumber;
+            }
+            lines[count++] = line;
+            if (count == chunkSize) {
+                if (inFlight.size() == maxInFlight) {
+                    delivery.deliver(inFlight.poll().join());
+                }
+                inFlight.add(pool.submit(parseTask(lines, count, firstLine, format, columns)));
+                lines = new String[chunkSize];
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            inFlight.add(pool.submit(parseTask(lines, count, firstLine, format, columns)));
+        }
+        while (!inFlight.isEmpty()) {
+            delivery.deliver(inFlight.poll().join());
+        }
+        return delivery.report();
+    }
+
+    private static ForkJoinTask<ParsedChunk> parseTask(String[] lines, int count, int firstLine,
+                                                       Format format, CsvColumns columns) {
+        return ForkJoinTask.adapt(() -> parseChunk(lines, count, firstLine, format, columns));
+    }
+
+    // ========== Parsing ==========
+
+    /**
+     * Parse and validate one chunk (runs on the pool)
+     */
+    static ParsedChunk parseChunk(String[] lines, int count, int firstLine, Format format, CsvColumns columns) {
+        ParsedChunk chunk = new ParsedChunk(count);
+        Gson gson = GsonProvider.get();
+        for (int i = 0; i < count; i++) {
+            String line = lines[i];
+            int lineNumber = firstLine + i;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            Product product;
+            try {
+                product = format == Format.CSV ? columns.toProduct(line) : parseJson(gson, line);
+            } catch (IllegalArgumentException e) {
+                chunk.rejects.add(new Reject(lineNumber, e.getMessage()));
+                continue;
+            }
+            String problem = validate(product);
+            if (problem != null) {
+                chunk.rejects.add(new Reject(lineNumber, problem));
+            } else {
+                chunk.products.add(product);
+                chunk.lineNumbers[chunk.products.size() - 1] = lineNumber;
+            }
+        }
+        return chunk;
+    }
+
+    private static Product parseJson(Gson gson, String line) {
+        try {
+            return gson.fromJson(line, Product.class);
+        } catch (JsonParseException | IllegalStateException | NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("malformed JSON");
+        }
+    }
+
+    /**
+     * Check a parsed product
+     * @return Reason it is invalid, or null if it can be imported
+     */
+    static String validate(Product product) {
+        if (product == null) {
+            return "empty row";
+        }
+        if (product.getId() <= 0) {
+            return "id must be positive";
+        }
+        if (product.getName() == null || product.getName().trim().isEmpty()) {
+            return "name is required";
+        }
+        if (product.getPrice() == null) {
+            return "price is required";
+        }
+        if (product.getPrice().getCents() < 0) {
+            return "price must not be negative";
+        }
+        if (!(product.getRating() >= 0 && product.getRating() <= 5)) {
+            return "rating must be between 0 and 5";
+        }
+        if (product.getReviews() < 0) {
+            return "reviews must not be negative";
+        }
+        return null;
+    }
+
+    static final class ParsedChunk {
+        final List<Product> products;
+        final int[] lineNumbers;
+        final List<Reject> rejects = new ArrayList<>();
+
+        ParsedChunk(int capacity) {
+            products = new ArrayList<>(capacity);
+            lineNumbers = new int[capacity];
+        }
+    }
+
+    /**
+     * Hands chunks to the sink in order, dropping ids already imported, and keeps the counts
+     */
+    private static final class Delivery {
+        private final Sink sink;
+        // Product id -> line it was first imported from (line numbers start at 1)
+        private final IntIntHashMap seen = new IntIntHashMap();
+        private final List<Reject> rejects = new ArrayList<>();
+        private int imported;
+        private int rejected;
+
+        Delivery(Sink sink) {
+            this.sink = sink;
+        }
+
+        void deliver(ParsedChunk chunk) {
+            // Chunk rejects and duplicates interleave by line number; both lists are in line order
+            List<Product> accepted = new ArrayList<>(chunk.products.size());
+            int next = 0;
+            for (int i = 0; i < chunk.products.size(); i++) {
+                Product product = chunk.products.get(i);
+                int lineNumber = chunk.lineNumbers[i];
+                while (next < chunk.rejects.size() && chunk.rejects.get(next).getLineNumber() < lineNumber) {
+                    reject(chunk.rejects.get(next++));
+                }
+                int firstLine = seen.get(product.getId(), 0);
+                if (firstLine != 0) {
+                    reject(new Reject(lineNumber, "duplicate id " + product.getId() + " (first on line " + firstLine + ")"));
+                } else {
+                    seen.put(product.getId(), lineNumber);
+                    accepted.add(product);
+                }
+            }
+            while (next < chunk.rejects.size()) {
+                reject(chunk.rejects.get(next++));
+            }
+            if (!accepted.isEmpty()) {
+                imported += accepted.size();
+                sink.accept(accepted);
+            }
+        }
+
+        private void reject(Reject reject) {
+            rejected++;
+            if (rejects.size() < Constants.IMPORT_MAX_REJECTS_KEPT) {
+                rejects.add(reject);
+            }
+        }
+
+        Report report() {
+            return new Report(imported, rejected, rejects);
+        }
+    }
+
+    // ========== CSV ==========
+
+    /**
+     * Column positions from a CSV header row
+     */
+    static final class CsvColumns {
+        private final int id;
+        private final int name;
+        private final int price;
+        private final int rating;
+        private final int reviews;
+        private final int description;
+        private final int imageUrl;
+
+        private CsvColumns(List<String> header) {
+            id = header.indexOf("id");
+            name = header.indexOf("name");
+            price = header.indexOf("price");
+            rating = header.indexOf("rating");
+            reviews = header.indexOf("reviews");
+            description = header.indexOf("description");
+            imageUrl = header.indexOf("imageurl");
+        }
+
+        static CsvColumns parse(String headerLine) {
+            List<String> header = new ArrayList<>();
+            for (String column : splitCsv(headerLine)) {
+                header.add(column.trim().toLowerCase(Locale.ROOT));
+            }
+            CsvColumns columns = new CsvColumns(header);
+            if (columns.id < 0 || columns.name < 0 || columns.price < 0) {
+                throw new IllegalArgumentException("CSV header must name the id, name and price columns");
+            }
+            return columns;
+        }
+
+        Product toProduct(String line) {
+            List<String> fields = splitCsv(line);
+            Product product = new Product();
+            try {
+                product.setId(Integer.parseInt(field(fields, id, "id")));
+                product.setPrice(Money.parse(field(fields, price, "price")));
+                String ratingText = optional(fields, rating);
+                product.setRating(ratingText == null ? 0 : Double.parseDouble(ratingText));
+                String reviewsText = optional(fields, reviews);
+                product.setReviews(reviewsText == null ? 0 : Integer.parseInt(reviewsText));
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new IllegalArgumentException("id, price, rating and reviews must be numbers");
+            }
+            product.setName(optional(fields, name));
+            product.setDescription(optional(fields, description));
+            product.setImageUrl(optional(fields, imageUrl));
+            return product;
+        }
+
+        private static String field(List<String> fields, int index, String column) {
+            String value = optional(fields, index);
+            if (value == null) {
+                throw new IllegalArgumentException(column + " is required");
+            }
+            return value;
+        }
+
+        private static String optional(List<String> fields, int index) {
+            if (index < 0 || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    /**
+     * Split one CSV line; quoted fields may contain commas and doubled quotes ("")
+     * @throws IllegalArgumentException if a quote is not closed on the line
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unclosed quote");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
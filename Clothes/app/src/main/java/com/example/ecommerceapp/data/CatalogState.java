@@ -0,0 +1,210 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.search.SearchIndex;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CatalogState class owning how the saved catalog is built from a base list and a delta log
+ * - The saved catalog is the base list with every logged delta newer than the base version
+ *   replayed over it (load)
+ * - apply() validates a delta and appends it to the CatalogDeltaLog; that append is the commit
+ *   point, and only the touched rows are written
+ * - After compactAfter logged deltas the catalog is written as the new base and the log cleared;
+ *   a crash between the two only leaves deltas the base version already covers. A failed
+ *   compaction does not fail the apply (the delta is already committed) and is retried on
+ *   the next apply
+ * - A whole new catalog can also be written chunk by chunk (beginReplacement) and committed
+ *   once complete, e.g. while an import streams in
+ * The base list lives in a BaseStore (a ChunkedCatalogStore file in the app, memory in tests)
+ * Thread-safe (all methods synchronize on the state)
+ */
+public class CatalogState {
+    /**
+     * Durable storage for the base catalog and the feed version it includes
+     */
+    public interface BaseStore {
+        /**
+         * @return Saved base catalog (empty if none)
+         */
+        List<Product> read();
+
+        /**
+         * @return Feed version the saved base includes (0 if none)
+         */
+        long readVersion();
+
+        /**
+         * Save the base catalog and its version together; returns only once both are on disk
+         */
+        void write(List<Product> products, long version);
+
+        /**
+         * Start writing a new base chunk by chunk; the saved base is unchanged until commit
+         * The default collects the chunks and calls write(), which suits in-memory stores
+         */
+        default BaseWriter begin() {
+            List<Product> chunks = new ArrayList<>();
+            return new BaseWriter() {
+                @Override
+                public void append(List<Product> products) {
+                    chunks.addAll(products);
+                }
+
+                @Override
+                public void commit(long version) {
+                    write(chunks, version);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+
+    /**
+     * A new base catalog being written (see BaseStore.begin)
+     * Closing it without commit() discards what was appended
+     */
+    public interface BaseWriter extends Closeable {
+        /**
+         * Append products after those already written
+         */
+        void append(List<Product> products);
+
+        /**
+         * Save everything appended, with its version, as the base
+         */
+        void commit(long version);
+
+        @Override
+        void close();
+    }
+
+    private final BaseStore base;
+    private final CatalogDeltaLog log;
+    private final int compactAfter;
+
+    /**
+     * @param compactAfter Logged deltas that trigger writing a new base
+     */
+    public CatalogState(BaseStore base, CatalogDeltaLog log, int compactAfter) {
+        this.base = base;
+        this.log = log;
+        this.compactAfter = compactAfter;
+    }
+
+    /**
+     * Read the saved catalog: the base with the newer logged deltas replayed over it
+     */
+    public synchronized List<Product> load() {
+        List<Product> products = base.read();
+        long baseVersion = base.readVersion();
+        try {
+            for (CatalogDelta delta : log.readAll()) {
+                if (delta.getVersion() > baseVersion) {
+                    products = delta.applyTo(products);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read catalog delta log", e);
+        }
+        return products;
+    }
+
+    /**
+     * Get version of the newest delta applied (0 if none)
+     */
+    public synchronized long getVersion() {
+        return Math.max(base.readVersion(), log.getLatestVersion());
+    }
+
+    /**
+     * Get number of deltas logged since the base was last written
+     */
+    public synchronized int getLoggedDeltaCount() {
+        return log.size();
+    }
+
+    /**
+     * Replace the whole catalog: write it as the base (at the current version), then clear the log
+     */
+    public synchronized void save(List<Product> products) {
+        base.write(products, getVersion());
+        clearLog();
+    }
+
+    /**
+     * Start replacing the whole catalog chunk by chunk; nothing changes until
+     * commitReplacement(), and closing the writer before that discards it
+     */
+    public BaseWriter beginReplacement() {
+        return base.begin();
+    }
+
+    /**
+     * Make a finished replacement the saved catalog (at the current version), then clear the log
+     */
+    public synchronized void commitReplacement(BaseWriter writer) {
+        writer.commit(getVersion());
+        clearLog();
+    }
+
+    private void clearLog() {
+        if (log.size() > 0) {
+            try {
+                log.clear();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to clear catalog delta log", e);
+            }
+        }
+    }
+
+    /**
+     * Apply one delta to the saved catalog
+     * Nothing is written if the delta is stale or invalid
+     * @param current Catalog the delta applies to (the result of load() or of the last apply)
+     * @return Updated catalog, or null if the delta's version is not newer than getVersion()
+     * @throws IllegalArgumentException if the delta is invalid (see CatalogDelta.validate)
+     */
+    public synchronized List<Product> apply(CatalogDelta delta, List<Product> current) {
+        if (delta.getVersion() <= getVersion()) {
+            return null;
+        }
+        delta.validate();
+        List<Product> updated = delta.applyTo(current);
+        try {
+            log.append(delta);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to log catalog delta", e);
+        }
+        if (log.size() >= compactAfter) {
+            try {
+                save(updated);
+            } catch (UncheckedIOException e) {
+                // The logged delta is the committed state; the log still replays over the old base
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Bring the id index and the search index in line with an applied delta, touching only
+     * its ids
+     * @param index Search index, or null if none is built yet
+     */
+    public static void updateIndexes(CatalogDelta delta, ProductRepository repository, SearchIndex index) {
+        int[] deletes = delta.getDeletes();
+        repository.onDeltaApplied(delta.getUpserts(), deletes);
+        if (index != null) {
+            index.remove(deletes);
+            index.upsert(delta.getUpserts());
+        }
+    }
+}
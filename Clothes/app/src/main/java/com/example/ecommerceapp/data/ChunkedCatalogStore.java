@@ -0,0 +1,175 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.data.codec.Codecs;
+import com.example.ecommerceapp.data.codec.DataCodec;
+import com.example.ecommerceapp.models.Product;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * ChunkedCatalogStore class keeping the base catalog in a file of product chunks
+ * - Records use the OrderLog file layout: one record per chunk of at most chunkSize products,
+ *   then one record holding the feed version
+ * - A new base is written to a temporary file, one chunk at a time, and renamed over the old
+ *   file once complete; the rename is the commit point, so a crash mid-write keeps the old base
+ * - begin() lets a caller (e.g. an import) hand over chunks as they are produced, so saving
+ *   never needs the whole catalog in one list
+ * - Chunks are encoded with the codec selected at write time; reads detect it per chunk
+ */
+public class ChunkedCatalogStore implements CatalogState.BaseStore {
+    private static final byte CHUNK_RECORD = 'P';
+    private static final byte VERSION_RECORD = 'V';
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File file;
+    private final int chunkSize;
+    private final Supplier<DataCodec> codec;
+    private long version;
+
+    /**
+     * Open the store, dropping temporary files left by an interrupted write
+     * @param file Base file (created on the first write)
+     * @param chunkSize Products per record
+     * @param codec Codec for new chunks
+     */
+    public ChunkedCatalogStore(File file, int chunkSize, Supplier<DataCodec> codec) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.file = file;
+        this.chunkSize = chunkSize;
+        this.codec = codec;
+        deleteTempFiles();
+        visit(null);
+    }
+
+    /**
+     * Check whether a base has been written
+     */
+    public synchronized boolean exists() {
+        return file.exists();
+    }
+
+    @Override
+    public synchronized List<Product> read() {
+        List<Product> products = new ArrayList<>();
+        visit(products);
+        return products;
+    }
+
+    @Override
+    public synchronized long readVersion() {
+        return version;
+    }
+
+    @Override
+    public void write(List<Product> products, long version) {
+        try (CatalogState.BaseWriter writer = begin()) {
+            writer.append(products);
+            writer.commit(version);
+        }
+    }
+
+    @Override
+    public CatalogState.BaseWriter begin() {
+        try {
+            return new ChunkWriter(File.createTempFile(file.getName(), TEMP_SUFFIX, file.getParentFile()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start catalog write", e);
+        }
+    }
+
+    /**
+     * Read the version record, and the products too if a list is given
+     */
+    private void visit(List<Product> into) {
+        version = 0;
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            new OrderLog(file).forEach((offset, payload) -> {
+                if (payload[0] == VERSION_RECORD) {
+                    version = ByteBuffer.wrap(payload, 1, Long.BYTES).getLong();
+                } else if (into != null) {
+                    byte[] data = Arrays.copyOfRange(payload, 1, payload.length);
+                    into.addAll(Codecs.forData(data).decodeProducts(data));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read catalog", e);
+        }
+    }
+
+    private synchronized void replace(File temp, long newVersion) {
+        if (!temp.renameTo(file)) {
+            throw new UncheckedIOException(new IOException("Failed to replace " + file));
+        }
+        version = newVersion;
+    }
+
+    private void deleteTempFiles() {
+        File[] temps = file.getAbsoluteFile().getParentFile().listFiles((dir, name) ->
+                name.startsWith(file.getName()) && name.endsWith(TEMP_SUFFIX));
+        if (temps != null) {
+            for (File temp : temps) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Writes one new base into its own temporary file
+     */
+    private final class ChunkWriter implements CatalogState.BaseWriter {
+        private final File temp;
+        private final OrderLog log;
+        private boolean committed;
+
+        ChunkWriter(File temp) throws IOException {
+            this.temp = temp;
+            // createTempFile left an empty file; OrderLog wants to write its own header
+            temp.delete();
+            this.log = new OrderLog(temp);
+        }
+
+        @Override
+        public void append(List<Product> products) {
+            DataCodec chunkCodec = codec.get();
+            try {
+                for (int from = 0; from < products.size(); from += chunkSize) {
+                    List<Product> chunk = products.subList(from, Math.min(from + chunkSize, products.size()));
+                    byte[] data = chunkCodec.encodeProducts(chunk);
+                    log.append(ByteBuffer.allocate(1 + data.length).put(CHUNK_RECORD).put(data).array());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write catalog chunk", e);
+            }
+        }
+
+        @Override
+        public void commit(long version) {
+            try {
+                log.append(ByteBuffer.allocate(1 + Long.BYTES).put(VERSION_RECORD).putLong(version).array());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write catalog version", e);
+            }
+            replace(temp, version);
+            committed = true;
+        }
+
+        @Override
+        public void close() {
+            if (!committed) {
+                temp.delete();
+            }
+        }
+    }
+}
@@ -3,33 +3,102 @@ package com.example.ecommerceapp.data;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import com.example.ecommerceapp.catalog.ColumnarCatalog;
+import com.example.ecommerceapp.data.codec.BinaryCodec;
+import com.example.ecommerceapp.data.codec.Codecs;
+import com.example.ecommerceapp.data.codec.DataCodec;
+import com.example.ecommerceapp.data.json.GsonProvider;
+import com.example.ecommerceapp.models.Cart;
 import com.example.ecommerceapp.models.CartItem;
 import com.example.ecommerceapp.models.Order;
 import com.example.ecommerceapp.models.Product;
 import com.example.ecommerceapp.models.User;
+import com.example.ecommerceapp.search.SearchIndex;
 import com.example.ecommerceapp.utils.Constants;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * DataStore class for managing SharedPreferences with JSON serialization
- * Handles saving and loading: users, current user, cart, orders, products
- * Uses Gson for JSON conversion
+ * Handles saving and loading: users, current user, carts (per user and guest), orders, products
+ * Each domain lives in its own SharedPreferences file (see StoreDomain)
+ * Orders are kept in an append-only OrderLog file instead of SharedPreferences
+ * The catalog base is a ChunkedCatalogStore file; catalog deltas are appended to a
+ * CatalogDeltaLog and folded into that base from time to time
+ * Users, orders and products are cached as read-only snapshots (write-through on save)
+ * Uses the shared GsonProvider instance (streaming model adapters) for JSON conversion
+ * Catalog, cart and orders go through a selectable DataCodec (JSON or compact binary)
+ * Safe to call from any thread; AsyncDataStore wraps it for use from the main thread
  */
 public class DataStore {
+    private static final OrderIndex.HeaderReader HEADER_READER =
+            payload -> Codecs.forData(payload).decodeOrderHeader(payload);
+
     private static DataStore instance;
-    private SharedPreferences prefs;
+    private Map<StoreDomain, SharedPreferences> stores;
     private Gson gson;
+    private OrderLog orderLog;
+    private volatile OrderIndex orderIndex;
+    private volatile DataCodec codec = Codecs.JSON;
+    // Serializes catalog saves and delta applications
+    private final Object catalogLock = new Object();
+    private CatalogState catalogState;
+    // Built on first search, then kept in step with catalog changes (under catalogLock, then searchIndexLock)
+    private final Object searchIndexLock = new Object();
+    private volatile SearchIndex searchIndex;
+
+    // Decoded snapshots, replaced on the matching save* call
+    private final SnapshotCache<Map<String, User>> usersCache = new SnapshotCache<>();
+    private final SnapshotCache<List<Order>> ordersCache = new SnapshotCache<>();
+    private final SnapshotCache<List<Product>> productsCache = new SnapshotCache<>();
+    private final SnapshotCache<ColumnarCatalog> catalogCache = new SnapshotCache<>();
+    // Canonical id -> Product index, replaced on saveProducts
+    private final ProductRepository productRepository = new ProductRepository(this::loadProducts);
 
     private DataStore(Context context) {
-        prefs = context.getSharedPreferences(Constants.PREFS_NAME, Context.MODE_PRIVATE);
-        gson = new Gson();
+        stores = new EnumMap<>(StoreDomain.class);
+        for (StoreDomain domain : StoreDomain.values()) {
+            stores.put(domain, context.getSharedPreferences(domain.getPrefsName(), Context.MODE_PRIVATE));
+        }
+        gson = GsonProvider.get();
+        try {
+            orderLog = new OrderLog(new File(context.getFilesDir(), Constants.ORDER_LOG_FILE));
+            orderIndex = OrderIndex.open(new File(context.getFilesDir(), Constants.ORDER_INDEX_FILE),
+                    orderLog, HEADER_READER);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open order log", e);
+        }
+        ChunkedCatalogStore catalogBase = new ChunkedCatalogStore(
+                new File(context.getFilesDir(), Constants.CATALOG_BASE_FILE), Constants.IMPORT_CHUNK_SIZE, () -> codec);
+        try {
+            CatalogDeltaLog deltaLog = new CatalogDeltaLog(new File(context.getFilesDir(), Constants.CATALOG_DELTA_LOG_FILE));
+            catalogState = new CatalogState(catalogBase, deltaLog, Constants.CATALOG_DELTA_COMPACT_RECORDS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open catalog delta log", e);
+        }
+        migrateLegacyPrefs(context);
+        migrateLegacyCatalog(catalogBase);
+        // Cart and order lines store only product ids; resolve them against the catalog
+        CartItem.setProductResolver(productRepository);
     }
 
     public static synchronized DataStore getInstance(Context context) {
@@ -45,19 +114,26 @@ public class DataStore {
      */
     public void saveUsers(Map<String, User> users) {
         String json = gson.toJson(users);
-        prefs.edit().putString(Constants.KEY_USERS, json).apply();
+        prefs(StoreDomain.USERS).edit().putString(Constants.KEY_USERS, json).apply();
+        usersCache.put(Collections.unmodifiableMap(new HashMap<>(users)));
     }
 
     /**
      * Load users map
+     * @return Read-only cached map; copy it before making changes
      */
     public Map<String, User> loadUsers() {
-        String json = prefs.getString(Constants.KEY_USERS, null);
+        return usersCache.get(this::decodeUsers);
+    }
+
+    private Map<String, User> decodeUsers() {
+        String json = prefs(StoreDomain.USERS).getString(Constants.KEY_USERS, null);
         if (json == null) {
-            return new HashMap<>();
+            return Collections.emptyMap();
         }
         Type type = new TypeToken<Map<String, User>>(){}.getType();
-        return gson.fromJson(json, type);
+        Map<String, User> users = gson.fromJson(json, type);
+        return Collections.unmodifiableMap(users);
     }
 
     // ========== Current User Management ==========
@@ -65,129 +141,572 @@ public class DataStore {
      * Save currently logged-in user email
      */
     public void saveCurrentUser(String email) {
-        prefs.edit().putString(Constants.KEY_CURRENT_USER, email).apply();
+        prefs(StoreDomain.SESSION).edit().putString(Constants.KEY_CURRENT_USER, email).apply();
     }
 
     /**
      * Get currently logged-in user email
      */
     public String getCurrentUser() {
-        return prefs.getString(Constants.KEY_CURRENT_USER, null);
+        return prefs(StoreDomain.SESSION).getString(Constants.KEY_CURRENT_USER, null);
     }
 
     /**
      * Clear current user (logout)
      */
     public void clearCurrentUser() {
-        prefs.edit().remove(Constants.KEY_CURRENT_USER).apply();
+        prefs(StoreDomain.SESSION).edit().remove(Constants.KEY_CURRENT_USER).apply();
     }
 
     // ========== Cart Management ==========
+    // Each user's cart is stored under its own key; the guest cart keeps the original KEY_CART
+    /**
+     * Get the SharedPreferences key holding a cart
+     * @param owner User email, or null for the guest cart
+     */
+    static String cartKey(String owner) {
+        return owner == null ? Constants.KEY_CART : Constants.KEY_CART + ":" + owner;
+    }
+
     /**
      * Save cart items list
+     * @param owner User email, or null for the guest cart
      */
-    public void saveCart(List<CartItem> cart) {
-        String json = gson.toJson(cart);
-        prefs.edit().putString(Constants.KEY_CART, json).apply();
+    public void saveCart(String owner, List<CartItem> cart) {
+        String value = toPrefsString(codec.encodeCart(cart));
+        prefs(StoreDomain.CART).edit().putString(cartKey(owner), value).apply();
     }
 
     /**
      * Load cart items list
+     * @param owner User email, or null for the guest cart
      */
-    public List<CartItem> loadCart() {
-        String json = prefs.getString(Constants.KEY_CART, null);
-        if (json == null) {
+    public List<CartItem> loadCart(String owner) {
+        String value = prefs(StoreDomain.CART).getString(cartKey(owner), null);
+        if (value == null) {
             return new ArrayList<>();
         }
-        Type type = new TypeToken<List<CartItem>>(){}.getType();
-        List<CartItem> cart = gson.fromJson(json, type);
-        // Restore product references in cart items
-        List<Product> products = loadProducts();
-        Map<Integer, Product> productMap = new HashMap<>();
-        for (Product p : products) {
-            productMap.put(p.getId(), p);
-        }
-        for (CartItem item : cart) {
-            Product p = productMap.get(item.getProduct().getId());
-            if (p != null) {
-                item.setProduct(p);
-            }
-        }
+        byte[] data = fromPrefsString(value);
+        List<CartItem> cart = Codecs.forData(data).decodeCart(data);
         return cart;
     }
 
     /**
      * Clear cart
+     * @param owner User email, or null for the guest cart
      */
-    public void clearCart() {
-        prefs.edit().remove(Constants.KEY_CART).apply();
+    public void clearCart(String owner) {
+        prefs(StoreDomain.CART).edit().remove(cartKey(owner)).apply();
+    }
+
+    /**
+     * Move guest cart lines into a user's saved cart, summing quantities by product id
+     * The merged cart is saved and the guest cart removed in a single write
+     * @param owner User email
+     * @param guestLines Guest lines to merge, or null to use the saved guest cart
+     * @return Merged lines, or null if there was nothing to merge (nothing is written)
+     */
+    public List<CartItem> mergeGuestCart(String owner, List<CartItem> guestLines) {
+        List<CartItem> guest = guestLines != null ? guestLines : loadCart(null);
+        if (guest.isEmpty()) {
+            return null;
+        }
+        Cart merged = new Cart(loadCart(owner));
+        for (CartItem item : guest) {
+            merged.add(item);
+        }
+        List<CartItem> items = merged.getItems();
+        String value = toPrefsString(codec.encodeCart(items));
+        prefs(StoreDomain.CART).edit()
+                .putString(cartKey(owner), value)
+                .remove(cartKey(null))
+                .apply();
+        return items;
     }
 
     // ========== Orders Management ==========
     /**
-     * Save orders list
+     * Append a single order to the order log (O(1), history is not rewritten)
      */
-    public void saveOrders(List<Order> orders) {
-        String json = gson.toJson(orders);
-        prefs.edit().putString(Constants.KEY_ORDERS, json).apply();
+    public synchronized void appendOrder(Order order) {
+        byte[] payload = codec.encodeOrder(order);
+        long timestamp = order.getTimestamp() != null ? order.getTimestamp().getTime() : Long.MIN_VALUE;
+        long offset;
+        try {
+            offset = orderLog.append(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append order " + order.getId(), e);
+        }
+        // The order is committed; a journal failure only costs a rebuild on the next launch
+        orderIndex.add(order.getId(), order.getUserEmail(), timestamp, offset);
+        List<Order> cached = ordersCache.peek();
+        if (cached != null) {
+            List<Order> orders = new ArrayList<>(cached.size() + 1);
+            orders.addAll(cached);
+            orders.add(order);
+            ordersCache.put(Collections.unmodifiableList(orders));
+        }
     }
 
     /**
-     * Load orders list
+     * Load orders list by streaming the order log
+     * @return Read-only cached list
      */
     public List<Order> loadOrders() {
-        String json = prefs.getString(Constants.KEY_ORDERS, null);
-        if (json == null) {
-            return new ArrayList<>();
+        return ordersCache.get(this::decodeOrders);
+    }
+
+    private List<Order> decodeOrders() {
+        List<Order> orders = new ArrayList<>();
+        try {
+            orderLog.forEach((offset, payload) ->
+                    orders.add(Codecs.forData(payload).decodeOrder(payload)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read order log", e);
         }
-        Type type = new TypeToken<List<Order>>(){}.getType();
-        List<Order> orders = gson.fromJson(json, type);
-        // Restore product references in order items
-        List<Product> products = loadProducts();
-        Map<Integer, Product> productMap = new HashMap<>();
-        for (Product p : products) {
-            productMap.put(p.getId(), p);
-        }
-        for (Order order : orders) {
-            for (CartItem item : order.getItems()) {
-                Product p = productMap.get(item.getProduct().getId());
-                if (p != null) {
-                    item.setProduct(p);
+        if (orders.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(orders);
+    }
+
+    /**
+     * Find an order by id through the order index (O(1) lookup plus one record read)
+     * @return Order or null if not found
+     */
+    public Order findOrder(int orderId) {
+        long offset = orderIndex.offsetOf(orderId);
+        if (offset < 0) {
+            return null;
+        }
+        try {
+            byte[] payload = orderLog.readAt(offset);
+            return Codecs.forData(payload).decodeOrder(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read order " + orderId, e);
+        }
+    }
+
+    /**
+     * Callback receiving orders streamed by queryOrders
+     */
+    public interface OrderCallback {
+        void onOrder(Order order);
+    }
+
+    /**
+     * Stream orders matching a query, in placement order (oldest first for per-user queries and,
+     * unless the orders are cached, for time-windowed ones)
+     * Non-matching records are rejected from their header without decoding line items,
+     * and matching orders are handed to the callback one at a time
+     * Per-user and time-windowed queries read only the records inside the window, located
+     * through the order index
+     */
+    public void queryOrders(OrderQuery query, OrderCallback callback) {
+        try {
+            if (query.getUserEmail() != null) {
+                // Only touch this user's records in the window, found by binary search in the user index
+                int[] orderIds = orderIndex.idsForUserBetween(query.getUserEmail(),
+                        query.getFromMillis(), query.getToMillis());
+                for (int orderId : orderIds) {
+                    byte[] payload = orderLog.readAt(orderIndex.offsetOf(orderId));
+                    Order order = Codecs.forData(payload).decodeOrderIfMatches(payload, query);
+                    if (order != null) {
+                        callback.onOrder(order);
+                    }
                 }
+                return;
             }
+            List<Order> cached = ordersCache.peek();
+            if (cached != null) {
+                for (Order order : cached) {
+                    long timestamp = order.getTimestamp() != null ? order.getTimestamp().getTime() : Long.MIN_VALUE;
+                    if (query.accept(order.getUserEmail(), timestamp, order.getStatus())) {
+                        callback.onOrder(order);
+                    }
+                }
+                return;
+            }
+            if (query.getFromMillis() != Long.MIN_VALUE || query.getToMillis() != Long.MAX_VALUE) {
+                // Only touch records in the window, found by binary search in the time index
+                for (int orderId : orderIndex.idsBetween(query.getFromMillis(), query.getToMillis())) {
+                    byte[] payload = orderLog.readAt(orderIndex.offsetOf(orderId));
+                    Order order = Codecs.forData(payload).decodeOrderIfMatches(payload, query);
+                    if (order != null) {
+                        callback.onOrder(order);
+                    }
+                }
+                return;
+            }
+            orderLog.forEach((offset, payload) -> {
+                Order order = Codecs.forData(payload).decodeOrderIfMatches(payload, query);
+                if (order != null) {
+                    callback.onOrder(order);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read order log", e);
+        }
+    }
+
+    /**
+     * Check the order index against the order log
+     * @return Descriptions of every inconsistency found (empty if consistent)
+     */
+    public List<String> verifyOrderIndex() {
+        try {
+            return orderIndex.verify(orderLog, HEADER_READER);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to verify order index", e);
+        }
+    }
+
+    /**
+     * Rebuild the order index from the order log
+     */
+    public synchronized void rebuildOrderIndex() {
+        try {
+            orderIndex = OrderIndex.rebuild(orderIndex.getFile(), orderLog, HEADER_READER);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rebuild order index", e);
+        }
+    }
+
+    /**
+     * Move orders from the legacy KEY_ORDERS JSON string into the order log
+     * Resumes after an interrupted run (see LegacyOrderMigration); if an append fails this
+     * throws, and the legacy file is kept for the next start
+     */
+    private void migrateLegacyOrders(SharedPreferences legacy) {
+        String json = legacy.getString(Constants.KEY_ORDERS, null);
+        if (json == null) {
+            return;
+        }
+        Type type = new TypeToken<List<Order>>(){}.getType();
+        List<Order> legacyOrders = gson.fromJson(json, type);
+        if (legacyOrders != null) {
+            LegacyOrderMigration.migrate(legacyOrders, orderIndex, this::appendOrder);
         }
-        return orders;
+    }
+
+    /**
+     * Move a catalog saved under KEY_PRODUCTS by earlier builds into the ChunkedCatalogStore
+     * The keys are removed only once the file is written, so an interrupted move reruns
+     */
+    private void migrateLegacyCatalog(ChunkedCatalogStore catalogBase) {
+        SharedPreferences products = prefs(StoreDomain.PRODUCTS);
+        String value = products.getString(Constants.KEY_PRODUCTS, null);
+        if (value == null) {
+            return;
+        }
+        if (!catalogBase.exists()) {
+            byte[] data = fromPrefsString(value);
+            catalogBase.write(Codecs.forData(data).decodeProducts(data),
+                    products.getLong(Constants.KEY_CATALOG_VERSION, 0));
+        }
+        products.edit()
+                .remove(Constants.KEY_PRODUCTS)
+                .remove(Constants.KEY_CATALOG_VERSION)
+                .apply();
     }
 
     // ========== Products Management ==========
     /**
      * Save products list
+     * The search index is updated in the same catalogLock section as the save, so it never
+     * trails a later save or delta
      */
     public void saveProducts(List<Product> products) {
-        String json = gson.toJson(products);
-        prefs.edit().putString(Constants.KEY_PRODUCTS, json).apply();
+        synchronized (catalogLock) {
+            catalogState.save(products);
+            productsCache.put(Collections.unmodifiableList(new ArrayList<>(products)));
+            productRepository.onCatalogSaved(products);
+            catalogCache.invalidate();
+            synchronized (searchIndexLock) {
+                if (searchIndex != null) {
+                    searchIndex.update(products);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace the catalog with the products of a JSONL or CSV source (see CatalogImporter)
+     * The source is streamed in chunks; each chunk is written to the new catalog base and
+     * indexed for search as it arrives, so the import never holds the whole catalog. Once the
+     * source is done the new base is committed, the caches dropped (they reload from it) and
+     * the new index swapped in
+     * If no row is valid the saved catalog is left unchanged
+     * @return Import counts and rejected rows
+     * @throws IOException if reading the source fails (the saved catalog is left unchanged)
+     */
+    public CatalogImporter.Report importCatalog(Reader source, CatalogImporter.Format format) throws IOException {
+        SearchIndex index = new SearchIndex();
+        try (CatalogState.BaseWriter writer = catalogState.beginReplacement()) {
+            CatalogImporter.Report report = new CatalogImporter().importFrom(source, format, chunk -> {
+                writer.append(chunk);
+                index.upsert(chunk);
+            });
+            if (report.getImportedCount() == 0) {
+                return report;
+            }
+            synchronized (catalogLock) {
+                catalogState.commitReplacement(writer);
+                productsCache.invalidate();
+                productRepository.invalidate();
+                catalogCache.invalidate();
+                synchronized (searchIndexLock) {
+                    searchIndex = index;
+                }
+            }
+            return report;
+        }
+    }
+
+    // ========== Catalog Deltas ==========
+    /**
+     * Apply one catalog delta as a transaction
+     * CatalogState validates the delta and appends it to the delta log (only the touched rows
+     * are written); once that append is on disk the cached catalog, product repository and
+     * search index are updated for just the touched ids. If validation or the append fails
+     * nothing changes. Every CATALOG_DELTA_COMPACT_RECORDS deltas the catalog is saved whole
+     * @return true if applied, false if its version is not newer than the catalog's
+     * @throws IllegalArgumentException if the delta is invalid (see CatalogDelta.validate)
+     */
+    public boolean applyCatalogDelta(CatalogDelta delta) {
+        synchronized (catalogLock) {
+            List<Product> updated = catalogState.apply(delta, loadProducts());
+            if (updated == null) {
+                return false;
+            }
+            productsCache.put(Collections.unmodifiableList(updated));
+            synchronized (searchIndexLock) {
+                CatalogState.updateIndexes(delta, productRepository, searchIndex);
+            }
+            catalogCache.invalidate();
+            return true;
+        }
+    }
+
+    /**
+     * Apply the deltas in a feed directory (*.json files, one CatalogDelta each) that are newer
+     * than the catalog, in version order
+     * Each file is deleted once its delta is logged (or found to be already applied), so the
+     * next sync only reads new files
+     * Stops at the first unreadable or invalid delta, since later versions build on it
+     * @return Number of deltas applied
+     * @throws IllegalArgumentException naming the file of an invalid delta
+     */
+    public int syncCatalogDeltas(File feedDir) {
+        File[] files = feedDir.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null || files.length == 0) {
+            return 0;
+        }
+        List<CatalogDelta> deltas = new ArrayList<>();
+        for (File file : files) {
+            try (InputStream in = new FileInputStream(file)) {
+                deltas.add(CatalogDelta.read(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read catalog delta " + file.getName(), e);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(file.getName() + ": " + e.getMessage(), e);
+            }
+        }
+        Integer[] order = new Integer[deltas.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> deltas.get(i).getVersion()));
+
+        int applied = 0;
+        for (int i : order) {
+            try {
+                if (applyCatalogDelta(deltas.get(i))) {
+                    applied++;
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(files[i].getName() + ": " + e.getMessage(), e);
+            }
+            if (!files[i].delete()) {
+                throw new UncheckedIOException(new IOException("Failed to delete applied delta " + files[i].getName()));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Get version of the newest catalog delta applied (0 if none)
+     */
+    public long getCatalogFeedVersion() {
+        return catalogState.getVersion();
     }
 
     /**
      * Load products list
+     * @return Read-only cached list
      */
     public List<Product> loadProducts() {
-        String json = prefs.getString(Constants.KEY_PRODUCTS, null);
-        if (json == null) {
-            return new ArrayList<>();
+        return productsCache.get(this::decodeProducts);
+    }
+
+    /**
+     * Get the catalog search index, building it on first use
+     * Later saveProducts calls update it incrementally (only changed products are re-indexed)
+     */
+    public SearchIndex getSearchIndex() {
+        SearchIndex index = searchIndex;
+        if (index == null) {
+            // Under catalogLock too, so a save cannot land between the build and its publication
+            synchronized (catalogLock) {
+                synchronized (searchIndexLock) {
+                    index = searchIndex;
+                    if (index == null) {
+                        index = SearchIndex.build(loadProducts());
+                        searchIndex = index;
+                    }
+                }
+            }
         }
-        Type type = new TypeToken<List<Product>>(){}.getType();
-        return gson.fromJson(json, type);
+        return index;
+    }
+
+    /**
+     * Get the catalog as sortable, filterable columns, building it on first use after a save
+     */
+    public ColumnarCatalog getCatalog() {
+        return catalogCache.get(() -> ColumnarCatalog.build(loadProducts()));
+    }
+
+    /**
+     * Get the id-keyed product index every screen and manager resolves products through
+     */
+    public ProductRepository getProductRepository() {
+        return productRepository;
+    }
+
+    /**
+     * Find a catalog product by id
+     * @return Product or null if it is not in the catalog
+     */
+    public Product findProduct(int productId) {
+        return productRepository.get(productId);
+    }
+
+    /**
+     * Get catalog version, incremented whenever products are saved
+     */
+    public long getProductsVersion() {
+        return productsCache.getVersion();
+    }
+
+    private List<Product> decodeProducts() {
+        return Collections.unmodifiableList(catalogState.load());
     }
 
     // ========== Order ID Management ==========
     /**
      * Get next order ID and increment
+     * Never below the highest id in the order log: the counter is saved with apply() and can
+     * be lost if the app dies, while the order it was taken for is already synced to the log
      */
-    public int getNextOrderId() {
-        int lastId = prefs.getInt(Constants.KEY_LAST_ORDER_ID, 0);
+    public synchronized int getNextOrderId() {
+        int lastId = Math.max(prefs(StoreDomain.COUNTERS).getInt(Constants.KEY_LAST_ORDER_ID, 0),
+                orderIndex.getMaxOrderId());
         int nextId = lastId + 1;
-        prefs.edit().putInt(Constants.KEY_LAST_ORDER_ID, nextId).apply();
+        prefs(StoreDomain.COUNTERS).edit().putInt(Constants.KEY_LAST_ORDER_ID, nextId).apply();
         return nextId;
     }
+
+    // ========== Codec Selection ==========
+    /**
+     * Select the codec used for new writes of the catalog, cart and orders
+     * Reads detect the codec from the stored data, so switching needs no migration
+     * @param codec Codecs.JSON (readable, for debugging) or Codecs.BINARY (compact)
+     */
+    public void setCodec(DataCodec codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Binary payloads are Base64-encoded since SharedPreferences only stores strings
+     */
+    private static String toPrefsString(byte[] data) {
+        if (BinaryCodec.isBinary(data)) {
+            return Base64.getEncoder().encodeToString(data);
+        }
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] fromPrefsString(String value) {
+        // JSON values start with '[' or '{', neither of which is in the Base64 alphabet
+        char first = value.isEmpty() ? '[' : value.charAt(0);
+        if (first == '[' || first == '{') {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+        return Base64.getDecoder().decode(value);
+    }
+
+    // ========== Cache Statistics ==========
+    /**
+     * Get number of reads served from the users/orders/products caches
+     */
+    public long getCacheHits() {
+        return usersCache.getHits() + ordersCache.getHits() + productsCache.getHits();
+    }
+
+    /**
+     * Get number of reads that had to decode from storage
+     */
+    public long getCacheMisses() {
+        return usersCache.getMisses() + ordersCache.getMisses() + productsCache.getMisses();
+    }
+
+    // ========== Storage Layout ==========
+    /**
+     * Get the SharedPreferences file backing a domain
+     */
+    private SharedPreferences prefs(StoreDomain domain) {
+        return stores.get(domain);
+    }
+
+    /**
+     * Split the legacy combined PREFS_NAME file into per-domain files (one-time)
+     * Values are committed to their new files before the legacy file is deleted,
+     * so an interrupted migration simply runs again on next launch
+     */
+    private void migrateLegacyPrefs(Context context) {
+        SharedPreferences legacy = context.getSharedPreferences(Constants.PREFS_NAME, Context.MODE_PRIVATE);
+        Map<String, ?> legacyValues = legacy.getAll();
+        if (legacyValues.isEmpty()) {
+            return;
+        }
+
+        // Throws if interrupted; the legacy file is only cleared once every order is in the log
+        migrateLegacyOrders(legacy);
+
+        Map<StoreDomain, SharedPreferences.Editor> editors = new EnumMap<>(StoreDomain.class);
+        for (Map.Entry<String, ?> entry : legacyValues.entrySet()) {
+            StoreDomain domain = StoreDomain.forKey(entry.getKey());
+            if (domain == null) {
+                continue;
+            }
+            SharedPreferences.Editor editor = editors.get(domain);
+            if (editor == null) {
+                editor = prefs(domain).edit();
+                editors.put(domain, editor);
+            }
+            Object value = entry.getValue();
+            if (value instanceof String) {
+                editor.putString(entry.getKey(), (String) value);
+            } else if (value instanceof Integer) {
+                editor.putInt(entry.getKey(), (Integer) value);
+            }
+        }
+        for (SharedPreferences.Editor editor : editors.values()) {
+            editor.commit();
+        }
+
+        legacy.edit().clear().commit();
+        context.deleteSharedPreferences(Constants.PREFS_NAME);
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.ecommerceapp.data;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * KeyedSerialExecutor class running tasks for the same key one at a time, in submission order
+ * Tasks for different keys run concurrently on the backing executor
+ * Used by AsyncDataStore so a read of a key always sees earlier writes to that key
+ */
+public class KeyedSerialExecutor {
+    private final Executor executor;
+    private final Map<Object, ArrayDeque<Runnable>> queues = new HashMap<>();
+
+    public KeyedSerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Queue a task behind every earlier task submitted for the same key
+     */
+    public void execute(Object key, Runnable task) {
+        synchronized (queues) {
+            ArrayDeque<Runnable> queue = queues.get(key);
+            if (queue != null) {
+                // A task for this key is running; it will start this one when done
+                queue.add(task);
+                return;
+            }
+            queues.put(key, new ArrayDeque<>());
+        }
+        executor.execute(() -> runChain(key, task));
+    }
+
+    /**
+     * Get number of keys with a running or queued task
+     */
+    public int activeKeys() {
+        synchronized (queues) {
+            return queues.size();
+        }
+    }
+
+    private void runChain(Object key, Runnable first) {
+        try {
+            first.run();
+        } finally {
+            scheduleNext(key);
+        }
+    }
+
+    private void scheduleNext(Object key) {
+        Runnable next;
+        synchronized (queues) {
+            ArrayDeque<Runnable> queue = queues.get(key);
+            next = queue.poll();
+            if (next == null) {
+                queues.remove(key);
+                return;
+            }
+        }
+        // Resubmit rather than loop so one busy key cannot monopolize a pool thread
+        Runnable task = next;
+        executor.execute(() -> runChain(key, task));
+    }
+}
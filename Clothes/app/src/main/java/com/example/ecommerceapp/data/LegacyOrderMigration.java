@@ -0,0 +1,39 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.Order;
+
+import java.util.List;
+
+/**
+ * LegacyOrderMigration class moving orders from the legacy KEY_ORDERS JSON list into the order log
+ * Resumable: an order whose id is already indexed was appended by an earlier, interrupted run
+ * and is skipped, so running it again after a crash appends only the rest
+ */
+final class LegacyOrderMigration {
+    /**
+     * Appends one order to the log and the index
+     */
+    interface Appender {
+        void append(Order order);
+    }
+
+    private LegacyOrderMigration() {
+    }
+
+    /**
+     * Append every legacy order that is not in the index yet
+     * Throws whatever the appender throws; the caller must keep the legacy orders until this returns
+     * @return Number of orders appended
+     */
+    static int migrate(List<Order> legacyOrders, OrderIndex index, Appender appender) {
+        int appended = 0;
+        for (Order order : legacyOrders) {
+            if (index.offsetOf(order.getId()) >= 0) {
+                continue;
+            }
+            appender.append(order);
+            appended++;
+        }
+        return appended;
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.data.codec.OrderHeader;
+import com.example.ecommerceapp.utils.IntLongHashMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OrderIndex class with secondary indexes over the OrderLog
+ * - id -> record offset (O(1) getOrderById)
+ * - userEmail -> that user's (timestamp, id) pairs sorted by timestamp
+ * - timestamp-sorted (timestamp, id) pairs over all orders
+ * Time windows [from, to) are answered with two binary searches and one array copy
+ * Persisted as an append-only journal of (id, offset, timestamp, userEmail) entries,
+ * maintained incrementally on every append and rebuilt from the log when out of date
+ */
+public class OrderIndex {
+    static final int MAGIC = 0x4F494458; // "OIDX"
+    static final int VERSION = 1;
+
+    /**
+     * Decodes the header fields of a log record
+     */
+    public interface HeaderReader {
+        OrderHeader read(byte[] payload);
+    }
+
+    private final File file;
+    private final IntLongHashMap offsetsById = new IntLongHashMap();
+    private final Map<String, TimeSeries> byUser = new HashMap<>();
+    private final TimeSeries byTime = new TimeSeries();
+    private long lastOffset = -1;
+    private int maxOrderId;
+    // Set when a journal write failed; the journal is deleted and rebuilt on the next open
+    private boolean journalStale;
+
+    private OrderIndex(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Load the index journal, rebuilding it from the log if it is missing or out of date
+     * @param file Journal file
+     * @param log Primary order data
+     * @param reader Header decoder for log records
+     */
+    public static OrderIndex open(File file, OrderLog log, HeaderReader reader) throws IOException {
+        OrderIndex index = new OrderIndex(file);
+        if (index.load() && index.size() == log.size()
+                && (index.size() == 0 || index.lastOffset < log.getEndOffset())) {
+            return index;
+        }
+        return rebuild(file, log, reader);
+    }
+
+    /**
+     * Rebuild the index from the order log and rewrite its journal
+     */
+    public static OrderIndex rebuild(File file, OrderLog log, HeaderReader reader) throws IOException {
+        OrderIndex index = new OrderIndex(file);
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            IOException[] failure = new IOException[1];
+            log.forEach((offset, payload) -> {
+                OrderHeader header = reader.read(payload);
+                index.put(header.getId(), header.getUserEmail(), header.getTimestamp(), offset);
+                if (failure[0] == null) {
+                    try {
+                        writeEntry(out, header.getId(), offset, header.getTimestamp(), header.getUserEmail());
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            out.flush();
+            fos.getFD().sync();
+        }
+        if (!tmp.renameTo(file)) {
+            throw new IOException("Failed to replace " + file);
+        }
+        return index;
+    }
+
+    /**
+     * Index a newly appended order and journal the entry
+     * The order is already safe in the log, so a failed journal write is not an error: the
+     * journal is deleted (later entries are not journaled) and open() rebuilds it from the log
+     */
+    public synchronized void add(int orderId, String userEmail, long timestamp, long offset) {
+        put(orderId, userEmail, timestamp, offset);
+        if (journalStale) {
+            return;
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            writeEntry(out, orderId, offset, timestamp, userEmail);
+        } catch (IOException e) {
+            journalStale = true;
+            file.delete();
+        }
+    }
+
+    /**
+     * Check whether a journal write failed since the index was opened
+     */
+    public synchronized boolean isJournalStale() {
+        return journalStale;
+    }
+
+    /**
+     * Get log offset of an order
+     * @return Offset or -1 if the id is not indexed
+     */
+    public synchronized long offsetOf(int orderId) {
+        return offsetsById.get(orderId, -1);
+    }
+
+    /**
+     * Get ids of a user's orders placed in [fromMillis, toMillis), oldest first
+     */
+    public synchronized int[] idsForUserBetween(String userEmail, long fromMillis, long toMillis) {
+        TimeSeries series = byUser.get(userEmail);
+        return series != null ? series.between(fromMillis, toMillis) : new int[0];
+    }
+
+    /**
+     * Get ids of all orders placed in [fromMillis, toMillis), oldest first
+     */
+    public synchronized int[] idsBetween(long fromMillis, long toMillis) {
+        return byTime.between(fromMillis, toMillis);
+    }
+
+    /**
+     * Get highest indexed order id (0 if none)
+     */
+    public synchronized int getMaxOrderId() {
+        return maxOrderId;
+    }
+
+    public synchronized int size() {
+        return byTime.size;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Check the index against the primary data
+     * @return Descriptions of every inconsistency found (empty if consistent)
+     */
+    public synchronized List<String> verify(OrderLog log, HeaderReader reader) throws IOException {
+        List<String> problems = new ArrayList<>();
+        IntLongHashMap seen = new IntLongHashMap();
+        Map<String, Integer> expectedByUser = new HashMap<>();
+        log.forEach((offset, payload) -> {
+            OrderHeader header = reader.read(payload);
+            seen.put(header.getId(), offset);
+            Integer count = expectedByUser.get(header.getUserEmail());
+            expectedByUser.put(header.getUserEmail(), count != null ? count + 1 : 1);
+            long indexed = offsetsById.get(header.getId(), -1);
+            if (indexed < 0) {
+                problems.add("Order " + header.getId() + " at offset " + offset + " is not indexed");
+            } else if (indexed != offset) {
+                problems.add("Order " + header.getId() + " indexed at " + indexed + " but stored at " + offset);
+            }
+        });
+        offsetsById.forEach((id, offset) -> {
+            if (!seen.containsKey(id)) {
+                problems.add("Indexed order " + id + " is not in the log");
+            }
+        });
+        if (!expectedByUser.keySet().equals(byUser.keySet())) {
+            problems.add("User index does not match the log");
+        }
+        for (Map.Entry<String, TimeSeries> entry : byUser.entrySet()) {
+            Integer expected = expectedByUser.get(entry.getKey());
+            if (expected != null && expected != entry.getValue().size) {
+                problems.add("User index has " + entry.getValue().size + " orders for " + entry.getKey()
+                        + " but the log has " + expected);
+            }
+            if (!entry.getValue().isSorted()) {
+                problems.add("User index for " + entry.getKey() + " is not sorted");
+            }
+        }
+        if (byTime.size != offsetsById.size()) {
+            problems.add("Time index has " + byTime.size + " entries but id index has " + offsetsById.size());
+        }
+        if (!byTime.isSorted()) {
+            problems.add("Time index is not sorted");
+        }
+        return problems;
+    }
+
+    private void put(int orderId, String userEmail, long timestamp, long offset) {
+        offsetsById.put(orderId, offset);
+        TimeSeries series = byUser.get(userEmail);
+        if (series == null) {
+            series = new TimeSeries();
+            byUser.put(userEmail, series);
+        }
+        series.insert(timestamp, orderId);
+        byTime.insert(timestamp, orderId);
+        lastOffset = Math.max(lastOffset, offset);
+        maxOrderId = Math.max(maxOrderId, orderId);
+    }
+
+    /**
+     * Replay the journal
+     * @return false if the journal is missing or unreadable
+     */
+    private boolean load() {
+        if (!file.exists()) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return false;
+            }
+            while (true) {
+                int id;
+                try {
+                    id = in.readInt();
+                } catch (EOFException e) {
+                    return true;
+                }
+                long offset = in.readLong();
+                long timestamp = in.readLong();
+                String userEmail = in.readBoolean() ? in.readUTF() : null;
+                put(id, userEmail, timestamp, offset);
+            }
+        } catch (IOException e) {
+            // Torn or corrupt journal; caller rebuilds from the log
+            return false;
+        }
+    }
+
+    private static void writeEntry(DataOutputStream out, int id, long offset, long timestamp,
+                                   String userEmail) throws IOException {
+        out.writeInt(id);
+        out.writeLong(offset);
+        out.writeLong(timestamp);
+        out.writeBoolean(userEmail != null);
+        if (userEmail != null) {
+            out.writeUTF(userEmail);
+        }
+    }
+
+    /**
+     * Parallel (timestamp, id) arrays kept sorted by timestamp; ties keep insertion order
+     */
+    static final class TimeSeries {
+        long[] timestamps = new long[8];
+        int[] ids = new int[8];
+        int size;
+
+        void insert(long timestamp, int id) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            // Orders normally arrive in time order, so this is an append; otherwise shift to keep sorted
+            int position = size == 0 || timestamps[size - 1] <= timestamp
+                    ? size
+                    : upperBound(timestamps, size, timestamp);
+            System.arraycopy(timestamps, position, timestamps, position + 1, size - position);
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            timestamps[position] = timestamp;
+            ids[position] = id;
+            size++;
+        }
+
+        int[] between(long fromMillis, long toMillis) {
+            int start = lowerBound(timestamps, size, fromMillis);
+            int end = lowerBound(timestamps, size, toMillis);
+            return Arrays.copyOfRange(ids, start, Math.max(start, end));
+        }
+
+        boolean isSorted() {
+            for (int i = 1; i < size; i++) {
+                if (timestamps[i - 1] > timestamps[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * First index whose value is >= key
+     */
+    static int lowerBound(long[] values, int length, long key) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index whose value is > key
+     */
+    static int upperBound(long[] values, int length, long key) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
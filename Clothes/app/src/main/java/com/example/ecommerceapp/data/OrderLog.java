@@ -0,0 +1,211 @@
+package com.example.ecommerceapp.data;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * OrderLog class for append-only order persistence
+ * File layout: [int magic][int version] followed by records of
+ * [int payload length][int crc32 of payload][payload bytes]
+ * A torn tail record (e.g. app killed mid-append) is truncated when the log is opened
+ */
+public class OrderLog {
+    static final int MAGIC = 0x4F4C4F47; // "OLOG"
+    static final int VERSION = 1;
+    static final int FILE_HEADER_SIZE = 8;
+    static final int RECORD_HEADER_SIZE = 8;
+    static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Callback for streaming records out of the log
+     */
+    public interface RecordVisitor {
+        /**
+         * @param offset File offset of the record header
+         * @param payload Record payload
+         */
+        void visit(long offset, byte[] payload);
+    }
+
+    private final File file;
+    private long endOffset;
+    private int recordCount;
+
+    /**
+     * Open (or create) the log and recover from a torn tail record if needed
+     * @param file Backing file
+     */
+    public OrderLog(File file) throws IOException {
+        this.file = file;
+        open();
+    }
+
+    /**
+     * Append one record in O(1) and sync it to disk
+     * @param payload Serialized record
+     * @return File offset of the appended record
+     */
+    public synchronized long append(byte[] payload) throws IOException {
+        if (payload.length > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Record too large: " + payload.length);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        record.putInt(payload.length);
+        record.putInt((int) crc.getValue());
+        record.put(payload);
+
+        long offset = endOffset;
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(record.array());
+            out.getFD().sync();
+        }
+        endOffset += record.capacity();
+        recordCount++;
+        return offset;
+    }
+
+    /**
+     * Stream every record in append order without holding the whole log in memory
+     */
+    public synchronized void forEach(RecordVisitor visitor) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            in.readInt();
+            in.readInt();
+            long offset = FILE_HEADER_SIZE;
+            while (offset < endOffset) {
+                int length = in.readInt();
+                in.readInt();
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                visitor.visit(offset, payload);
+                offset += RECORD_HEADER_SIZE + length;
+            }
+        }
+    }
+
+    /**
+     * Read the record starting at a file offset (as returned by append/forEach)
+     * @throws IOException if the offset does not point at a valid record
+     */
+    public synchronized byte[] readAt(long offset) throws IOException {
+        if (offset < FILE_HEADER_SIZE || offset + RECORD_HEADER_SIZE > endOffset) {
+            throw new IOException("Offset out of range: " + offset);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(offset);
+            int length = raf.readInt();
+            int storedCrc = raf.readInt();
+            if (length < 0 || offset + RECORD_HEADER_SIZE + length > endOffset) {
+                throw new IOException("Bad record length at offset " + offset);
+            }
+            byte[] payload = new byte[length];
+            raf.readFully(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload, 0, payload.length);
+            if ((int) crc.getValue() != storedCrc) {
+                throw new IOException("Checksum mismatch at offset " + offset);
+            }
+            return payload;
+        }
+    }
+
+    /**
+     * Get number of valid records in the log
+     */
+    public synchronized int size() {
+        return recordCount;
+    }
+
+    /**
+     * Get file offset just past the last valid record
+     */
+    public synchronized long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Validate the file header and every record, truncating at the first bad record
+     */
+    private void open() throws IOException {
+        if (!file.exists() || file.length() < FILE_HEADER_SIZE) {
+            writeHeader();
+            return;
+        }
+
+        long validEnd;
+        int validCount = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an order log: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported order log version " + version);
+            }
+            validEnd = FILE_HEADER_SIZE;
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload;
+                int storedCrc;
+                try {
+                    int length = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_SIZE) {
+                        break;
+                    }
+                    storedCrc = in.readInt();
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload, 0, payload.length);
+                if ((int) crc.getValue() != storedCrc) {
+                    break;
+                }
+                validEnd += RECORD_HEADER_SIZE + payload.length;
+                validCount++;
+            }
+        }
+
+        if (validEnd < file.length()) {
+            // Drop the torn tail so the next append starts on a record boundary
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(validEnd);
+                raf.getFD().sync();
+            }
+        }
+        endOffset = validEnd;
+        recordCount = validCount;
+    }
+
+    private void writeHeader() throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        try (FileOutputStream fos = new FileOutputStream(file, false);
+             DataOutputStream out = new DataOutputStream(fos)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.flush();
+            fos.getFD().sync();
+        }
+        endOffset = FILE_HEADER_SIZE;
+        recordCount = 0;
+    }
+}
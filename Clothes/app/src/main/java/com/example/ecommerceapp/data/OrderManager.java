@@ -3,11 +3,15 @@ package com.example.ecommerceapp.data;
 import android.content.Context;
 
 import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Money;
 import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.utils.Constants;
 import com.example.ecommerceapp.utils.DateUtils;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * OrderManager class for managing orders
@@ -16,9 +20,11 @@ import java.util.List;
 public class OrderManager {
     private static OrderManager instance;
     private DataStore dataStore;
+    private AsyncDataStore asyncDataStore;
 
     private OrderManager(Context context) {
         dataStore = DataStore.getInstance(context);
+        asyncDataStore = AsyncDataStore.getInstance(context);
     }
 
     public static synchronized OrderManager getInstance(Context context) {
@@ -41,32 +47,36 @@ public class OrderManager {
     public Order createOrder(String userEmail, List<CartItem> items, 
                              String fullName, String address, String phone, String email) {
         int orderId = dataStore.getNextOrderId();
-        double total = calculateTotal(items);
+        Money total = calculateTotal(items);
         
         Order order = new Order(orderId, userEmail, items, total, 
                                fullName, address, phone, email);
         
-        // Save order
-        List<Order> orders = dataStore.loadOrders();
-        orders.add(order);
-        dataStore.saveOrders(orders);
+        // Append order to the order log
+        dataStore.appendOrder(order);
         
         return order;
     }
 
+    /**
+     * Create an order on the I/O executor
+     * @return Future completed on the main thread with the created order
+     */
+    public CompletableFuture<Order> createOrderAsync(String userEmail, List<CartItem> items,
+                                                     String fullName, String address, String phone, String email) {
+        List<CartItem> snapshot = new ArrayList<>(items);
+        return asyncDataStore.submit(Constants.KEY_ORDERS,
+                () -> createOrder(userEmail, snapshot, fullName, address, phone, email));
+    }
+
     /**
      * Get all orders for a user
      * @param userEmail User email
      * @return List of orders
      */
     public List<Order> getUserOrders(String userEmail) {
-        List<Order> allOrders = dataStore.loadOrders();
         List<Order> userOrders = new ArrayList<>();
-        for (Order order : allOrders) {
-            if (order.getUserEmail().equals(userEmail)) {
-                userOrders.add(order);
-            }
-        }
+        dataStore.queryOrders(OrderQuery.forUser(userEmail), userOrders::add);
         return userOrders;
     }
 
@@ -76,15 +86,31 @@ public class OrderManager {
      * @return List of orders from last 6 months
      */
     public List<Order> getUserOrdersLast6Months(String userEmail) {
-        List<Order> userOrders = getUserOrders(userEmail);
         List<Order> filteredOrders = new ArrayList<>();
-        
-        for (Order order : userOrders) {
-            if (DateUtils.isWithinLast6Months(order.getTimestamp())) {
-                filteredOrders.add(order);
-            }
-        }
-        
+        // Cutoff is computed once; the index binary-searches to the first order in the window
+        OrderQuery query = OrderQuery.forUser(userEmail).since(DateUtils.getSixMonthsAgo());
+        dataStore.queryOrders(query, filteredOrders::add);
+        return filteredOrders;
+    }
+
+    /**
+     * Get orders for a user within last 6 months on the I/O executor
+     * @return Future completed on the main thread
+     */
+    public CompletableFuture<List<Order>> getUserOrdersLast6MonthsAsync(String userEmail) {
+        return asyncDataStore.queryOrders(OrderQuery.forUser(userEmail).since(DateUtils.getSixMonthsAgo()));
+    }
+
+    /**
+     * Get orders for a user placed in [from, to)
+     * @param userEmail User email
+     * @param from Start of the window (inclusive)
+     * @param to End of the window (exclusive)
+     * @return List of orders, oldest first
+     */
+    public List<Order> getUserOrdersBetween(String userEmail, Date from, Date to) {
+        List<Order> filteredOrders = new ArrayList<>();
+        dataStore.queryOrders(OrderQuery.forUser(userEmail).since(from).until(to), filteredOrders::add);
         return filteredOrders;
     }
 
@@ -94,23 +120,17 @@ public class OrderManager {
      * @return Order or null if not found
      */
     public Order getOrderById(int orderId) {
-        List<Order> orders = dataStore.loadOrders();
-        for (Order order : orders) {
-            if (order.getId() == orderId) {
-                return order;
-            }
-        }
-        return null;
+        return dataStore.findOrder(orderId);
     }
 
     /**
      * Calculate total price from cart items
      */
-    private double calculateTotal(List<CartItem> items) {
-        double total = 0.0;
+    private Money calculateTotal(List<CartItem> items) {
+        long totalCents = 0;
         for (CartItem item : items) {
-            total += item.getTotalPrice();
+            totalCents += item.getTotalCents();
         }
-        return total;
+        return Money.ofCents(totalCents);
     }
 }
@@ -0,0 +1,84 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.data.codec.DataCodec;
+
+import java.util.Date;
+
+/**
+ * OrderQuery class describing which orders to stream out of the order log
+ * Filters on user email, time range [from, to) and status; unset criteria match everything
+ * Codecs evaluate it against the record header so non-matching orders are never fully decoded
+ */
+public class OrderQuery implements DataCodec.HeaderFilter {
+    private String userEmail;
+    private long fromMillis = Long.MIN_VALUE;
+    private long toMillis = Long.MAX_VALUE;
+    private String status;
+
+    /**
+     * Query matching every order
+     */
+    public static OrderQuery all() {
+        return new OrderQuery();
+    }
+
+    /**
+     * Query matching orders placed by one user
+     */
+    public static OrderQuery forUser(String userEmail) {
+        OrderQuery query = new OrderQuery();
+        query.userEmail = userEmail;
+        return query;
+    }
+
+    /**
+     * Only match orders placed at or after the given date
+     */
+    public OrderQuery since(Date from) {
+        this.fromMillis = from.getTime();
+        return this;
+    }
+
+    /**
+     * Only match orders placed before the given date
+     */
+    public OrderQuery until(Date to) {
+        this.toMillis = to.getTime();
+        return this;
+    }
+
+    /**
+     * Only match orders with the given status (case-insensitive)
+     */
+    public OrderQuery withStatus(String status) {
+        this.status = status;
+        return this;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public long getFromMillis() {
+        return fromMillis;
+    }
+
+    public long getToMillis() {
+        return toMillis;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean accept(String orderUserEmail, long timestamp, String orderStatus) {
+        if (userEmail != null && !userEmail.equals(orderUserEmail)) {
+            return false;
+        }
+        if (timestamp < fromMillis || timestamp >= toMillis) {
+            return false;
+        }
+        return status == null || status.equalsIgnoreCase(orderStatus);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.utils.IntObjectHashMap;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * ProductRepository class owning the one id -> Product index of the catalog
+ * - get(id) and getAll(ids) are O(1) per id on an IntObjectHashMap (no boxed keys)
+ * - The index is built from the catalog on first use and replaced when the catalog is saved,
+ *   so every screen sees the same Product instances as the saved list
+ * - A catalog delta updates a copy of the index for just the touched ids
+ * Lookups read a published index without locking; builds and replacements serialize on a lock
+ * Also serves as the CartItem.ProductResolver for cart and order lines
+ */
+public class ProductRepository implements CartItem.ProductResolver {
+    private final Supplier<List<Product>> catalog;
+    private final Object lock = new Object();
+    // Never modified after publication
+    private volatile IntObjectHashMap<Product> index;
+
+    /**
+     * @param catalog Loads the saved catalog (called at most once per catalog save)
+     */
+    public ProductRepository(Supplier<List<Product>> catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Get a catalog product by id
+     * @return Product or null if it is not in the catalog
+     */
+    public Product get(int productId) {
+        return index().get(productId);
+    }
+
+    /**
+     * Get several catalog products with one index read
+     * @return Products in the order of ids, with null where an id is not in the catalog
+     */
+    public Product[] getAll(int[] productIds) {
+        IntObjectHashMap<Product> current = index();
+        Product[] products = new Product[productIds.length];
+        for (int i = 0; i < productIds.length; i++) {
+            products[i] = current.get(productIds[i]);
+        }
+        return products;
+    }
+
+    public boolean contains(int productId) {
+        return index().containsKey(productId);
+    }
+
+    /**
+     * Get number of products in the catalog
+     */
+    public int size() {
+        return index().size();
+    }
+
+    @Override
+    public Product resolve(int productId) {
+        return get(productId);
+    }
+
+    /**
+     * Replace the index after the catalog was saved
+     */
+    public void onCatalogSaved(List<Product> products) {
+        IntObjectHashMap<Product> rebuilt = build(products);
+        synchronized (lock) {
+            index = rebuilt;
+        }
+    }
+
+    /**
+     * Apply a catalog delta after it was saved
+     * The published index is copied and only the upserted and deleted ids change; if no index
+     * is built yet, the next lookup builds it from the updated catalog
+     */
+    public void onDeltaApplied(List<Product> upserts, int[] deletes) {
+        synchronized (lock) {
+            if (index == null) {
+                return;
+            }
+            IntObjectHashMap<Product> updated = new IntObjectHashMap<>(index);
+            for (int productId : deletes) {
+                updated.remove(productId);
+            }
+            for (Product product : upserts) {
+                updated.put(product.getId(), product);
+            }
+            index = updated;
+        }
+    }
+
+    /**
+     * Drop the index so the next lookup rebuilds it from the catalog
+     */
+    public void invalidate() {
+        synchronized (lock) {
+            index = null;
+        }
+    }
+
+    private IntObjectHashMap<Product> index() {
+        IntObjectHashMap<Product> current = index;
+        if (current == null) {
+            synchronized (lock) {
+                current = index;
+                if (current == null) {
+                    current = build(catalog.get());
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static IntObjectHashMap<Product> build(List<Product> products) {
+        IntObjectHashMap<Product> built = new IntObjectHashMap<>(products.size());
+        for (Product product : products) {
+            built.put(product.getId(), product);
+        }
+        return built;
+    }
+}
@@ -1,36 +1,102 @@
 package com.example.ecommerceapp.data;
 
 import android.content.Context;
+import android.util.Log;
 
 import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.utils.Constants;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * SeedData class for initializing products
- * Creates exact 6 products as specified in requirements
+ * On first launch the catalog is imported (see CatalogImporter) from the first source that
+ * yields any valid product:
+ * - a side-loaded catalog.jsonl or catalog.csv in the app's files directory
+ * - the bundled assets/catalog.jsonl
+ * - the built-in 6 products below
+ * Then any catalog deltas in the feed directory newer than the catalog are applied
+ * (see DataStore.syncCatalogDeltas)
  */
 public class SeedData {
+    private static final String TAG = "SeedData";
+
     /**
-     * Initialize products if they don't exist
+     * Initialize products if they don't exist, then apply pending catalog deltas
+     * Runs on the I/O executor, ahead of any later product reads
      * @param context Application context
      */
     public static void initializeProducts(Context context) {
+        Context appContext = context.getApplicationContext();
+        AsyncDataStore.getInstance(appContext).submit(Constants.KEY_PRODUCTS, () -> {
+            seedIfEmpty(appContext);
+            try {
+                DataStore.getInstance(appContext).syncCatalogDeltas(
+                        new File(appContext.getFilesDir(), Constants.CATALOG_DELTA_DIR));
+            } catch (IllegalArgumentException | UncheckedIOException e) {
+                // Deltas applied so far are kept; the rest wait for a fixed feed
+                Log.w(TAG, "Catalog delta sync stopped", e);
+            }
+            return null;
+        });
+    }
+
+    static void seedIfEmpty(Context context) {
         DataStore dataStore = DataStore.getInstance(context);
         List<Product> existingProducts = dataStore.loadProducts();
-        
+
         // Only seed if products don't exist
-        if (existingProducts == null || existingProducts.isEmpty()) {
-            List<Product> products = createProductList();
-            dataStore.saveProducts(products);
+        if (existingProducts != null && !existingProducts.isEmpty()) {
+            return;
+        }
+        File filesDir = context.getFilesDir();
+        File[] sideLoaded = {
+                new File(filesDir, Constants.CATALOG_IMPORT_JSONL_FILE),
+                new File(filesDir, Constants.CATALOG_IMPORT_CSV_FILE)
+        };
+        for (File file : sideLoaded) {
+            if (file.isFile()) {
+                try (InputStream in = new FileInputStream(file)) {
+                    if (importFrom(dataStore, in, CatalogImporter.Format.forFileName(file.getName()))) {
+                        return;
+                    }
+                } catch (IOException | IllegalArgumentException e) {
+                    // Unreadable side-loaded catalog: fall back to the bundled one
+                }
+            }
         }
+        try (InputStream in = context.getAssets().open(Constants.CATALOG_ASSET)) {
+            if (importFrom(dataStore, in, CatalogImporter.Format.JSONL)) {
+                return;
+            }
+        } catch (IOException e) {
+            // No bundled catalog: use the built-in products
+        }
+        dataStore.saveProducts(createProductList());
+    }
+
+    /**
+     * @return true if at least one product was imported
+     */
+    private static boolean importFrom(DataStore dataStore, InputStream in, CatalogImporter.Format format)
+            throws IOException {
+        Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        return dataStore.importCatalog(reader, format).getImportedCount() > 0;
     }
 
     /**
-     * Create list of exact 6 products as specified
+     * Create list of exact 6 products as specified (same as the bundled catalog.jsonl)
      */
-    private static List<Product> createProductList() {
+    static List<Product> createProductList() {
         List<Product> products = new ArrayList<>();
 
         products.add(new Product(1, "Premium Wireless Headphones", 129.99, 4.5, 124,
@@ -0,0 +1,287 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.Cart;
+import com.example.ecommerceapp.models.CartChange;
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.CartSnapshot;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Product;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SharedCart class making the cart safe to use from the UI and background workers at once
+ * - Readers get the latest published CartSnapshot from a volatile field, without locking
+ * - Writers serialize on a single lock, change the working Cart and publish a new snapshot
+ * Publishing copies the line references (O(lines)); lookups and totals stay O(1)
+ * Every publish reports the changed lines to an optional Listener, in write order
+ */
+public class SharedCart {
+    /**
+     * Receives each published change; runs on the writing thread while the write lock is
+     * held, so it must only hand the change off (e.g. post it to a Handler)
+     */
+    public interface Listener {
+        void onPublished(CartSnapshot previous, CartSnapshot current, List<CartChange> changes);
+    }
+
+    private final Object writeLock = new Object();
+    private final Cart cart;
+    private volatile CartSnapshot snapshot;
+    private volatile Listener listener;
+    private final List<CartChange> pending = new ArrayList<>();
+
+    public SharedCart() {
+        this(new Cart());
+    }
+
+    public SharedCart(Cart cart) {
+        this(cart, 0);
+    }
+
+    /**
+     * @param version Version of the first snapshot, e.g. to continue the numbering of a cart
+     *                this one replaces so listeners can keep ordering snapshots by version
+     */
+    public SharedCart(Cart cart, long version) {
+        this.cart = cart;
+        this.snapshot = new CartSnapshot(cart.getItems(), cart.getSubtotalCents(), cart.getTotalQuantity(), version);
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Get the latest consistent cart state (lock-free)
+     */
+    public CartSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Add quantity of a product, creating the line if needed
+     * @return true if the cart changed
+     */
+    public boolean add(Product product, int quantity) {
+        synchronized (writeLock) {
+            if (quantity <= 0) {
+                return false;
+            }
+            CartItem before = cart.get(product.getId());
+            cart.add(product, quantity);
+            record(product.getId(), before);
+            publish();
+            return true;
+        }
+    }
+
+    /**
+     * Set quantity of a line (0 or less removes it)
+     * @return true if the cart changed
+     */
+    public boolean setQuantity(int productId, int quantity) {
+        synchronized (writeLock) {
+            CartItem item = cart.get(productId);
+            if (item == null || item.getQuantity() == quantity) {
+                return false;
+            }
+            cart.setQuantity(productId, quantity);
+            record(productId, item);
+            publish();
+            return true;
+        }
+    }
+
+    /**
+     * Remove a line
+     * @return true if the cart changed
+     */
+    public boolean remove(int productId) {
+        synchronized (writeLock) {
+            CartItem removed = cart.remove(productId);
+            if (removed == null) {
+                return false;
+            }
+            record(productId, removed);
+            publish();
+            return true;
+        }
+    }
+
+    /**
+     * Add saved lines to the cart, summing quantities of lines already present
+     * @return true if the cart changed
+     */
+    public boolean merge(List<CartItem> items) {
+        synchronized (writeLock) {
+            boolean changed = false;
+            for (CartItem item : items) {
+                if (item.getQuantity() > 0) {
+                    CartItem before = cart.get(item.getProductId());
+                    cart.add(item);
+                    record(item.getProductId(), before);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                publish();
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * Update every line's unit price to the catalog's current price
+     * @param catalog Product lookup; lines whose product is missing keep their price
+     * @return true if any price changed
+     */
+    public boolean reprice(CartItem.ProductResolver catalog) {
+        synchronized (writeLock) {
+            boolean changed = false;
+            for (CartItem item : cart.getItems()) {
+                Product product = catalog.resolve(item.getProductId());
+                if (product == null) {
+                    continue;
+                }
+                Money price = product.getPrice();
+                if (!price.equals(item.getUnitPrice())) {
+                    cart.setUnitPrice(item.getProductId(), price);
+                    record(item.getProductId(), item);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                publish();
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * Apply a batch of operations as one write: a single snapshot and change list is
+     * published after all of them, or nothing if none changed the cart
+     * @param catalog Lookup for operations that add a product by id
+     * @return Status of every operation
+     */
+    public CartBatch.Result apply(CartBatch batch, CartItem.ProductResolver catalog) {
+        synchronized (writeLock) {
+            List<CartBatch.Status> statuses = new ArrayList<>(batch.size());
+            boolean changed = false;
+            for (CartBatch.Op op : batch.getOps()) {
+                CartBatch.Status status = applyOp(op, catalog);
+                changed |= status == CartBatch.Status.APPLIED;
+                statuses.add(status);
+            }
+            if (changed) {
+                publish();
+            }
+            return new CartBatch.Result(statuses);
+        }
+    }
+
+    private CartBatch.Status applyOp(CartBatch.Op op, CartItem.ProductResolver catalog) {
+        CartItem before = cart.get(op.productId);
+        switch (op.kind) {
+            case ADD: {
+                if (op.quantity <= 0) {
+                    return CartBatch.Status.INVALID_QUANTITY;
+                }
+                Product product = op.product != null ? op.product : catalog.resolve(op.productId);
+                if (product == null) {
+                    return CartBatch.Status.UNKNOWN_PRODUCT;
+                }
+                cart.add(product, op.quantity);
+                break;
+            }
+            case SET_QUANTITY:
+                if (op.quantity < 0) {
+                    return CartBatch.Status.INVALID_QUANTITY;
+                }
+                if (before == null) {
+                    return CartBatch.Status.NOT_IN_CART;
+                }
+                if (before.getQuantity() == op.quantity) {
+                    return CartBatch.Status.UNCHANGED;
+                }
+                cart.setQuantity(op.productId, op.quantity);
+                break;
+            case REMOVE:
+                if (before == null) {
+                    return CartBatch.Status.NOT_IN_CART;
+                }
+                cart.remove(op.productId);
+                break;
+        }
+        record(op.productId, before);
+        return CartBatch.Status.APPLIED;
+    }
+
+    /**
+     * Remove every line
+     * @return true if the cart changed
+     */
+    public boolean clear() {
+        synchronized (writeLock) {
+            if (cart.isEmpty()) {
+                return false;
+            }
+            for (CartItem item : cart.getItems()) {
+                pending.add(CartChange.between(item, null));
+            }
+            cart.clear();
+            publish();
+            return true;
+        }
+    }
+
+    /**
+     * Remember how a line changed since before, for the next publish
+     */
+    private void record(int productId, CartItem before) {
+        CartChange change = CartChange.between(before, cart.get(productId));
+        if (change != null) {
+            pending.add(change);
+        }
+    }
+
+    private void publish() {
+        CartSnapshot previous = snapshot;
+        CartSnapshot current = new CartSnapshot(cart.getItems(), cart.getSubtotalCents(), cart.getTotalQuantity(),
+                previous.getVersion() + 1);
+        snapshot = current;
+        List<CartChange> changes = collapse(pending);
+        pending.clear();
+        Listener target = listener;
+        if (target != null) {
+            target.onPublished(previous, current, changes);
+        }
+    }
+
+    /**
+     * Merge repeated changes of the same line within one write (e.g. a merged saved cart
+     * with duplicate ids) into a single change from its first to its last state
+     */
+    private static List<CartChange> collapse(List<CartChange> changes) {
+        if (changes.size() == 1) {
+            return Collections.singletonList(changes.get(0));
+        }
+        Map<Integer, CartChange> byProduct = new LinkedHashMap<>();
+        for (CartChange change : changes) {
+            CartChange first = byProduct.get(change.getProductId());
+            byProduct.put(change.getProductId(),
+                    first == null ? change : CartChange.between(first.getPrevious(), change.getCurrent()));
+        }
+        List<CartChange> result = new ArrayList<>(byProduct.size());
+        for (CartChange change : byProduct.values()) {
+            if (change != null) {
+                result.add(change);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+}
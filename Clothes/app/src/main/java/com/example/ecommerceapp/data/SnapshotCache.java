@@ -0,0 +1,77 @@
+package com.example.ecommerceapp.data;
+
+/**
+ * SnapshotCache class holding one decoded, versioned value for DataStore
+ * The value is loaded on first read and replaced on the matching save (write-through),
+ * so steady-state reads never re-parse JSON
+ * Cached values must be immutable since every caller shares the same instance
+ */
+public class SnapshotCache<T> {
+    /**
+     * Decodes the value from storage on a cache miss
+     */
+    public interface Loader<T> {
+        T load();
+    }
+
+    private T value;
+    private boolean valid;
+    private long version;
+    private long hits;
+    private long misses;
+
+    /**
+     * Get the cached value, loading it on a miss
+     */
+    public synchronized T get(Loader<T> loader) {
+        if (valid) {
+            hits++;
+            return value;
+        }
+        misses++;
+        value = loader.load();
+        valid = true;
+        return value;
+    }
+
+    /**
+     * Get the cached value without loading it
+     * @return Cached value or null if nothing is cached
+     */
+    public synchronized T peek() {
+        return valid ? value : null;
+    }
+
+    /**
+     * Replace the cached value after it was saved
+     */
+    public synchronized void put(T newValue) {
+        value = newValue;
+        valid = true;
+        version++;
+    }
+
+    /**
+     * Drop the cached value so the next read loads it from storage
+     */
+    public synchronized void invalidate() {
+        value = null;
+        valid = false;
+        version++;
+    }
+
+    /**
+     * Get version, incremented on every put/invalidate
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.utils.Constants;
+
+/**
+ * StoreDomain enum mapping each persisted domain to its own SharedPreferences file
+ * SharedPreferences rewrites a whole file on every apply(), so keeping domains apart
+ * means a cart tap only rewrites the cart file, not users or products
+ */
+public enum StoreDomain {
+    USERS(Constants.PREFS_USERS, Constants.KEY_USERS),
+    SESSION(Constants.PREFS_SESSION, Constants.KEY_CURRENT_USER),
+    CART(Constants.PREFS_CART, Constants.KEY_CART),
+    PRODUCTS(Constants.PREFS_PRODUCTS, Constants.KEY_PRODUCTS),
+    COUNTERS(Constants.PREFS_COUNTERS, Constants.KEY_LAST_ORDER_ID);
+
+    private final String prefsName;
+    private final String[] keys;
+
+    StoreDomain(String prefsName, String... keys) {
+        this.prefsName = prefsName;
+        this.keys = keys;
+    }
+
+    /**
+     * Get the SharedPreferences file name backing this domain
+     */
+    public String getPrefsName() {
+        return prefsName;
+    }
+
+    /**
+     * Find the domain that owns a key from the legacy combined file
+     * @param key SharedPreferences key
+     * @return Owning domain or null if the key is not routed to any domain
+     */
+    public static StoreDomain forKey(String key) {
+        for (StoreDomain domain : values()) {
+            for (String k : domain.keys) {
+                if (k.equals(key)) {
+                    return domain;
+                }
+            }
+        }
+        return null;
+    }
+}
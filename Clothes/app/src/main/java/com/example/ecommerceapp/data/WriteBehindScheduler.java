@@ -0,0 +1,98 @@
+package com.example.ecommerceapp.data;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * WriteBehindScheduler class coalescing bursts of changes into a single write
+ * - markDirty() (re)starts a quiet-period timer
+ * - the write runs once when no change arrived for the whole quiet period
+ * - flush() writes immediately if anything is pending (checkout, onStop, memory trim)
+ */
+public class WriteBehindScheduler {
+    /**
+     * Delayed-task source, normally a main-looper Handler
+     */
+    public interface Scheduler {
+        void postDelayed(Runnable task, long delayMillis);
+
+        void removeCallbacks(Runnable task);
+    }
+
+    private final Scheduler scheduler;
+    private final long quietMillis;
+    private final Runnable writer;
+    private final Runnable flushTask = this::flush;
+    private boolean dirty;
+    private long writeCount;
+
+    /**
+     * @param scheduler Source of delayed tasks; the writer runs on its thread
+     * @param quietMillis Time without changes before the write runs
+     * @param writer Persists the current state
+     */
+    public WriteBehindScheduler(Scheduler scheduler, long quietMillis, Runnable writer) {
+        this.scheduler = scheduler;
+        this.quietMillis = quietMillis;
+        this.writer = writer;
+    }
+
+    /**
+     * Scheduler posting to the main thread
+     */
+    public static Scheduler mainThread() {
+        Handler handler = new Handler(Looper.getMainLooper());
+        return new Scheduler() {
+            @Override
+            public void postDelayed(Runnable task, long delayMillis) {
+                handler.postDelayed(task, delayMillis);
+            }
+
+            @Override
+            public void removeCallbacks(Runnable task) {
+                handler.removeCallbacks(task);
+            }
+        };
+    }
+
+    /**
+     * Record a change and push the write back to the end of a new quiet period
+     */
+    public synchronized void markDirty() {
+        dirty = true;
+        scheduler.removeCallbacks(flushTask);
+        scheduler.postDelayed(flushTask, quietMillis);
+    }
+
+    /**
+     * Write now if a change is pending
+     */
+    public synchronized void flush() {
+        scheduler.removeCallbacks(flushTask);
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        writeCount++;
+        writer.run();
+    }
+
+    /**
+     * Drop a pending write (e.g. the state it would persist was cleared by other means)
+     */
+    public synchronized void cancel() {
+        scheduler.removeCallbacks(flushTask);
+        dirty = false;
+    }
+
+    public synchronized boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Get number of writes performed
+     */
+    public synchronized long getWriteCount() {
+        return writeCount;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.ecommerceapp.data.codec;
+
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.models.Product;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * BinaryCodec class for the compact persisted format
+ * Header: [magic 0xEC][schema version][record kind]
+ * Body: varint ints, two-decimal fixed-point prices/totals/ratings, and a string table
+ * so repeated names, descriptions and image URLs are stored once per payload
+ * Schema 2 stores cart/order lines as (productId, quantity, unit price); schema 1
+ * payloads with embedded products are still readable
+ */
+public class BinaryCodec implements DataCodec {
+    static final int MAGIC = 0xEC;
+    static final int SCHEMA_VERSION = 2;
+    static final int SCHEMA_EMBEDDED_PRODUCTS = 1;
+    static final int HEADER_SIZE = 3;
+
+    static final int KIND_PRODUCTS = 'P';
+    static final int KIND_CART = 'C';
+    static final int KIND_ORDER = 'O';
+
+    /**
+     * Check whether a payload was written by this codec (JSON never starts with 0xEC)
+     */
+    public static boolean isBinary(byte[] data) {
+        return data.length > 0 && (data[0] & 0xFF) == MAGIC;
+    }
+
+    @Override
+    public byte[] encodeProducts(List<Product> products) {
+        BinaryWriter out = header(KIND_PRODUCTS, products.size() * 128);
+        out.writeVarInt(products.size());
+        for (Product product : products) {
+            writeProduct(out, product);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public List<Product> decodeProducts(byte[] data) {
+        BinaryReader in = open(data, KIND_PRODUCTS);
+        int count = in.readVarInt();
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(readProduct(in));
+        }
+        return products;
+    }
+
+    @Override
+    public byte[] encodeCart(List<CartItem> cart) {
+        BinaryWriter out = header(KIND_CART, cart.size() * 128);
+        writeItems(out, cart);
+        return out.toByteArray();
+    }
+
+    @Override
+    public List<CartItem> decodeCart(byte[] data) {
+        return readItems(open(data, KIND_CART));
+    }
+
+    @Override
+    public byte[] encodeOrder(Order order) {
+        int itemCount = order.getItems() != null ? order.getItems().size() : 0;
+        BinaryWriter out = header(KIND_ORDER, 128 + itemCount * 128);
+        out.writeVarInt(order.getId());
+        out.writeString(order.getUserEmail());
+        out.writeSignedVarLong(order.getTimestamp() != null ? order.getTimestamp().getTime() : Long.MIN_VALUE);
+        out.writeString(order.getStatus());
+        out.writeMoney(order.getTotal());
+        out.writeString(order.getFullName());
+        out.writeString(order.getAddress());
+        out.writeString(order.getPhone());
+        out.writeString(order.getEmail());
+        writeItems(out, order.getItems() != null ? order.getItems() : new ArrayList<>());
+        return out.toByteArray();
+    }
+
+    @Override
+    public Order decodeOrder(byte[] data) {
+        return decodeOrderIfMatches(data, null);
+    }
+
+    @Override
+    public Order decodeOrderIfMatches(byte[] data, HeaderFilter filter) {
+        BinaryReader in = open(data, KIND_ORDER);
+        int id = in.readVarInt();
+        String userEmail = in.readString();
+        long timestamp = in.readSignedVarLong();
+        String status = in.readString();
+        if (filter != null && !filter.accept(userEmail, timestamp, status)) {
+            return null;
+        }
+
+        Order order = new Order();
+        order.setId(id);
+        order.setUserEmail(userEmail);
+        order.setTimestamp(timestamp != Long.MIN_VALUE ? new Date(timestamp) : null);
+        order.setStatus(status);
+        order.setTotal(in.readMoney());
+        order.setFullName(in.readString());
+        order.setAddress(in.readString());
+        order.setPhone(in.readString());
+        order.setEmail(in.readString());
+        order.setItems(readItems(in));
+        return order;
+    }
+
+    @Override
+    public OrderHeader decodeOrderHeader(byte[] data) {
+        BinaryReader in = open(data, KIND_ORDER);
+        int id = in.readVarInt();
+        String userEmail = in.readString();
+        long timestamp = in.readSignedVarLong();
+        return new OrderHeader(id, userEmail, timestamp, in.readString());
+    }
+
+    private static BinaryWriter header(int kind, int capacity) {
+        BinaryWriter out = new BinaryWriter(HEADER_SIZE + capacity);
+        out.writeByte(MAGIC);
+        out.writeByte(SCHEMA_VERSION);
+        out.writeByte(kind);
+        return out;
+    }
+
+    private static BinaryReader open(byte[] data, int expectedKind) {
+        if (!isBinary(data) || data.length < HEADER_SIZE) {
+            throw new IllegalArgumentException("Not a binary payload");
+        }
+        int version = data[1] & 0xFF;
+        if (version != SCHEMA_VERSION && version != SCHEMA_EMBEDDED_PRODUCTS) {
+            throw new IllegalArgumentException("Unsupported binary schema version " + version);
+        }
+        int kind = data[2] & 0xFF;
+        if (kind != expectedKind) {
+            throw new IllegalArgumentException("Expected record kind " + (char) expectedKind
+                    + " but found " + (char) kind);
+        }
+        return new BinaryReader(data, HEADER_SIZE, version);
+    }
+
+    private static void writeProduct(BinaryWriter out, Product product) {
+        out.writeVarInt(product.getId());
+        out.writeString(product.getName());
+        out.writeMoney(product.getPrice());
+        out.writeFixed2(product.getRating());
+        out.writeVarInt(product.getReviews());
+        out.writeString(product.getDescription());
+        out.writeString(product.getImageUrl());
+    }
+
+    private static Product readProduct(BinaryReader in) {
+        Product product = new Product();
+        product.setId(in.readVarInt());
+        product.setName(in.readString());
+        product.setPrice(in.readMoney());
+        product.setRating(in.readFixed2());
+        product.setReviews(in.readVarInt());
+        product.setDescription(in.readString());
+        product.setImageUrl(in.readString());
+        return product;
+    }
+
+    private static void writeItems(BinaryWriter out, List<CartItem> items) {
+        out.writeVarInt(items.size());
+        for (CartItem item : items) {
+            out.writeVarInt(item.getProductId());
+            out.writeVarInt(item.getQuantity());
+            out.writeMoney(item.getUnitPrice());
+        }
+    }
+
+    private static List<CartItem> readItems(BinaryReader in) {
+        int count = in.readVarInt();
+        List<CartItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.getSchemaVersion() == SCHEMA_EMBEDDED_PRODUCTS) {
+                Product product = readProduct(in);
+                items.add(new CartItem(product.getId(), in.readVarInt(), product.getPrice()));
+            } else {
+                int productId = in.readVarInt();
+                int quantity = in.readVarInt();
+                items.add(new CartItem(productId, quantity, in.readMoney()));
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ecommerceapp.data.codec;
+
+import com.example.ecommerceapp.models.Money;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader for the varint and string-table encoding written by BinaryWriter
+ */
+class BinaryReader {
+    private final byte[] data;
+    private int position;
+    private final int schemaVersion;
+    private final List<String> stringTable = new ArrayList<>();
+
+    BinaryReader(byte[] data, int offset) {
+        this(data, offset, 0);
+    }
+
+    BinaryReader(byte[] data, int offset, int schemaVersion) {
+        this.data = data;
+        this.position = offset;
+        this.schemaVersion = schemaVersion;
+    }
+
+    int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    int readByte() {
+        checkAvailable(1);
+        return data[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at " + position);
+    }
+
+    int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    long readSignedVarLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    double readFixed2() {
+        return readSignedVarLong() / 100.0;
+    }
+
+    Money readMoney() {
+        return Money.ofCents(readSignedVarLong());
+    }
+
+    String readString() {
+        long tag = readVarLong();
+        if (tag == 0) {
+            return null;
+        }
+        if ((tag & 1) == 0) {
+            int index = (int) ((tag >>> 1) - 1);
+            if (index < 0 || index >= stringTable.size()) {
+                throw new IllegalArgumentException("Bad string reference " + index);
+            }
+            return stringTable.get(index);
+        }
+        int length = (int) (tag >>> 1);
+        checkAvailable(length);
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        stringTable.add(value);
+        return value;
+    }
+
+    private void checkAvailable(int count) {
+        if (count < 0 || position + count > data.length) {
+            throw new IllegalArgumentException("Unexpected end of binary data");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.ecommerceapp.data.codec;
+
+import com.example.ecommerceapp.models.Money;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Growable byte buffer with varint and string-table encoding used by BinaryCodec
+ * Strings are written once; later occurrences become a varint reference into the table
+ */
+class BinaryWriter {
+    private byte[] buffer;
+    private int size;
+    private final Map<String, Integer> stringTable = new HashMap<>();
+
+    BinaryWriter(int initialCapacity) {
+        buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Unsigned LEB128 varint
+     */
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * ZigZag varint so small negative values stay short
+     */
+    void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Fixed-point value with two decimal places (ratings)
+     */
+    void writeFixed2(double value) {
+        writeSignedVarLong(Math.round(value * 100));
+    }
+
+    /**
+     * Money amount as signed varint cents (same encoding as writeFixed2)
+     */
+    void writeMoney(Money value) {
+        writeSignedVarLong(value.getCents());
+    }
+
+    /**
+     * String tag: 0 = null, odd = new string of (tag >> 1) UTF-8 bytes, even = table index (tag >> 1) - 1
+     */
+    void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = stringTable.get(value);
+        if (index != null) {
+            writeVarLong(((long) index + 1) << 1);
+            return;
+        }
+        stringTable.put(value, stringTable.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(((long) bytes.length << 1) | 1);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
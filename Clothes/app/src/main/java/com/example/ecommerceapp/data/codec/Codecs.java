@@ -0,0 +1,20 @@
+package com.example.ecommerceapp.data.codec;
+
+/**
+ * Codecs class holding the shared codec instances
+ * Reads pick the codec from the payload itself, so data written by either codec stays readable
+ */
+public final class Codecs {
+    public static final DataCodec JSON = new JsonCodec();
+    public static final DataCodec BINARY = new BinaryCodec();
+
+    private Codecs() {
+    }
+
+    /**
+     * Get the codec that wrote the given payload
+     */
+    public static DataCodec forData(byte[] data) {
+        return BinaryCodec.isBinary(data) ? BINARY : JSON;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ecommerceapp.data.codec;
+
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.models.Product;
+
+import java.util.List;
+
+/**
+ * DataCodec interface for (de)serializing the persisted catalog, cart and orders
+ * Implementations: JsonCodec (readable, for debugging) and BinaryCodec (compact)
+ */
+public interface DataCodec {
+    /**
+     * Predicate over the header fields of an order record
+     * Timestamp is epoch millis, or Long.MIN_VALUE if the order has none
+     */
+    interface HeaderFilter {
+        boolean accept(String userEmail, long timestamp, String status);
+    }
+
+    byte[] encodeProducts(List<Product> products);
+
+    List<Product> decodeProducts(byte[] data);
+
+    byte[] encodeCart(List<CartItem> cart);
+
+    List<CartItem> decodeCart(byte[] data);
+
+    byte[] encodeOrder(Order order);
+
+    Order decodeOrder(byte[] data);
+
+    /**
+     * Decode an order only if its header passes the filter
+     * Header fields are checked before any line items are decoded
+     * @return Decoded order, or null if the filter rejected it
+     */
+    Order decodeOrderIfMatches(byte[] data, HeaderFilter filter);
+
+    /**
+     * Decode only the header fields of an order record
+     */
+    OrderHeader decodeOrderHeader(byte[] data);
+}
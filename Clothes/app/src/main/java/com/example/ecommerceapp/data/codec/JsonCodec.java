@@ -0,0 +1,87 @@
+package com.example.ecommerceapp.data.codec;
+
+import com.example.ecommerceapp.data.json.GsonProvider;
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.models.Product;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * JsonCodec class encoding data as UTF-8 JSON through the shared Gson instance
+ */
+public class JsonCodec implements DataCodec {
+    private static final Type PRODUCT_LIST = new TypeToken<List<Product>>(){}.getType();
+    private static final Type CART_LIST = new TypeToken<List<CartItem>>(){}.getType();
+
+    private final Gson gson = GsonProvider.get();
+
+    @Override
+    public byte[] encodeProducts(List<Product> products) {
+        return toBytes(gson.toJson(products, PRODUCT_LIST));
+    }
+
+    @Override
+    public List<Product> decodeProducts(byte[] data) {
+        return gson.fromJson(toString(data), PRODUCT_LIST);
+    }
+
+    @Override
+    public byte[] encodeCart(List<CartItem> cart) {
+        return toBytes(gson.toJson(cart, CART_LIST));
+    }
+
+    @Override
+    public List<CartItem> decodeCart(byte[] data) {
+        return gson.fromJson(toString(data), CART_LIST);
+    }
+
+    @Override
+    public byte[] encodeOrder(Order order) {
+        return toBytes(gson.toJson(order, Order.class));
+    }
+
+    @Override
+    public Order decodeOrder(byte[] data) {
+        return gson.fromJson(toString(data), Order.class);
+    }
+
+    @Override
+    public Order decodeOrderIfMatches(byte[] data, HeaderFilter filter) {
+        try {
+            return GsonProvider.orderAdapter().read(reader(data), filter);
+        } catch (IOException e) {
+            throw new JsonParseException("Malformed order record", e);
+        }
+    }
+
+    @Override
+    public OrderHeader decodeOrderHeader(byte[] data) {
+        try {
+            return GsonProvider.orderAdapter().readHeader(reader(data));
+        } catch (IOException e) {
+            throw new JsonParseException("Malformed order record", e);
+        }
+    }
+
+    private static JsonReader reader(byte[] data) {
+        return new JsonReader(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] toBytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String toString(byte[] data) {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+}
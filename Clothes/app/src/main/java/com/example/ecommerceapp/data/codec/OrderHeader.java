@@ -0,0 +1,38 @@
+package com.example.ecommerceapp.data.codec;
+
+/**
+ * OrderHeader class holding the header fields of an order record
+ * Decoded without touching line items; used to build and verify the order index
+ */
+public class OrderHeader {
+    private final int id;
+    private final String userEmail;
+    private final long timestamp;
+    private final String status;
+
+    public OrderHeader(int id, String userEmail, long timestamp, String status) {
+        this.id = id;
+        this.userEmail = userEmail;
+        this.timestamp = timestamp;
+        this.status = status;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    /**
+     * Get timestamp in epoch millis, or Long.MIN_VALUE if the order has none
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
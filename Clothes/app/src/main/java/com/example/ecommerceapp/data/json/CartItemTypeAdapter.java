@@ -0,0 +1,71 @@
+package com.example.ecommerceapp.data.json;
+
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Product;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming Gson adapter for CartItem (no reflection)
+ * Writes {productId, quantity, unitPrice}; legacy items with an embedded "product"
+ * are read by taking the id and price from that product
+ */
+public class CartItemTypeAdapter extends TypeAdapter<CartItem> {
+    private final TypeAdapter<Product> productAdapter;
+
+    public CartItemTypeAdapter(TypeAdapter<Product> productAdapter) {
+        this.productAdapter = productAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, CartItem item) throws IOException {
+        if (item == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("productId").value(item.getProductId());
+        out.name("quantity").value(item.getQuantity());
+        out.name("unitPrice").value(item.getUnitPrice().toBigDecimal());
+        out.endObject();
+    }
+
+    @Override
+    public CartItem read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        CartItem item = new CartItem();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "productId":
+                    item.setProductId(in.nextInt());
+                    break;
+                case "quantity":
+                    item.setQuantity(in.nextInt());
+                    break;
+                case "unitPrice":
+                    item.setUnitPrice(JsonFields.readMoney(in));
+                    break;
+                case "product":
+                    Product legacy = productAdapter.read(in);
+                    if (legacy != null) {
+                        item.setProductId(legacy.getId());
+                        item.setUnitPrice(legacy.getPrice());
+                    }
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return item;
+    }
+}
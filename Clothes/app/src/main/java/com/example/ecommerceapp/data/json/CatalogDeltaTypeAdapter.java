@@ -0,0 +1,89 @@
+package com.example.ecommerceapp.data.json;
+
+import com.example.ecommerceapp.data.CatalogDelta;
+import com.example.ecommerceapp.models.Product;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming Gson adapter for CatalogDelta (no reflection)
+ * Writes {version, upserts, deletes}; missing lists read as empty
+ */
+public class CatalogDeltaTypeAdapter extends TypeAdapter<CatalogDelta> {
+    private final TypeAdapter<Product> productAdapter;
+
+    public CatalogDeltaTypeAdapter(TypeAdapter<Product> productAdapter) {
+        this.productAdapter = productAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, CatalogDelta delta) throws IOException {
+        if (delta == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("version").value(delta.getVersion());
+        out.name("upserts").beginArray();
+        for (Product product : delta.getUpserts()) {
+            productAdapter.write(out, product);
+        }
+        out.endArray();
+        out.name("deletes").beginArray();
+        for (int productId : delta.getDeletes()) {
+            out.value(productId);
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    @Override
+    public CatalogDelta read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        long version = 0;
+        List<Product> upserts = new ArrayList<>();
+        int[] deletes = new int[0];
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "version":
+                    version = in.nextLong();
+                    break;
+                case "upserts":
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        upserts.add(productAdapter.read(in));
+                    }
+                    in.endArray();
+                    break;
+                case "deletes":
+                    int count = 0;
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        if (count == deletes.length) {
+                            deletes = Arrays.copyOf(deletes, Math.max(8, count * 2));
+                        }
+                        deletes[count++] = in.nextInt();
+                    }
+                    in.endArray();
+                    deletes = Arrays.copyOf(deletes, count);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return new CatalogDelta(version, upserts, deletes);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.ecommerceapp.data.json;
+
+import com.example.ecommerceapp.data.CatalogDelta;
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.models.User;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+
+import java.util.Date;
+
+/**
+ * GsonProvider class holding the shared Gson instance
+ * Registers the streaming model adapters so no model goes through reflective binding
+ */
+public final class GsonProvider {
+    private static Gson gson;
+    private static OrderTypeAdapter orderAdapter;
+
+    private GsonProvider() {
+    }
+
+    public static synchronized Gson get() {
+        if (gson == null) {
+            gson = create();
+        }
+        return gson;
+    }
+
+    /**
+     * Get the registered Order adapter, for streaming reads with a header filter
+     */
+    public static synchronized OrderTypeAdapter orderAdapter() {
+        get();
+        return orderAdapter;
+    }
+
+    private static Gson create() {
+        // Gson's built-in Date adapter parses the locale date strings written by older versions
+        TypeAdapter<Date> legacyDateAdapter = new Gson().getAdapter(Date.class);
+
+        ProductTypeAdapter productAdapter = new ProductTypeAdapter();
+        CartItemTypeAdapter itemAdapter = new CartItemTypeAdapter(productAdapter);
+        orderAdapter = new OrderTypeAdapter(itemAdapter, legacyDateAdapter);
+
+        return new GsonBuilder()
+                .registerTypeAdapter(Product.class, productAdapter)
+                .registerTypeAdapter(CartItem.class, itemAdapter)
+                .registerTypeAdapter(Order.class, orderAdapter)
+                .registerTypeAdapter(User.class, new UserTypeAdapter())
+                .registerTypeAdapter(CatalogDelta.class, new CatalogDeltaTypeAdapter(productAdapter))
+                .create();
+    }
+}
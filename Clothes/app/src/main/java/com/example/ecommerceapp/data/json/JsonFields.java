@@ -0,0 +1,38 @@
+package com.example.ecommerceapp.data.json;
+
+import com.example.ecommerceapp.models.Money;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Helpers shared by the model TypeAdapters
+ * Null strings are omitted on write, matching Gson's default (serializeNulls off)
+ */
+final class JsonFields {
+    private JsonFields() {
+    }
+
+    static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    /**
+     * Read a price from its JSON number literal (not via double), so stored amounts convert exactly
+     */
+    static Money readMoney(JsonReader in) throws IOException {
+        return Money.parse(in.nextString());
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.ecommerceapp.data.json;
+
+import com.example.ecommerceapp.data.codec.DataCodec;
+import com.example.ecommerceapp.data.codec.OrderHeader;
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Order;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Streaming Gson adapter for Order (no reflection)
+ * Header fields (id, user, timestamp, status) are written before the items,
+ * which lets read(JsonReader, HeaderFilter) reject an order before decoding its items
+ * Timestamps are written as epoch millis; legacy date strings are still accepted
+ */
+public class OrderTypeAdapter extends TypeAdapter<Order> {
+    private final TypeAdapter<CartItem> itemAdapter;
+    private final TypeAdapter<Date> legacyDateAdapter;
+
+    public OrderTypeAdapter(TypeAdapter<CartItem> itemAdapter, TypeAdapter<Date> legacyDateAdapter) {
+        this.itemAdapter = itemAdapter;
+        this.legacyDateAdapter = legacyDateAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, Order order) throws IOException {
+        if (order == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(order.getId());
+        JsonFields.writeString(out, "userEmail", order.getUserEmail());
+        if (order.getTimestamp() != null) {
+            out.name("timestamp").value(order.getTimestamp().getTime());
+        }
+        JsonFields.writeString(out, "status", order.getStatus());
+        out.name("total").value(order.getTotal().toBigDecimal());
+        JsonFields.writeString(out, "fullName", order.getFullName());
+        JsonFields.writeString(out, "address", order.getAddress());
+        JsonFields.writeString(out, "phone", order.getPhone());
+        JsonFields.writeString(out, "email", order.getEmail());
+        if (order.getItems() != null) {
+            out.name("items");
+            out.beginArray();
+            for (CartItem item : order.getItems()) {
+                itemAdapter.write(out, item);
+            }
+            out.endArray();
+        }
+        out.endObject();
+    }
+
+    @Override
+    public Order read(JsonReader in) throws IOException {
+        return read(in, null);
+    }
+
+    /**
+     * Read an order, stopping as soon as the header is known to fail the filter
+     * @return Order, or null if the filter rejected it
+     */
+    public Order read(JsonReader in, DataCodec.HeaderFilter filter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Order order = new Order();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    order.setId(in.nextInt());
+                    break;
+                case "userEmail":
+                    order.setUserEmail(JsonFields.readString(in));
+                    break;
+                case "timestamp":
+                    order.setTimestamp(readTimestamp(in));
+                    break;
+                case "status":
+                    order.setStatus(JsonFields.readString(in));
+                    break;
+                case "total":
+                    order.setTotal(JsonFields.readMoney(in));
+                    break;
+                case "fullName":
+                    order.setFullName(JsonFields.readString(in));
+                    break;
+                case "address":
+                    order.setAddress(JsonFields.readString(in));
+                    break;
+                case "phone":
+                    order.setPhone(JsonFields.readString(in));
+                    break;
+                case "email":
+                    order.setEmail(JsonFields.readString(in));
+                    break;
+                case "items":
+                    if (!accept(filter, order)) {
+                        return null;
+                    }
+                    filter = null;
+                    order.setItems(readItems(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return accept(filter, order) ? order : null;
+    }
+
+    /**
+     * Read only the header fields, stopping at the items array
+     */
+    public OrderHeader readHeader(JsonReader in) throws IOException {
+        int id = 0;
+        String userEmail = null;
+        long timestamp = Long.MIN_VALUE;
+        String status = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if ("items".equals(name)) {
+                break;
+            }
+            switch (name) {
+                case "id":
+                    id = in.nextInt();
+                    break;
+                case "userEmail":
+                    userEmail = JsonFields.readString(in);
+                    break;
+                case "timestamp":
+                    timestamp = readTimestamp(in).getTime();
+                    break;
+                case "status":
+                    status = JsonFields.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        return new OrderHeader(id, userEmail, timestamp, status);
+    }
+
+    private static boolean accept(DataCodec.HeaderFilter filter, Order order) {
+        if (filter == null) {
+            return true;
+        }
+        long timestamp = order.getTimestamp() != null ? order.getTimestamp().getTime() : Long.MIN_VALUE;
+        return filter.accept(order.getUserEmail(), timestamp, order.getStatus());
+    }
+
+    /**
+     * Read a timestamp written as epoch millis or as a legacy Gson date string
+     */
+    Date readTimestamp(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NUMBER) {
+            return new Date(in.nextLong());
+        }
+        return legacyDateAdapter.read(in);
+    }
+
+    private List<CartItem> readItems(JsonReader in) throws IOException {
+        List<CartItem> items = new ArrayList<>();
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return items;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            items.add(itemAdapter.read(in));
+        }
+        in.endArray();
+        return items;
+    }
+}
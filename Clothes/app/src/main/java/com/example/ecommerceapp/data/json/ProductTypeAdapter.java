@@ -0,0 +1,76 @@
+package com.example.ecommerceapp.data.json;
+
+import com.example.ecommerceapp.models.Product;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming Gson adapter for Product (no reflection)
+ * Field names match the reflective format so existing JSON keeps loading
+ * A missing price reads as null rather than Money.ZERO, so imports can reject the row
+ */
+public class ProductTypeAdapter extends TypeAdapter<Product> {
+    @Override
+    public void write(JsonWriter out, Product product) throws IOException {
+        if (product == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(product.getId());
+        JsonFields.writeString(out, "name", product.getName());
+        if (product.getPrice() != null) {
+            out.name("price").value(product.getPrice().toBigDecimal());
+        }
+        out.name("rating").value(product.getRating());
+        out.name("reviews").value(product.getReviews());
+        JsonFields.writeString(out, "description", product.getDescription());
+        JsonFields.writeString(out, "imageUrl", product.getImageUrl());
+        out.endObject();
+    }
+
+    @Override
+    public Product read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Product product = new Product();
+        product.setPrice(null);
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    product.setId(in.nextInt());
+                    break;
+                case "name":
+                    product.setName(JsonFields.readString(in));
+                    break;
+                case "price":
+                    product.setPrice(JsonFields.readMoney(in));
+                    break;
+                case "rating":
+                    product.setRating(in.nextDouble());
+                    break;
+                case "reviews":
+                    product.setReviews(in.nextInt());
+                    break;
+                case "description":
+                    product.setDescription(JsonFields.readString(in));
+                    break;
+                case "imageUrl":
+                    product.setImageUrl(JsonFields.readString(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return product;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ecommerceapp.data.json;
+
+import com.example.ecommerceapp.models.User;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming Gson adapter for User (no reflection)
+ */
+public class UserTypeAdapter extends TypeAdapter<User> {
+    @Override
+    public void write(JsonWriter out, User user) throws IOException {
+        if (user == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        JsonFields.writeString(out, "email", user.getEmail());
+        JsonFields.writeString(out, "fullName", user.getFullName());
+        JsonFields.writeString(out, "password", user.getPassword());
+        out.endObject();
+    }
+
+    @Override
+    public User read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        User user = new User();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "email":
+                    user.setEmail(JsonFields.readString(in));
+                    break;
+                case "fullName":
+                    user.setFullName(JsonFields.readString(in));
+                    break;
+                case "password":
+                    user.setPassword(JsonFields.readString(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return user;
+    }
+}
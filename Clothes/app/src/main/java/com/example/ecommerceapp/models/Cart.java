@@ -0,0 +1,156 @@
+package com.example.ecommerceapp.models;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cart model holding cart lines keyed by product id, in the order they were added
+ * Lookups, add, update and remove are O(1); subtotal and total quantity are kept as running
+ * aggregates so badge and total refreshes never re-sum the lines
+ * The subtotal is tracked in whole cents (see Money) so repeated updates cannot drift
+ * Lines must only be changed through this class, otherwise the aggregates go stale
+ * Changes replace a line with a new CartItem instead of mutating it, so line lists handed
+ * out by getItems() never change underneath their holder
+ */
+public class Cart {
+    private final Map<Integer, CartItem> lines = new LinkedHashMap<>();
+    private long subtotalCents;
+    private int totalQuantity;
+
+    public Cart() {
+    }
+
+    /**
+     * Build a cart from saved lines, merging duplicate product ids
+     */
+    public Cart(List<CartItem> items) {
+        for (CartItem item : items) {
+            add(item);
+        }
+    }
+
+    /**
+     * Get the line for a product
+     * @return CartItem or null if the product is not in the cart
+     */
+    public CartItem get(int productId) {
+        return lines.get(productId);
+    }
+
+    /**
+     * Add quantity of a product, creating the line if needed
+     */
+    public void add(Product product, int quantity) {
+        CartItem existing = lines.get(product.getId());
+        if (existing != null) {
+            setQuantity(product.getId(), existing.getQuantity() + quantity);
+        } else if (quantity > 0) {
+            CartItem item = new CartItem(product, quantity);
+            lines.put(product.getId(), item);
+            adjust(item, quantity);
+        }
+    }
+
+    /**
+     * Add a saved line, summing its quantity into an existing line for the same product
+     */
+    public void add(CartItem item) {
+        CartItem existing = lines.get(item.getProductId());
+        if (existing != null) {
+            setQuantity(existing.getProductId(), existing.getQuantity() + item.getQuantity());
+        } else if (item.getQuantity() > 0) {
+            lines.put(item.getProductId(), item);
+            adjust(item, item.getQuantity());
+        }
+    }
+
+    /**
+     * Set quantity of a line (0 or less removes it)
+     * @return false if the product is not in the cart
+     */
+    public boolean setQuantity(int productId, int quantity) {
+        CartItem item = lines.get(productId);
+        if (item == null) {
+            return false;
+        }
+        if (quantity <= 0) {
+            remove(productId);
+            return true;
+        }
+        adjust(item, quantity - item.getQuantity());
+        lines.put(productId, item.withQuantity(quantity));
+        return true;
+    }
+
+    /**
+     * Change the unit price snapshot of a line (e.g. after a catalog reprice)
+     * @return false if the product is not in the cart
+     */
+    public boolean setUnitPrice(int productId, Money unitPrice) {
+        CartItem item = lines.get(productId);
+        if (item == null) {
+            return false;
+        }
+        subtotalCents += (unitPrice.getCents() - item.getUnitPrice().getCents()) * item.getQuantity();
+        lines.put(productId, item.withUnitPrice(unitPrice));
+        return true;
+    }
+
+    /**
+     * Remove a line
+     * @return Removed CartItem or null if the product was not in the cart
+     */
+    public CartItem remove(int productId) {
+        CartItem item = lines.remove(productId);
+        if (item != null) {
+            adjust(item, -item.getQuantity());
+        }
+        return item;
+    }
+
+    public void clear() {
+        lines.clear();
+        subtotalCents = 0;
+        totalQuantity = 0;
+    }
+
+    /**
+     * Get the lines in insertion order (new list, same CartItem instances)
+     */
+    public List<CartItem> getItems() {
+        return new ArrayList<>(lines.values());
+    }
+
+    public int size() {
+        return lines.size();
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    /**
+     * Get subtotal of all lines in O(1)
+     */
+    public Money getSubtotal() {
+        return Money.ofCents(subtotalCents);
+    }
+
+    public long getSubtotalCents() {
+        return subtotalCents;
+    }
+
+    /**
+     * Get total quantity of all lines in O(1)
+     */
+    public int getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    private void adjust(CartItem item, int quantityDelta) {
+        subtotalCents += item.getUnitPrice().getCents() * quantityDelta;
+        totalQuantity += quantityDelta;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ecommerceapp.models;
+
+/**
+ * CartChange model describing what happened to one cart line in a published change
+ * - ADDED: previous is null
+ * - UPDATED: quantity and/or unit price changed
+ * - REMOVED: current is null
+ */
+public final class CartChange {
+    public enum Type {
+        ADDED,
+        UPDATED,
+        REMOVED
+    }
+
+    private final Type type;
+    private final CartItem previous;
+    private final CartItem current;
+
+    private CartChange(Type type, CartItem previous, CartItem current) {
+        this.type = type;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    /**
+     * Compare a line before and after a write
+     * @return CartChange or null if the line did not change
+     */
+    public static CartChange between(CartItem previous, CartItem current) {
+        if (previous == current) {
+            return null;
+        }
+        if (previous == null) {
+            return new CartChange(Type.ADDED, null, current);
+        }
+        if (current == null) {
+            return new CartChange(Type.REMOVED, previous, null);
+        }
+        return new CartChange(Type.UPDATED, previous, current);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getProductId() {
+        return current != null ? current.getProductId() : previous.getProductId();
+    }
+
+    /**
+     * Get the line before the change (null for ADDED)
+     */
+    public CartItem getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Get the line after the change (null for REMOVED)
+     */
+    public CartItem getCurrent() {
+        return current;
+    }
+
+    public boolean isQuantityChanged() {
+        return type != Type.UPDATED || previous.getQuantity() != current.getQuantity();
+    }
+
+    public boolean isPriceChanged() {
+        return type != Type.UPDATED || !previous.getUnitPrice().equals(current.getUnitPrice());
+    }
+
+    @Override
+    public String toString() {
+        return type + " #" + getProductId();
+    }
+}
@@ -1,28 +1,92 @@
 package com.example.ecommerceapp.models;
 
 /**
- * CartItem model representing a product in the shopping cart
- * Contains: product reference and quantity
+ * CartItem model representing a product in the shopping cart (also used as an order line)
+ * Contains: product id, quantity and the unit price at the time of add/purchase
+ * Only those three fields are persisted; the Product is resolved lazily from the catalog
  */
 public class CartItem {
-    private Product product;
+    /**
+     * Looks up the canonical catalog Product for an id
+     */
+    public interface ProductResolver {
+        Product resolve(int productId);
+    }
+
+    private static volatile ProductResolver productResolver;
+
+    private int productId;
     private int quantity;
+    private Money unitPrice = Money.ZERO;
+    private transient Product product;
 
     public CartItem() {
     }
 
     public CartItem(Product product, int quantity) {
+        this.productId = product.getId();
+        this.unitPrice = product.getPrice();
         this.product = product;
         this.quantity = quantity;
     }
 
+    public CartItem(int productId, int quantity, Money unitPrice) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+
+    /**
+     * Copy of this line with another quantity (the original is left untouched)
+     */
+    public CartItem withQuantity(int newQuantity) {
+        CartItem copy = new CartItem(productId, newQuantity, unitPrice);
+        copy.product = product;
+        return copy;
+    }
+
+    /**
+     * Copy of this line with another unit price (the original is left untouched)
+     */
+    public CartItem withUnitPrice(Money newUnitPrice) {
+        CartItem copy = new CartItem(productId, quantity, newUnitPrice);
+        copy.product = product;
+        return copy;
+    }
+
+    /**
+     * Set the catalog lookup used by getProduct() (installed by DataStore)
+     */
+    public static void setProductResolver(ProductResolver resolver) {
+        productResolver = resolver;
+    }
+
     // Getters and Setters
+    /**
+     * Get the catalog product for this line
+     * Falls back to the product passed to the constructor, then to a placeholder
+     * carrying the price snapshot if the product is no longer in the catalog
+     */
     public Product getProduct() {
+        ProductResolver resolver = productResolver;
+        Product resolved = resolver != null ? resolver.resolve(productId) : null;
+        if (resolved != null) {
+            return resolved;
+        }
+        if (product == null) {
+            product = new Product(productId, "Unavailable item", 0, 0, 0, "", null);
+            product.setPrice(unitPrice);
+        }
         return product;
     }
 
-    public void setProduct(Product product) {
-        this.product = product;
+    public int getProductId() {
+        return productId;
+    }
+
+    public void setProductId(int productId) {
+        this.productId = productId;
+        this.product = null;
     }
 
     public int getQuantity() {
@@ -33,10 +97,25 @@ public class CartItem {
         this.quantity = quantity;
     }
 
+    public Money getUnitPrice() {
+        return unitPrice;
+    }
+
+    public void setUnitPrice(Money unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
+    /**
+     * Calculate total price for this cart item from the price snapshot
+     */
+    public Money getTotalPrice() {
+        return unitPrice.times(quantity);
+    }
+
     /**
-     * Calculate total price for this cart item
+     * Line total in cents, for summing without allocating
      */
-    public double getTotalPrice() {
-        return product.getPrice() * quantity;
+    public long getTotalCents() {
+        return unitPrice.getCents() * quantity;
     }
 }
@@ -0,0 +1,58 @@
+package com.example.ecommerceapp.models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CartSnapshot model: an immutable, internally consistent view of the cart at one version
+ * Lines, subtotal and quantity always belong to the same state, so readers on any thread
+ * can use them together without locking
+ */
+public final class CartSnapshot {
+    public static final CartSnapshot EMPTY = new CartSnapshot(Collections.emptyList(), 0, 0, 0);
+
+    private final List<CartItem> items;
+    private final long subtotalCents;
+    private final int totalQuantity;
+    private final long version;
+
+    /**
+     * @param items Lines in cart order; must not be modified afterwards
+     */
+    public CartSnapshot(List<CartItem> items, long subtotalCents, int totalQuantity, long version) {
+        this.items = Collections.unmodifiableList(items);
+        this.subtotalCents = subtotalCents;
+        this.totalQuantity = totalQuantity;
+        this.version = version;
+    }
+
+    /**
+     * Get the lines (read-only; the CartItem instances are never changed after publication)
+     */
+    public List<CartItem> getItems() {
+        return items;
+    }
+
+    public Money getSubtotal() {
+        return Money.ofCents(subtotalCents);
+    }
+
+    public long getSubtotalCents() {
+        return subtotalCents;
+    }
+
+    public int getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    /**
+     * Get version, incremented on every published change
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.ecommerceapp.models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money value type holding an amount as a whole number of cents
+ * Arithmetic is exact (no double rounding drift) and summing cents needs no allocation
+ * Immutable; the display string is formatted once per instance and cached
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+    private transient String formatted;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Convert a double amount, rounding half-up to the nearest cent
+     * Uses the shortest decimal form of the double, so 19.99 becomes exactly 1999 cents
+     */
+    public static Money of(double amount) {
+        return ofCents(BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Parse a decimal string such as "129.99" (or a JSON number literal), rounding half-up to cents
+     * @throws NumberFormatException if the text is not a number
+     */
+    public static Money parse(String amount) {
+        return ofCents(new BigDecimal(amount).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(cents + other.cents);
+    }
+
+    public Money minus(Money other) {
+        return ofCents(cents - other.cents);
+    }
+
+    public Money times(int quantity) {
+        return ofCents(cents * quantity);
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    public double toDouble() {
+        return cents / 100.0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Get display string, e.g. "$129.99" (same output as String.format("$%.2f") in Locale.US)
+     */
+    public String format() {
+        String result = formatted;
+        if (result == null) {
+            result = format(cents);
+            formatted = result;
+        }
+        return result;
+    }
+
+    /**
+     * Format a cent amount without creating a Money or going through java.util.Formatter
+     */
+    public static String format(long cents) {
+        StringBuilder builder = new StringBuilder(16).append('$');
+        if (cents < 0) {
+            builder.append('-');
+        }
+        long abs = Math.abs(cents);
+        long fraction = abs % 100;
+        builder.append(abs / 100).append('.');
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction).toString();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
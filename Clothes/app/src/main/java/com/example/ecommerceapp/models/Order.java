@@ -12,7 +12,7 @@ public class Order {
     private int id;
     private String userEmail;
     private List<CartItem> items;
-    private double total;
+    private Money total = Money.ZERO;
     private Date timestamp;
     private String fullName;
     private String address;
@@ -25,7 +25,7 @@ public class Order {
         this.timestamp = new Date();
     }
 
-    public Order(int id, String userEmail, List<CartItem> items, double total,
+    public Order(int id, String userEmail, List<CartItem> items, Money total,
                  String fullName, String address, String phone, String email) {
         this.id = id;
         this.userEmail = userEmail;
@@ -64,11 +64,11 @@ public class Order {
         this.items = items;
     }
 
-    public double getTotal() {
+    public Money getTotal() {
         return total;
     }
 
-    public void setTotal(double total) {
+    public void setTotal(Money total) {
         this.total = total;
     }
 
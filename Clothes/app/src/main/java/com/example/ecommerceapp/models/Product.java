@@ -7,7 +7,7 @@ package com.example.ecommerceapp.models;
 public class Product {
     private int id;
     private String name;
-    private double price;
+    private Money price = Money.ZERO;
     private double rating;
     private int reviews;
     private String description;
@@ -16,10 +16,13 @@ public class Product {
     public Product() {
     }
 
+    /**
+     * @param price Price in dollars, converted exactly to Money (e.g. 129.99)
+     */
     public Product(int id, String name, double price, double rating, int reviews, String description, String imageUrl) {
         this.id = id;
         this.name = name;
-        this.price = price;
+        this.price = Money.of(price);
         this.rating = rating;
         this.reviews = reviews;
         this.description = description;
@@ -43,11 +46,11 @@ public class Product {
         this.name = name;
     }
 
-    public double getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public void setPrice(double price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
 
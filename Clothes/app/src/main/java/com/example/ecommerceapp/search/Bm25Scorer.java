@@ -0,0 +1,108 @@
+package com.example.ecommerceapp.search;
+
+/**
+ * Bm25Scorer class holding the relevance formula and its tuning knobs for SearchIndex
+ * - Text: BM25F over name and description; each field's term frequency is normalized by
+ *   that field's length against its average, boosted, summed, then saturated with k1
+ * - Prefix matches (a typed term that is only the start of an indexed term) are discounted
+ * - Prior: rating (0-5) scaled by review-count confidence, blended in as a bonus so a
+ *   well-reviewed product wins among similar text matches without beating a clearly better one
+ * Immutable; use the with* methods to derive a tuned copy
+ */
+public final class Bm25Scorer {
+    public static final Bm25Scorer DEFAULT = new Bm25Scorer(1.2, 0.75, 3.0, 1.0, 0.6, 0.5, 20);
+
+    private final double k1;
+    private final double b;
+    private final double nameBoost;
+    private final double descriptionBoost;
+    private final double prefixWeight;
+    private final double priorWeight;
+    private final int priorReviews;
+
+    /**
+     * @param k1 Term frequency saturation (higher: repeated terms keep adding score)
+     * @param b Length normalization, 0 (none) to 1 (full)
+     * @param nameBoost Weight of a name occurrence
+     * @param descriptionBoost Weight of a description occurrence
+     * @param prefixWeight Multiplier for prefix-only matches (0-1)
+     * @param priorWeight Score added for a 5-star product with many reviews (0 disables the prior)
+     * @param priorReviews Review count at which the rating is trusted half-way
+     */
+    public Bm25Scorer(double k1, double b, double nameBoost, double descriptionBoost,
+                      double prefixWeight, double priorWeight, int priorReviews) {
+        this.k1 = k1;
+        this.b = b;
+        this.nameBoost = nameBoost;
+        this.descriptionBoost = descriptionBoost;
+        this.prefixWeight = prefixWeight;
+        this.priorWeight = priorWeight;
+        this.priorReviews = priorReviews;
+    }
+
+    public Bm25Scorer withPriorWeight(double weight) {
+        return new Bm25Scorer(k1, b, nameBoost, descriptionBoost, prefixWeight, weight, priorReviews);
+    }
+
+    public Bm25Scorer withFieldBoosts(double name, double description) {
+        return new Bm25Scorer(k1, b, name, description, prefixWeight, priorWeight, priorReviews);
+    }
+
+    public double getPriorWeight() {
+        return priorWeight;
+    }
+
+    /**
+     * Inverse document frequency (BM25 variant, never negative)
+     * @param documentFrequency Number of products containing the term
+     * @param documentCount Number of indexed products
+     */
+    public double idf(int documentFrequency, int documentCount) {
+        return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    /**
+     * Weight of an indexed term for one query term: its idf, discounted for prefix-only matches
+     */
+    public double termWeight(double idf, boolean prefixOnly) {
+        return prefixOnly ? idf * prefixWeight : idf;
+    }
+
+    /**
+     * Score of one term in one product
+     * @param weight termWeight() of the term
+     * @param nameTf Occurrences in the name
+     * @param nameLength Name length in terms
+     * @param descriptionTf Occurrences in the description
+     * @param descriptionLength Description length in terms
+     */
+    public double score(double weight, int nameTf, int nameLength, double averageNameLength,
+                        int descriptionTf, int descriptionLength, double averageDescriptionLength) {
+        double tf = nameBoost * normalize(nameTf, nameLength, averageNameLength)
+                + descriptionBoost * normalize(descriptionTf, descriptionLength, averageDescriptionLength);
+        return weight * tf * (k1 + 1) / (tf + k1);
+    }
+
+    private double normalize(int tf, int length, double averageLength) {
+        if (tf == 0) {
+            return 0;
+        }
+        return tf / (1 - b + b * length / averageLength);
+    }
+
+    /**
+     * Popularity prior in [0, 1): rating / 5 times the confidence from the review count
+     */
+    public double prior(double rating, int reviews) {
+        double stars = Math.max(0, Math.min(rating, 5)) / 5;
+        int count = Math.max(reviews, 0);
+        return stars * count / (count + (double) priorReviews);
+    }
+
+    /**
+     * Final ranking score of a product
+     */
+    public double blend(double textScore, double prior) {
+        return textScore + priorWeight * prior;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ecommerceapp.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable sorted int array (ascending, no duplicates)
+ * SearchIndex uses it to collect the term ids a query term expands to
+ * Appending in ascending order is amortized O(1); other inserts and removals shift the tail
+ */
+final class IntList {
+    private int[] values;
+    private int size;
+
+    IntList() {
+        values = new int[4];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Add a value, keeping the list sorted
+     * @return false if it was already present
+     */
+    boolean add(int value) {
+        if (size > 0 && values[size - 1] < value) {
+            append(value);
+            return true;
+        }
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return false if the value was not present
+     */
+    boolean remove(int value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    private void append(int value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.ecommerceapp.search;
+
+import java.util.Arrays;
+
+/**
+ * Posting list of one term: document slots in ascending order, with the term's frequency
+ * in each field held in parallel primitive arrays
+ * Appending in slot order is amortized O(1); other inserts and removals shift the tail
+ */
+final class PostingList {
+    private int[] slots = new int[4];
+    private int[] nameTf = new int[4];
+    private int[] descriptionTf = new int[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int slot(int index) {
+        return slots[index];
+    }
+
+    int nameTf(int index) {
+        return nameTf[index];
+    }
+
+    int descriptionTf(int index) {
+        return descriptionTf[index];
+    }
+
+    /**
+     * Add a document (it must not be in the list yet)
+     */
+    void add(int slot, int nameFrequency, int descriptionFrequency) {
+        int insertAt = size > 0 && slots[size - 1] < slot ? size : -Arrays.binarySearch(slots, 0, size, slot) - 1;
+        if (size == slots.length) {
+            int capacity = size * 2;
+            slots = Arrays.copyOf(slots, capacity);
+            nameTf = Arrays.copyOf(nameTf, capacity);
+            descriptionTf = Arrays.copyOf(descriptionTf, capacity);
+        }
+        int tail = size - insertAt;
+        System.arraycopy(slots, insertAt, slots, insertAt + 1, tail);
+        System.arraycopy(nameTf, insertAt, nameTf, insertAt + 1, tail);
+        System.arraycopy(descriptionTf, insertAt, descriptionTf, insertAt + 1, tail);
+        slots[insertAt] = slot;
+        nameTf[insertAt] = nameFrequency;
+        descriptionTf[insertAt] = descriptionFrequency;
+        size++;
+    }
+
+    /**
+     * @return false if the document was not in the list
+     */
+    boolean remove(int slot) {
+        int index = Arrays.binarySearch(slots, 0, size, slot);
+        if (index < 0) {
+            return false;
+        }
+        int tail = size - index - 1;
+        System.arraycopy(slots, index + 1, slots, index, tail);
+        System.arraycopy(nameTf, index + 1, nameTf, index, tail);
+        System.arraycopy(descriptionTf, index + 1, descriptionTf, index, tail);
+        size--;
+        return true;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.ecommerceapp.search;
+
+import java.util.Arrays;
+
+/**
+ * PrefixTrie class mapping terms to dense term ids, with prefix enumeration for type-ahead
+ * Children are kept in small arrays sorted by character and found by binary search,
+ * which is far lighter than a map per node for the short, narrow fan-out of product terms
+ * Not thread-safe; SearchIndex guards it
+ */
+final class PrefixTrie {
+    /**
+     * Receives term ids found under a prefix
+     */
+    interface TermVisitor {
+        void visit(int termId);
+    }
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        int childCount;
+        int termId = -1;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(labels, 0, childCount, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char c) {
+            int index = Arrays.binarySearch(labels, 0, childCount, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (childCount == labels.length) {
+                int capacity = Math.max(2, childCount * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            Node node = new Node();
+            labels[insertAt] = c;
+            children[insertAt] = node;
+            childCount++;
+            return node;
+        }
+    }
+
+    private final Node root = new Node();
+    private String[] terms = new String[16];
+    private int termCount;
+
+    /**
+     * Get the id of a term, adding it if new
+     */
+    int add(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.addChild(term.charAt(i));
+        }
+        if (node.termId < 0) {
+            if (termCount == terms.length) {
+                terms = Arrays.copyOf(terms, termCount * 2);
+            }
+            terms[termCount] = term;
+            node.termId = termCount++;
+        }
+        return node.termId;
+    }
+
+    /**
+     * @return Term id or -1 if the term was never added
+     */
+    int find(String term) {
+        Node node = walk(term);
+        return node != null ? node.termId : -1;
+    }
+
+    /**
+     * Visit every term starting with prefix (including the prefix itself)
+     */
+    void forEachWithPrefix(String prefix, TermVisitor visitor) {
+        Node node = walk(prefix);
+        if (node != null) {
+            visitSubtree(node, visitor);
+        }
+    }
+
+    String term(int termId) {
+        return terms[termId];
+    }
+
+    int size() {
+        return termCount;
+    }
+
+    private Node walk(String text) {
+        Node node = root;
+        for (int i = 0; i < text.length() && node != null; i++) {
+            node = node.child(text.charAt(i));
+        }
+        return node;
+    }
+
+    private static void visitSubtree(Node node, TermVisitor visitor) {
+        if (node.termId >= 0) {
+            visitor.visit(node.termId);
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            visitSubtree(node.children[i], visitor);
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package com.example.ecommerceapp.search;
+
+import com.example.ecommerceapp.models.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SearchIndex class answering product searches over name and description
+ * - Inverted index: term -> PostingList of document slots with per-field term frequencies
+ * - PrefixTrie: finds every term starting with a typed prefix (type-ahead)
+ * - Every query term must match a name or description term, whole or by prefix
+ * - Matches are ranked by Bm25Scorer (BM25F text score blended with a rating/reviews prior)
+ *   and the best are kept with a bounded TopK heap
+ * Products live in dense slots; field lengths, priors and per-query scratch state are plain
+ * arrays indexed by slot, not maps
+ * update() re-indexes only the products whose text changed
+ * query() can narrow the previous result when the user keeps typing (see SearchResult)
+ * Thread-safe (all methods synchronize on the index)
+ */
+public class SearchIndex {
+    private final PrefixTrie trie = new PrefixTrie();
+    private final List<PostingList> postings = new ArrayList<>();
+    private final Map<Integer, Integer> slotByProduct = new HashMap<>();
+    // Stack of slots freed by removals, reused before new slots are added
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+    private int slotCount;
+    private Bm25Scorer scorer = Bm25Scorer.DEFAULT;
+    private long totalNameLength;
+    private long totalDescriptionLength;
+
+    // Per slot
+    private int[] productIds = new int[16];
+    private String[] indexedText = new String[16];
+    private int[][] slotTerms = new int[16][];
+    private int[][] slotNameTf = new int[16][];
+    private int[][] slotDescriptionTf = new int[16][];
+    private int[] nameLengths = new int[16];
+    private int[] descriptionLengths = new int[16];
+    private double[] priors = new double[16];
+    // Raw prior inputs, kept so a new scorer can recompute priors
+    private double[] priorsRating = new double[16];
+    private int[] priorsReviews = new int[16];
+
+    // Query scratch, reset lazily by stamping instead of clearing
+    private int[] queryMark = new int[16];
+    private int[] tokenMark = new int[16];
+    private int[] matched = new int[16];
+    private double[] scores = new double[16];
+    private double[] tokenBest = new double[16];
+    private int[] candidates = new int[16];
+    // Per term, for narrowing
+    private int[] termMark = new int[16];
+    private double[] termWeight = new double[16];
+    private int mark;
+    // Incremented whenever update() changes which products match; results remember it
+    private long version;
+
+    public SearchIndex() {
+    }
+
+    /**
+     * Build an index over a catalog
+     */
+    public static SearchIndex build(List<Product> products) {
+        SearchIndex index = new SearchIndex();
+        index.update(products);
+        return index;
+    }
+
+    /**
+     * Change the ranking formula (takes effect on the next query)
+     */
+    public synchronized void setScorer(Bm25Scorer scorer) {
+        this.scorer = scorer;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (indexedText[slot] != null) {
+                priors[slot] = scorer.prior(priorsRating[slot], priorsReviews[slot]);
+            }
+        }
+    }
+
+    // ========== Indexing ==========
+
+    /**
+     * Bring the index in line with a new catalog
+     * Products that are new or whose text changed are (re)indexed; missing ones are removed;
+     * rating and review changes only refresh the prior
+     * @return Number of products added, changed or removed
+     */
+    public synchronized int update(List<Product> products) {
+        int changes = upsertAll(products);
+        Set<Integer> present = new HashSet<>(products.size() * 2);
+        for (Product product : products) {
+            present.add(product.getId());
+        }
+        if (present.size() < slotByProduct.size()) {
+            List<Integer> removed = new ArrayList<>();
+            for (Integer productId : slotByProduct.keySet()) {
+                if (!present.contains(productId)) {
+                    removed.add(productId);
+                }
+            }
+            for (Integer productId : removed) {
+                removeProduct(productId);
+                changes++;
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Add or re-index some products, leaving every other indexed product in place
+     * (e.g. one chunk of a bulk import)
+     * @return Number of products added or changed
+     */
+    public synchronized int upsert(List<Product> products) {
+        return upsertAll(products);
+    }
+
+    /**
+     * Remove products from the index
+     * @return Number of products that were indexed
+     */
+    public synchronized int remove(int[] productIds) {
+        int removed = 0;
+        for (int productId : productIds) {
+            if (slotByProduct.containsKey(productId)) {
+                removeProduct(productId);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private int upsertAll(List<Product> products) {
+        int changes = 0;
+        boolean matchesChanged = false;
+        for (Product product : products) {
+            String text = textOf(product);
+            Integer slot = slotByProduct.get(product.getId());
+            if (slot == null) {
+                slot = allocateSlot(product.getId());
+                indexText(slot, product, text);
+                matchesChanged = true;
+                changes++;
+            } else if (!text.equals(indexedText[slot])) {
+                unindexText(slot);
+                indexText(slot, product, text);
+                matchesChanged = true;
+                changes++;
+            } else if (priorsRating[slot] != product.getRating() || priorsReviews[slot] != product.getReviews()) {
+                setPrior(slot, product);
+                changes++;
+            }
+        }
+        if (matchesChanged) {
+            version++;
+        }
+        return changes;
+    }
+
+    private void removeProduct(int productId) {
+        int slot = slotByProduct.remove(productId);
+        unindexText(slot);
+        indexedText[slot] = null;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+        version++;
+    }
+
+    /**
+     * Get number of indexed products
+     */
+    public synchronized int size() {
+        return slotByProduct.size();
+    }
+
+    /**
+     * Get number of distinct terms ever indexed
+     */
+    public synchronized int getTermCount() {
+        return trie.size();
+    }
+
+    /**
+     * Text a product is indexed under (used to detect changes)
+     */
+    private static String textOf(Product product) {
+        String name = product.getName() != null ? product.getName() : "";
+        String description = product.getDescription() != null ? product.getDescription() : "";
+        return name + '\u0000' + description;
+    }
+
+    private int allocateSlot(int productId) {
+        int slot;
+        if (freeSlotCount > 0) {
+            slot = freeSlots[--freeSlotCount];
+        } else {
+            slot = slotCount++;
+            ensureSlotCapacity(slotCount);
+        }
+        productIds[slot] = productId;
+        slotByProduct.put(productId, slot);
+        return slot;
+    }
+
+    private void indexText(int slot, Product product, String text) {
+        List<String> nameTokens = Tokenizer.tokenize(product.getName());
+        List<String> descriptionTokens = Tokenizer.tokenize(product.getDescription());
+        // term -> {name tf, description tf}, in first-seen order
+        Map<String, int[]> frequencies = new LinkedHashMap<>();
+        for (String token : nameTokens) {
+            frequency(frequencies, token)[0]++;
+        }
+        for (String token : descriptionTokens) {
+            frequency(frequencies, token)[1]++;
+        }
+
+        int[] terms = new int[frequencies.size()];
+        int[] nameTf = new int[terms.length];
+        int[] descriptionTf = new int[terms.length];
+        int i = 0;
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            int termId = trie.add(entry.getKey());
+            if (termId == postings.size()) {
+                postings.add(new PostingList());
+            }
+            int[] tf = entry.getValue();
+            postings.get(termId).add(slot, tf[0], tf[1]);
+            terms[i] = termId;
+            nameTf[i] = tf[0];
+            descriptionTf[i] = tf[1];
+            i++;
+        }
+        indexedText[slot] = text;
+        slotTerms[slot] = terms;
+        slotNameTf[slot] = nameTf;
+        slotDescriptionTf[slot] = descriptionTf;
+        nameLengths[slot] = nameTokens.size();
+        descriptionLengths[slot] = descriptionTokens.size();
+        totalNameLength += nameTokens.size();
+        totalDescriptionLength += descriptionTokens.size();
+        setPrior(slot, product);
+    }
+
+    private static int[] frequency(Map<String, int[]> frequencies, String token) {
+        int[] tf = frequencies.get(token);
+        if (tf == null) {
+            tf = new int[2];
+            frequencies.put(token, tf);
+        }
+        return tf;
+    }
+
+    private void setPrior(int slot, Product product) {
+        priorsRating[slot] = product.getRating();
+        priorsReviews[slot] = product.getReviews();
+        priors[slot] = scorer.prior(product.getRating(), product.getReviews());
+    }
+
+    private void unindexText(int slot) {
+        for (int termId : slotTerms[slot]) {
+            postings.get(termId).remove(slot);
+        }
+        totalNameLength -= nameLengths[slot];
+        totalDescriptionLength -= descriptionLengths[slot];
+        slotTerms[slot] = null;
+        slotNameTf[slot] = null;
+        slotDescriptionTf[slot] = null;
+        nameLengths[slot] = 0;
+        descriptionLengths[slot] = 0;
+    }
+
+    private void ensureSlotCapacity(int capacity) {
+        if (capacity <= productIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, productIds.length * 2);
+        productIds = Arrays.copyOf(productIds, newCapacity);
+        indexedText = Arrays.copyOf(indexedText, newCapacity);
+        slotTerms = Arrays.copyOf(slotTerms, newCapacity);
+        slotNameTf = Arrays.copyOf(slotNameTf, newCapacity);
+        slotDescriptionTf = Arrays.copyOf(slotDescriptionTf, newCapacity);
+        nameLengths = Arrays.copyOf(nameLengths, newCapacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, newCapacity);
+        priors = Arrays.copyOf(priors, newCapacity);
+        priorsRating = Arrays.copyOf(priorsRating, newCapacity);
+        priorsReviews = Arrays.copyOf(priorsReviews, newCapacity);
+        queryMark = Arrays.copyOf(queryMark, newCapacity);
+        tokenMark = Arrays.copyOf(tokenMark, newCapacity);
+        matched = Arrays.copyOf(matched, newCapacity);
+        scores = Arrays.copyOf(scores, newCapacity);
+        tokenBest = Arrays.copyOf(tokenBest, newCapacity);
+        candidates = Arrays.copyOf(candidates, newCapacity);
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * Find products matching every term of a query, best first
+     * Each query term matches an indexed term equal to it or starting with it
+     * @param query Text as typed
+     * @param limit Maximum number of results
+     * @return Product ids, best match first (empty for a blank query)
+     */
+    public int[] search(String query, int limit) {
+        return query(query, limit, null).getProductIds();
+    }
+
+    /**
+     * Run a query, reusing the result of a shorter query when possible
+     * If query extends previous.getQuery() (e.g. "sh" then "shi") and the index has not
+     * changed since, the previous matches are re-checked instead of walking posting lists,
+     * whenever there are fewer of them than postings to walk
+     * @param previous Result of the last query, or null
+     */
+    public synchronized SearchResult query(String query, int limit, SearchResult previous) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new SearchResult(query, new int[0], new int[0], version, false);
+        }
+
+        // Expand each query term to its matching indexed terms; start from the rarest
+        int documentCount = slotByProduct.size();
+        int[][] expansions = new int[tokens.size()][];
+        double[][] weights = new double[tokens.size()][];
+        long[] costs = new long[tokens.size()];
+        long totalCost = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            expansions[i] = expand(token);
+            if (expansions[i].length == 0) {
+                return new SearchResult(query, new int[0], new int[0], version, false);
+            }
+            for (int termId : expansions[i]) {
+                costs[i] += postings.get(termId).size();
+            }
+            // One idf per query term, from every document it reaches, so a rare longer term
+            // reached by prefix cannot outweigh the whole-term match
+            double idf = scorer.idf((int) Math.min(costs[i], documentCount), documentCount);
+            weights[i] = new double[expansions[i].length];
+            for (int e = 0; e < expansions[i].length; e++) {
+                weights[i][e] = scorer.termWeight(idf, trie.term(expansions[i][e]).length() != token.length());
+            }
+            totalCost += costs[i];
+        }
+        Integer[] order = new Integer[tokens.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(costs[a], costs[b]));
+
+        if (mark > Integer.MAX_VALUE - order.length - 1) {
+            Arrays.fill(queryMark, 0);
+            Arrays.fill(tokenMark, 0);
+            Arrays.fill(termMark, 0);
+            mark = 0;
+        }
+        double averageName = Math.max(1.0, (double) totalNameLength / Math.max(documentCount, 1));
+        double averageDescription = Math.max(1.0, (double) totalDescriptionLength / Math.max(documentCount, 1));
+        boolean narrowed = previous != null && previous.indexVersion == version
+                && previous.isExtendedBy(query) && previous.getMatchCount() < totalCost;
+        int candidateCount = narrowed
+                ? narrow(previous.matchSlots, expansions, weights, averageName, averageDescription)
+                : collect(expansions, weights, order, averageName, averageDescription);
+
+        TopK top = new TopK(limit);
+        int[] matches = new int[candidateCount];
+        int matchCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int slot = candidates[i];
+            if (matched[slot] == order.length) {
+                matches[matchCount++] = slot;
+                top.offer(productIds[slot], scorer.blend(scores[slot], priors[slot]));
+            }
+        }
+        return new SearchResult(query, top.drainDescending(), Arrays.copyOf(matches, matchCount), version, narrowed);
+    }
+
+    /**
+     * Score documents by walking the posting lists of each term's expansion
+     * Terms are processed rarest first; later terms only visit documents that matched
+     * every earlier term. A query term scores its best-matching indexed term per document
+     * @return Number of candidate slots written to candidates (check matched[] for survivors)
+     */
+    private int collect(int[][] expansions, double[][] weights, Integer[] order,
+                        double averageName, double averageDescription) {
+        int queryStamp = ++mark;
+        int candidateCount = 0;
+        for (int k = 0; k < order.length; k++) {
+            int tokenStamp = ++mark;
+            int[] terms = expansions[order[k]];
+            for (int e = 0; e < terms.length; e++) {
+                double weight = weights[order[k]][e];
+                PostingList list = postings.get(terms[e]);
+                for (int p = 0; p < list.size(); p++) {
+                    int slot = list.slot(p);
+                    if (k == 0) {
+                        if (queryMark[slot] != queryStamp) {
+                            queryMark[slot] = queryStamp;
+                            matched[slot] = 0;
+                            scores[slot] = 0;
+                            candidates[candidateCount++] = slot;
+                        }
+                    } else if (queryMark[slot] != queryStamp || matched[slot] < k) {
+                        continue;
+                    }
+                    double score = scorer.score(weight, list.nameTf(p), nameLengths[slot], averageName,
+                            list.descriptionTf(p), descriptionLengths[slot], averageDescription);
+                    if (tokenMark[slot] != tokenStamp) {
+                        tokenMark[slot] = tokenStamp;
+                        matched[slot]++;
+                        scores[slot] += score;
+                        tokenBest[slot] = score;
+                    } else if (score > tokenBest[slot]) {
+                        scores[slot] += score - tokenBest[slot];
+                        tokenBest[slot] = score;
+                    }
+                }
+            }
+        }
+        return candidateCount;
+    }
+
+    /**
+     * Score only the given slots, checking each document's own terms against each
+     * query term's expansion (marked in termMark)
+     * @return Number of matching slots written to candidates
+     */
+    private int narrow(int[] slots, int[][] expansions, double[][] weights,
+                       double averageName, double averageDescription) {
+        if (termMark.length < trie.size()) {
+            termMark = Arrays.copyOf(termMark, Math.max(trie.size(), termMark.length * 2));
+            termWeight = Arrays.copyOf(termWeight, termMark.length);
+        }
+        int count = slots.length;
+        System.arraycopy(slots, 0, candidates, 0, count);
+        for (int i = 0; i < count; i++) {
+            scores[candidates[i]] = 0;
+        }
+        for (int k = 0; k < expansions.length && count > 0; k++) {
+            int termStamp = ++mark;
+            for (int e = 0; e < expansions[k].length; e++) {
+                termMark[expansions[k][e]] = termStamp;
+                termWeight[expansions[k][e]] = weights[k][e];
+            }
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                int slot = candidates[i];
+                int[] terms = slotTerms[slot];
+                boolean found = false;
+                double best = 0;
+                for (int t = 0; t < terms.length; t++) {
+                    if (termMark[terms[t]] == termStamp) {
+                        double score = scorer.score(termWeight[terms[t]],
+                                slotNameTf[slot][t], nameLengths[slot], averageName,
+                                slotDescriptionTf[slot][t], descriptionLengths[slot], averageDescription);
+                        best = found ? Math.max(best, score) : score;
+                        found = true;
+                    }
+                }
+                if (found) {
+                    scores[slot] += best;
+                    candidates[kept++] = slot;
+                }
+            }
+            count = kept;
+        }
+        for (int i = 0; i < count; i++) {
+            matched[candidates[i]] = expansions.length;
+        }
+        return count;
+    }
+
+    /**
+     * Get ids of the indexed terms equal to or starting with a query term
+     */
+    private int[] expand(String token) {
+        IntList found = new IntList();
+        trie.forEachWithPrefix(token, termId -> {
+            if (postings.get(termId).size() > 0) {
+                found.add(termId);
+            }
+        });
+        int[] terms = new int[found.size()];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = found.get(i);
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.ecommerceapp.search;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.ecommerceapp.data.ProductRepository;
+import com.example.ecommerceapp.data.WriteBehindScheduler;
+import com.example.ecommerceapp.models.Product;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * SearchPipeline class turning keystrokes into search results off the main thread
+ * - setQuery() restarts a short debounce timer; only the text present when it fires is searched
+ * - The search runs on a background executor; a newer query cancels a queued one
+ * - A query that extends the last delivered one narrows its matches (SearchIndex.query)
+ * - Results are delivered on the callback executor, only if no newer query was made since,
+ *   so a slow stale search can never overwrite a newer result
+ * setQuery() and cancel() must be called from the thread that runs the scheduler (main)
+ */
+public class SearchPipeline {
+    /**
+     * Receives the results of the latest query
+     */
+    public interface Listener {
+        void onResults(String query, List<Product> products);
+    }
+
+    private static ExecutorService sharedWorker;
+
+    private final Supplier<SearchIndex> index;
+    private final ProductRepository catalog;
+    private final Executor worker;
+    private final WriteBehindScheduler.Scheduler scheduler;
+    private final Executor callbackExecutor;
+    private final long debounceMillis;
+    private final int limit;
+    private final Listener listener;
+
+    private final AtomicInteger generation = new AtomicInteger();
+    private final Runnable fireTask = this::fire;
+    private String pendingQuery = "";
+    private FutureTask<Void> running;
+    // Last result delivered to the listener; narrowing starts from it
+    private volatile SearchResult delivered;
+
+    /**
+     * @param index Supplies the index; called on the worker, so it may build it lazily
+     * @param catalog Product lookup for the matched ids
+     * @param worker Runs the searches
+     * @param scheduler Debounce timer (its thread is the thread setQuery is called on)
+     * @param callbackExecutor Delivers results (normally the main thread)
+     */
+    public SearchPipeline(Supplier<SearchIndex> index, ProductRepository catalog, Executor worker,
+                          WriteBehindScheduler.Scheduler scheduler, Executor callbackExecutor,
+                          long debounceMillis, int limit, Listener listener) {
+        this.index = index;
+        this.catalog = catalog;
+        this.worker = worker;
+        this.scheduler = scheduler;
+        this.callbackExecutor = callbackExecutor;
+        this.debounceMillis = debounceMillis;
+        this.limit = limit;
+        this.listener = listener;
+    }
+
+    /**
+     * Pipeline searching on a shared background thread and delivering on the main thread
+     */
+    public static SearchPipeline onMainThread(Supplier<SearchIndex> index, ProductRepository catalog,
+                                              long debounceMillis, int limit, Listener listener) {
+        Handler handler = new Handler(Looper.getMainLooper());
+        return new SearchPipeline(index, catalog, sharedWorker(), WriteBehindScheduler.mainThread(),
+                handler::post, debounceMillis, limit, listener);
+    }
+
+    private static synchronized ExecutorService sharedWorker() {
+        if (sharedWorker == null) {
+            sharedWorker = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "search");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return sharedWorker;
+    }
+
+    /**
+     * Set the text to search for; a blank query clears the results at once
+     */
+    public void setQuery(String query) {
+        generation.incrementAndGet();
+        pendingQuery = query;
+        scheduler.removeCallbacks(fireTask);
+        cancelRunning();
+        if (Tokenizer.tokenize(query).isEmpty()) {
+            delivered = null;
+            listener.onResults(query, Collections.emptyList());
+            return;
+        }
+        scheduler.postDelayed(fireTask, debounceMillis);
+    }
+
+    /**
+     * Drop the pending and running searches (e.g. when the screen is destroyed)
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+        scheduler.removeCallbacks(fireTask);
+        cancelRunning();
+    }
+
+    private void cancelRunning() {
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+        }
+    }
+
+    /**
+     * Debounce period elapsed: search for the latest text
+     */
+    private void fire() {
+        int ticket = generation.get();
+        String query = pendingQuery;
+        running = new FutureTask<>(() -> {
+            search(ticket, query);
+            return null;
+        });
+        worker.execute(running);
+    }
+
+    private void search(int ticket, String query) {
+        if (ticket != generation.get()) {
+            return;
+        }
+        SearchResult result = index.get().query(query, limit, delivered);
+        if (ticket != generation.get()) {
+            return;
+        }
+        Product[] found = catalog.getAll(result.getProductIds());
+        List<Product> products = new ArrayList<>(found.length);
+        for (Product product : found) {
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        callbackExecutor.execute(() -> {
+            // A newer query may have been typed while this one ran
+            if (ticket == generation.get()) {
+                delivered = result;
+                listener.onResults(query, Collections.unmodifiableList(products));
+            }
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ecommerceapp.search;
+
+import java.util.Locale;
+
+/**
+ * SearchResult class holding the outcome of one SearchIndex query
+ * - productIds: the best matches, ranked
+ * - every match (unranked), so a longer query typed next can narrow this result
+ *   instead of searching the whole index again
+ */
+public final class SearchResult {
+    private final String query;
+    private final int[] productIds;
+    // Slots of every matching product, valid while the index is at indexVersion
+    final int[] matchSlots;
+    final long indexVersion;
+    private final boolean narrowed;
+
+    SearchResult(String query, int[] productIds, int[] matchSlots, long indexVersion, boolean narrowed) {
+        this.query = query;
+        this.productIds = productIds;
+        this.matchSlots = matchSlots;
+        this.indexVersion = indexVersion;
+        this.narrowed = narrowed;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Get the ranked product ids, best first (do not modify)
+     */
+    public int[] getProductIds() {
+        return productIds;
+    }
+
+    /**
+     * Get number of products matching the query (may exceed the result limit)
+     */
+    public int getMatchCount() {
+        return matchSlots.length;
+    }
+
+    /**
+     * Check whether this result was computed by narrowing a previous one
+     */
+    public boolean isNarrowed() {
+        return narrowed;
+    }
+
+    /**
+     * Check whether a query only adds characters to this one, so its matches are a subset
+     * (every query term matches by prefix, so extending a term or adding one can only narrow)
+     */
+    boolean isExtendedBy(String newQuery) {
+        return newQuery.toLowerCase(Locale.ROOT).startsWith(query.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ecommerceapp.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tokenizer class splitting product text and queries into search terms
+ * - Terms are runs of letters and digits, lowercased (Locale.ROOT)
+ * - Everything else (spaces, punctuation, symbols) separates terms
+ */
+public final class Tokenizer {
+    private Tokenizer() {
+    }
+
+    /**
+     * Split text into terms, in order (duplicates kept)
+     * @param text Text to split; null gives no terms
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean termChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.ecommerceapp.search;
+
+/**
+ * TopK class keeping the k best (score, id) pairs seen, in a bounded min-heap
+ * Offering n candidates costs O(n log k) and no allocation; equal scores prefer the lower id
+ * so results are stable
+ */
+public final class TopK {
+    private final int capacity;
+    private final int[] ids;
+    private final double[] scores;
+    private int size;
+
+    public TopK(int capacity) {
+        this.capacity = capacity;
+        this.ids = new int[Math.max(capacity, 0)];
+        this.scores = new double[Math.max(capacity, 0)];
+    }
+
+    /**
+     * Offer a candidate; it is kept if it beats the worst one held
+     */
+    public void offer(int id, double score) {
+        if (size < capacity) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (capacity > 0 && better(score, id, scores[0], ids[0])) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove the held ids, best first (the heap is empty afterwards)
+     */
+    public int[] drainDescending() {
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = ids[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return result;
+    }
+
+    private static boolean better(double score, int id, double otherScore, int otherId) {
+        return score > otherScore || (score == otherScore && id < otherId);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!better(scores[parent], ids[parent], scores[index], ids[index])) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = index * 2 + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(scores[worst], ids[worst], scores[right], ids[right])) {
+                worst = right;
+            }
+            if (!better(scores[index], ids[index], scores[worst], ids[worst])) {
+                return;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.ecommerceapp.utils;
 
 /**
- * Constants class for Intent extras and SharedPreferences keys
+ * Constants class for Intent extras, SharedPreferences keys and file names
  * Used throughout the app for navigation and data persistence
  */
 public class Constants {
@@ -9,12 +9,53 @@ public class Constants {
     public static final String EXTRA_PRODUCT_ID = "extra_product_id";
     public static final String EXTRA_ORDER_ID = "extra_order_id";
 
-    // SharedPreferences Keys
+    // SharedPreferences Files
+    // PREFS_NAME is the legacy combined file, migrated into the per-domain files below
     public static final String PREFS_NAME = "ecommerce_prefs";
+    public static final String PREFS_USERS = "ecommerce_users";
+    public static final String PREFS_SESSION = "ecommerce_session";
+    public static final String PREFS_CART = "ecommerce_cart";
+    public static final String PREFS_PRODUCTS = "ecommerce_products";
+    public static final String PREFS_COUNTERS = "ecommerce_counters";
+
+    // SharedPreferences Keys
     public static final String KEY_USERS = "users";
     public static final String KEY_CURRENT_USER = "current_user";
     public static final String KEY_CART = "cart";
     public static final String KEY_ORDERS = "orders";
     public static final String KEY_PRODUCTS = "products";
     public static final String KEY_LAST_ORDER_ID = "last_order_id";
+    public static final String KEY_CATALOG_VERSION = "catalog_version";
+
+    // Persistence timing
+    public static final long CART_WRITE_DELAY_MS = 500;
+
+    // Search
+    public static final int SEARCH_MAX_RESULTS = 50;
+    public static final long SEARCH_DEBOUNCE_MS = 150;
+
+    // Catalog paging (HomeActivity grid)
+    public static final int CATALOG_PAGE_SIZE = 40;
+    public static final int CATALOG_PREFETCH_DISTANCE = 20;
+    public static final int CATALOG_RETAIN_PAGES = 2;
+
+    // Catalog import
+    public static final int IMPORT_CHUNK_SIZE = 2000;
+    public static final int IMPORT_MAX_REJECTS_KEPT = 100;
+    public static final String CATALOG_ASSET = "catalog.jsonl";
+
+    // Catalog deltas: logged deltas are folded into the saved catalog after this many
+    public static final int CATALOG_DELTA_COMPACT_RECORDS = 32;
+
+    // Files (under Context.getFilesDir())
+    public static final String ORDER_LOG_FILE = "orders.log";
+    public static final String ORDER_INDEX_FILE = "orders.idx";
+    // Side-loaded catalogs, imported instead of CATALOG_ASSET when present
+    public static final String CATALOG_IMPORT_JSONL_FILE = "catalog.jsonl";
+    public static final String CATALOG_IMPORT_CSV_FILE = "catalog.csv";
+    public static final String CATALOG_DELTA_LOG_FILE = "catalog_deltas.log";
+    // Base catalog (ChunkedCatalogStore), replacing KEY_PRODUCTS
+    public static final String CATALOG_BASE_FILE = "catalog_base.log";
+    // Feed directory of CatalogDelta files (*.json), applied at startup when newer than the catalog
+    public static final String CATALOG_DELTA_DIR = "catalog_deltas";
 }
@@ -1,28 +1,44 @@
 package com.example.ecommerceapp.utils;
 
-import java.util.Calendar;
+import java.time.Clock;
+import java.time.ZonedDateTime;
 import java.util.Date;
 
 /**
  * Date utility class for filtering orders by date
  * Provides method to check if a date is within last 6 months
+ * "Now" comes from an injectable Clock so windows can be tested deterministically
  */
 public class DateUtils {
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Replace the clock used for "now" (tests); pass null to restore the system clock
+     */
+    public static void setClock(Clock newClock) {
+        clock = newClock != null ? newClock : Clock.systemDefaultZone();
+    }
+
+    public static Clock getClock() {
+        return clock;
+    }
+
     /**
      * Check if a given date is within the last 6 months from now
+     * Computes the cutoff on every call; use getSixMonthsAgo() once when checking many dates
      * @param date The date to check
      * @return true if date is within last 6 months, false otherwise
      */
     public static boolean isWithinLast6Months(Date date) {
-        if (date == null) {
-            return false;
-        }
-
-        Calendar sixMonthsAgo = Calendar.getInstance();
-        sixMonthsAgo.add(Calendar.MONTH, -6);
-        Date sixMonthsAgoDate = sixMonthsAgo.getTime();
+        return isOnOrAfter(date, getSixMonthsAgo());
+    }
 
-        return date.after(sixMonthsAgoDate) || date.equals(sixMonthsAgoDate);
+    /**
+     * Check if a date is at or after a precomputed cutoff
+     * @return false if date is null
+     */
+    public static boolean isOnOrAfter(Date date, Date cutoff) {
+        return date != null && date.getTime() >= cutoff.getTime();
     }
 
     /**
@@ -30,8 +46,13 @@ public class DateUtils {
      * @return Date object representing 6 months ago
      */
     public static Date getSixMonthsAgo() {
-        Calendar sixMonthsAgo = Calendar.getInstance();
-        sixMonthsAgo.add(Calendar.MONTH, -6);
-        return sixMonthsAgo.getTime();
+        return getMonthsAgo(6);
+    }
+
+    /**
+     * Get the date a number of calendar months before now, in the clock's time zone
+     */
+    public static Date getMonthsAgo(int months) {
+        return Date.from(ZonedDateTime.now(clock).minusMonths(months).toInstant());
     }
 }
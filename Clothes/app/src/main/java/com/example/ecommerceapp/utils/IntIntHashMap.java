@@ -0,0 +1,107 @@
+package com.example.ecommerceapp.utils;
+
+/**
+ * IntIntHashMap class: a hash map from primitive int keys to primitive int values
+ * - Open addressing with linear probing over parallel int[] arrays, like IntObjectHashMap,
+ *   so neither keys nor values are boxed
+ * - Insert and lookup only (no removal), for bookkeeping such as "first line of each id"
+ * Not thread-safe
+ */
+public class IntIntHashMap {
+    private static final int MIX = 0x9E3779B9;
+
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize Number of entries the map holds without resizing
+     */
+    public IntIntHashMap(int expectedSize) {
+        int capacity = 4;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the value for a key
+     * @param missing Returned if the key is absent
+     */
+    public int get(int key, int missing) {
+        for (int slot = slotOf(key); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return missing;
+    }
+
+    public boolean containsKey(int key) {
+        for (int slot = slotOf(key); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Map a key to a value, replacing any previous value
+     */
+    public void put(int key, int value) {
+        int slot = slotOf(key);
+        for (; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size > (mask + 1) * 3 / 4) {
+            resize(keys.length * 2);
+        }
+    }
+
+    private int slotOf(int key) {
+        int hash = key * MIX;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotOf(oldKeys[i]);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.ecommerceapp.utils;
+
+/**
+ * IntLongHashMap class: a hash map from primitive int keys to primitive long values
+ * - Open addressing with linear probing over parallel int[] / long[] arrays, like IntObjectHashMap,
+ *   so neither keys nor values are boxed
+ * - Insert, lookup and iteration only (no removal), e.g. order id -> log offset
+ * Not thread-safe
+ */
+public class IntLongHashMap {
+    /**
+     * Receives one entry in forEach
+     */
+    public interface Entry {
+        void accept(int key, long value);
+    }
+
+    private static final int MIX = 0x9E3779B9;
+
+    private int[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    public IntLongHashMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize Number of entries the map holds without resizing
+     */
+    public IntLongHashMap(int expectedSize) {
+        int capacity = 4;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        keys = new int[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the value for a key
+     * @param missing Returned if the key is absent
+     */
+    public long get(int key, long missing) {
+        for (int slot = slotOf(key); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return missing;
+    }
+
+    public boolean containsKey(int key) {
+        for (int slot = slotOf(key); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Map a key to a value, replacing any previous value
+     */
+    public void put(int key, long value) {
+        int slot = slotOf(key);
+        for (; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size > (mask + 1) * 3 / 4) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Call an action for every entry (in no particular order; do not modify the map meanwhile)
+     */
+    public void forEach(Entry action) {
+        for (int slot = 0; slot < used.length; slot++) {
+            if (used[slot]) {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private int slotOf(int key) {
+        int hash = key * MIX;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new int[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotOf(oldKeys[i]);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.ecommerceapp.utils;
+
+import java.util.Arrays;
+
+/**
+ * IntObjectHashMap class: a hash map from primitive int keys to objects
+ * - Open addressing with linear probing over parallel int[] / Object[] arrays, so lookups
+ *   never box the key and entries cost no node objects
+ * - Removal shifts the following entries back instead of leaving tombstones
+ * Null values are not allowed (null marks an empty slot); not thread-safe
+ */
+public class IntObjectHashMap<V> {
+    /**
+     * Receives one entry in forEach
+     */
+    public interface Entry<V> {
+        void accept(int key, V value);
+    }
+
+    private static final int MIX = 0x9E3779B9;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public IntObjectHashMap() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize Number of entries the map holds without resizing
+     */
+    public IntObjectHashMap(int expectedSize) {
+        int capacity = 4;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Copy another map (array copies; no rehashing)
+     */
+    public IntObjectHashMap(IntObjectHashMap<? extends V> other) {
+        keys = other.keys.clone();
+        values = other.values.clone();
+        mask = other.mask;
+        size = other.size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the value for a key
+     * @return Value or null if the key is absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        for (int slot = slotOf(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Map a key to a value
+     * @return Previous value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int slot = slotOf(key);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > (mask + 1) * 3 / 4) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Remove a key
+     * @return Removed value or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = slotOf(key);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V removed = (V) values[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Call an action for every entry (in no particular order; do not modify the map meanwhile)
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Entry<V> action) {
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                action.accept(keys[slot], (V) values[slot]);
+            }
+        }
+    }
+
+    private int slotOf(int key) {
+        int hash = key * MIX;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Close the gap at an emptied slot by moving back later entries of the same probe run
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null) {
+                break;
+            }
+            int home = slotOf(keys[slot]);
+            // Move the entry if its home slot is not between the gap and its current slot
+            boolean movable = gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot);
+            if (movable) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slotOf(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.ecommerceapp.catalog;
+
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of sort + filter on a 100k-product catalog
+ * - stream: filter and sort the List<Product> with java.util.stream and comparators
+ * - columnar: ColumnarCatalog.query into a reused row buffer
+ */
+public class ColumnarCatalogBenchmark {
+    private static final int PRODUCTS = 100_000;
+    private static final int ROUNDS = 20;
+
+    @Test
+    public void sortAndFilterLatency() {
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        Random random = new Random(42);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Product(i + 1, "Product " + i, 5 + random.nextInt(30000) / 100.0,
+                    1 + random.nextInt(41) / 10.0, random.nextInt(5000), "", null));
+        }
+        long begin = System.nanoTime();
+        ColumnarCatalog catalog = ColumnarCatalog.build(products);
+        long buildNanos = System.nanoTime() - begin;
+
+        Money min = Money.of(20);
+        Money max = Money.of(80);
+        Object[][] cases = {
+                {"price asc", CatalogQuery.all().sortedBy(CatalogQuery.Sort.PRICE_ASC),
+                        Comparator.comparing(Product::getPrice), null, 0.0},
+                {"rating >= 4", CatalogQuery.all().minRating(4).sortedBy(CatalogQuery.Sort.RATING),
+                        Comparator.comparingDouble(Product::getRating).reversed(), null, 4.0},
+                {"$20-80 by price", CatalogQuery.all().priceBetween(min, max).sortedBy(CatalogQuery.Sort.PRICE_ASC),
+                        Comparator.comparing(Product::getPrice), min, 0.0},
+                {"$20-80 >= 4 popular", CatalogQuery.all().priceBetween(min, max).minRating(4)
+                        .sortedBy(CatalogQuery.Sort.POPULARITY),
+                        Comparator.comparingInt(Product::getReviews).reversed(), min, 4.0},
+        };
+
+        System.out.println("Sort + filter over " + PRODUCTS + " products (columnar build "
+                + buildNanos / 1_000_000 + " ms), best of " + ROUNDS);
+        System.out.println("  query                  stream (ms)   columnar (ms)   rows");
+        int[] buffer = new int[catalog.size()];
+        for (Object[] c : cases) {
+            CatalogQuery query = (CatalogQuery) c[1];
+            @SuppressWarnings("unchecked")
+            Comparator<Product> order = (Comparator<Product>) c[2];
+            Money from = (Money) c[3];
+            double stars = (double) c[4];
+            long bestStream = Long.MAX_VALUE;
+            long bestColumnar = Long.MAX_VALUE;
+            int streamed = 0;
+            int rows = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                begin = System.nanoTime();
+                List<Product> result = products.stream()
+                        .filter(p -> from == null || (p.getPrice().compareTo(min) >= 0 && p.getPrice().compareTo(max) <= 0))
+                        .filter(p -> p.getRating() >= stars)
+                        .sorted(order)
+                        .collect(Collectors.toList());
+                bestStream = Math.min(bestStream, System.nanoTime() - begin);
+                streamed = result.size();
+
+                begin = System.nanoTime();
+                rows = catalog.query(query, buffer);
+                bestColumnar = Math.min(bestColumnar, System.nanoTime() - begin);
+            }
+            assertEquals(streamed, rows);
+            System.out.printf("  %-22s %11.3f %15.3f %6d%n", c[0], bestStream / 1e6, bestColumnar / 1e6, rows);
+        }
+    }
+}
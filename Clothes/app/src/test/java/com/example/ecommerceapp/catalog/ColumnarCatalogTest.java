@@ -0,0 +1,129 @@
+package com.example.ecommerceapp.catalog;
+
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for ColumnarCatalog sorting and filtering
+ */
+public class ColumnarCatalogTest {
+
+    @Test
+    public void sortsByEachColumn() {
+        ColumnarCatalog catalog = ColumnarCatalog.build(catalog());
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5}, ids(catalog, CatalogQuery.all()));
+        assertArrayEquals(new int[]{3, 5, 1, 2, 4},
+                ids(catalog, CatalogQuery.all().sortedBy(CatalogQuery.Sort.PRICE_ASC)));
+        assertArrayEquals(new int[]{4, 2, 1, 5, 3},
+                ids(catalog, CatalogQuery.all().sortedBy(CatalogQuery.Sort.PRICE_DESC)));
+        // 2 and 4 are both rated 4.8: more reviews first
+        assertArrayEquals(new int[]{4, 2, 1, 3, 5},
+                ids(catalog, CatalogQuery.all().sortedBy(CatalogQuery.Sort.RATING)));
+        assertArrayEquals(new int[]{3, 4, 2, 1, 5},
+                ids(catalog, CatalogQuery.all().sortedBy(CatalogQuery.Sort.POPULARITY)));
+    }
+
+    @Test
+    public void filtersOnPriceRangeAndRating() {
+        ColumnarCatalog catalog = ColumnarCatalog.build(catalog());
+
+        CatalogQuery midPriced = CatalogQuery.all().priceBetween(Money.of(19.99), Money.of(59.99));
+        assertArrayEquals(new int[]{1, 2, 5}, ids(catalog, midPriced));
+        assertArrayEquals(new int[]{5, 1, 2}, ids(catalog, midPriced.sortedBy(CatalogQuery.Sort.PRICE_ASC)));
+
+        assertArrayEquals(new int[]{4, 2},
+                ids(catalog, CatalogQuery.all().minRating(4.8).sortedBy(CatalogQuery.Sort.RATING)));
+        assertArrayEquals(new int[]{2, 1},
+                ids(catalog, CatalogQuery.all().priceBetween(null, Money.of(60)).minRating(4.5)
+                        .sortedBy(CatalogQuery.Sort.PRICE_DESC)));
+        assertArrayEquals(new int[0], ids(catalog, CatalogQuery.all().minRating(5.1)));
+        assertArrayEquals(new int[0], ids(catalog, CatalogQuery.all().priceBetween(Money.of(1000), null)
+                .sortedBy(CatalogQuery.Sort.PRICE_ASC)));
+    }
+
+    @Test
+    public void countsMatchesPerStarIgnoringTheRatingFilter() {
+        ColumnarCatalog catalog = ColumnarCatalog.build(catalog());
+
+        assertArrayEquals(new int[]{0, 0, 0, 1, 4, 0},
+                catalog.countByStars(CatalogQuery.all().minRating(4.8)));
+        assertArrayEquals(new int[]{0, 0, 0, 1, 2, 0},
+                catalog.countByStars(CatalogQuery.all().priceBetween(Money.of(19.99), Money.of(59.99))));
+    }
+
+    @Test
+    public void matchesStreamFilteringOnRandomCatalog() {
+        List<Product> products = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 2000; i++) {
+            products.add(new Product(i + 1, "P" + i, random.nextInt(20000) / 100.0, random.nextInt(51) / 10.0,
+                    random.nextInt(50), "", null));
+        }
+        ColumnarCatalog catalog = ColumnarCatalog.build(products);
+        Money min = Money.of(25);
+        Money max = Money.of(120);
+
+        for (CatalogQuery.Sort sort : CatalogQuery.Sort.values()) {
+            CatalogQuery query = CatalogQuery.all().priceBetween(min, max).minRating(3.5).sortedBy(sort);
+            List<Integer> expected = products.stream()
+                    .filter(p -> p.getPrice().compareTo(min) >= 0 && p.getPrice().compareTo(max) <= 0)
+                    .filter(p -> p.getRating() >= 3.5)
+                    .sorted(comparator(sort))
+                    .map(Product::getId)
+                    .collect(Collectors.toList());
+            int[] actual = ids(catalog, query);
+            assertEquals(sort.name(), expected.size(), actual.length);
+            for (int i = 0; i < actual.length; i++) {
+                assertEquals(sort.name() + " at " + i, (int) expected.get(i), actual[i]);
+            }
+        }
+    }
+
+    private static Comparator<Product> comparator(CatalogQuery.Sort sort) {
+        switch (sort) {
+            case PRICE_ASC:
+                return Comparator.comparing(Product::getPrice);
+            case PRICE_DESC:
+                // Equal prices come out in reverse catalog order
+                return Comparator.comparing(Product::getPrice).thenComparing(Product::getId).reversed();
+            case RATING:
+                return Comparator.comparingDouble(Product::getRating).reversed()
+                        .thenComparing(Comparator.comparingInt(Product::getReviews).reversed());
+            case POPULARITY:
+                return Comparator.comparingInt(Product::getReviews).reversed()
+                        .thenComparing(Comparator.comparingDouble(Product::getRating).reversed());
+            default:
+                return Comparator.comparingInt(Product::getId);
+        }
+    }
+
+    private static int[] ids(ColumnarCatalog catalog, CatalogQuery query) {
+        int[] rows = catalog.query(query);
+        int[] ids = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            ids[i] = catalog.getId(rows[i]);
+        }
+        return ids;
+    }
+
+    private static List<Product> catalog() {
+        List<Product> products = new ArrayList<>();
+        products.add(new Product(1, "Linen Shirt", 49.99, 4.5, 120, "", null));
+        products.add(new Product(2, "Wool Coat", 59.99, 4.8, 200, "", null));
+        products.add(new Product(3, "Cotton Socks", 9.99, 4.2, 900, "", null));
+        products.add(new Product(4, "Leather Boots", 129.99, 4.8, 310, "", null));
+        products.add(new Product(5, "Canvas Tote", 19.99, 3.9, 45, "", null));
+        return products;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.ecommerceapp.catalog;
+
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for PagedCatalog loading, prefetch and page eviction
+ * Worker and main thread are manual queues; GeneratedStore makes products on demand (like a
+ * store reading from disk), the HomeActivity path pages over ColumnarCatalog.asStore
+ */
+public class PagedCatalogTest {
+    private static final int PAGE_SIZE = 40;
+    private static final int PREFETCH = 20;
+    private static final int RETAIN = 2;
+
+    private final Deque<Runnable> worker = new ArrayDeque<>();
+    private final Deque<Runnable> main = new ArrayDeque<>();
+    private final List<int[]> loadedRanges = new ArrayList<>();
+
+    @Test
+    public void missingRowIsNullUntilItsPageArrives() {
+        GeneratedStore store = new GeneratedStore(100);
+        PagedCatalog catalog = paged(store);
+
+        assertNull(catalog.get(45));
+        assertNull(catalog.get(46));           // same page: no second read
+        runAll();
+
+        assertEquals(1, store.reads);
+        assertEquals(46, catalog.get(45).getId());
+        assertArrayEquals(new int[]{40, 40}, loadedRanges.get(0));
+        // Last page is short
+        catalog.onVisibleRange(95, 99);
+        runAll();
+        assertEquals(100, catalog.get(99).getId());
+        assertArrayEquals(new int[]{80, 20}, loadedRanges.get(loadedRanges.size() - 1));
+    }
+
+    @Test
+    public void prefetchesNextPageNearTheEnd() {
+        GeneratedStore store = new GeneratedStore(1000);
+        PagedCatalog catalog = paged(store);
+
+        catalog.onVisibleRange(0, 11);
+        runAll();
+        assertEquals(1, catalog.getLoadedPageCount());
+
+        // Within PREFETCH rows of page 1
+        catalog.onVisibleRange(10, 25);
+        runAll();
+        assertEquals(2, catalog.getLoadedPageCount());
+        assertNotNull(catalog.get(40));
+    }
+
+    @Test
+    public void pageArrivingAfterScrollingAwayIsDropped() {
+        GeneratedStore store = new GeneratedStore(10_000);
+        PagedCatalog catalog = paged(store);
+
+        catalog.onVisibleRange(0, 11);
+        catalog.onVisibleRange(5000, 5011);
+        runAll();
+
+        // Page 0 was read but not kept; page 125 (rows 5000-5039) and the prefetched page
+        // before it were
+        assertEquals(3, store.reads);
+        assertEquals(2, catalog.getLoadedPageCount());
+        assertEquals(2, loadedRanges.size());
+        for (int[] range : loadedRanges) {
+            assertTrue(range[0] >= 4960);
+        }
+    }
+
+    @Test
+    public void closedCatalogIgnoresLateResults() {
+        GeneratedStore store = new GeneratedStore(100);
+        PagedCatalog catalog = paged(store);
+
+        catalog.onVisibleRange(0, 11);
+        catalog.close();
+        runAll();
+
+        assertEquals(0, catalog.getLoadedPageCount());
+        assertTrue(loadedRanges.isEmpty());
+    }
+
+    @Test
+    public void loadedPagesStayBoundedScrollingA100kCatalog() {
+        int size = 100_000;
+        GeneratedStore store = new GeneratedStore(size);
+        PagedCatalog catalog = paged(store);
+        int visibleRows = 12;
+        int maxPages = (visibleRows / PAGE_SIZE + 2) + 2 * RETAIN;
+        int peakPages = 0;
+
+        // Scroll down 6 rows per frame to the end, then fling back up 500 rows per frame
+        for (int first = 0; first + visibleRows <= size; first += 6) {
+            catalog.onVisibleRange(first, first + visibleRows - 1);
+            runAll();
+            assertNotNull(catalog.get(first));
+            peakPages = Math.max(peakPages, catalog.getLoadedPageCount());
+        }
+        for (int first = size - visibleRows; first >= 0; first -= 500) {
+            catalog.onVisibleRange(first, first + visibleRows - 1);
+            runAll();
+            assertNotNull(catalog.get(first + visibleRows - 1));
+            peakPages = Math.max(peakPages, catalog.getLoadedPageCount());
+        }
+
+        assertTrue("peak " + peakPages + " pages", peakPages <= maxPages);
+        assertTrue(catalog.getLoadedPageCount() * PAGE_SIZE < 500);
+        // Every page read once on the way down; at most a visible page and a prefetch per jump up
+        assertTrue("reads " + store.reads, store.reads <= size / PAGE_SIZE + 2 * (size / 500 + 1));
+    }
+
+    @Test
+    public void columnarPagesShareTheCatalogsProducts() {
+        int size = 20_000;
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(new Product(i + 1, "Product " + i, 10.00 + i % 50, 1.0 + i % 5, i % 100, "", null));
+        }
+        ColumnarCatalog columns = ColumnarCatalog.build(products);
+        int[] rows = columns.query(CatalogQuery.all().sortedBy(CatalogQuery.Sort.PRICE_ASC));
+        PagedCatalog catalog = paged(columns.asStore(rows));
+        int visibleRows = 12;
+        int maxPages = (visibleRows / PAGE_SIZE + 2) + 2 * RETAIN;
+
+        for (int first = 0; first + visibleRows <= size; first += 6) {
+            catalog.onVisibleRange(first, first + visibleRows - 1);
+            runAll();
+            for (int position = first; position < first + visibleRows; position++) {
+                // The grid binds the catalog's own instance: paging allocates no products
+                assertSame(products.get(rows[position]), catalog.get(position));
+            }
+            assertTrue(catalog.getLoadedProductCount() <= maxPages * PAGE_SIZE);
+        }
+        // The pager's own retention is bounded, but every product stays in the ColumnarCatalog:
+        // on this path paging saves copies, not the decoded catalog
+        assertEquals(size, columns.size());
+    }
+
+    private PagedCatalog paged(CatalogStore store) {
+        return new PagedCatalog(store, worker::add, main::add, PAGE_SIZE, PREFETCH, RETAIN,
+                (position, count) -> loadedRanges.add(new int[]{position, count}));
+    }
+
+    private void runAll() {
+        while (!worker.isEmpty() || !main.isEmpty()) {
+            while (!worker.isEmpty()) {
+                worker.poll().run();
+            }
+            while (!main.isEmpty()) {
+                main.poll().run();
+            }
+        }
+    }
+
+    /**
+     * Store producing products from their position (like reading one page from disk)
+     */
+    private static final class GeneratedStore implements CatalogStore {
+        private final int size;
+        int reads;
+
+        GeneratedStore(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public List<Product> read(int offset, int count) {
+            reads++;
+            assertTrue(offset >= 0 && offset + count <= size);
+            List<Product> page = new ArrayList<>(count);
+            for (int i = offset; i < offset + count; i++) {
+                page.add(new Product(i + 1, "Product " + i, 10.00, 4.0, i % 100, "", null));
+            }
+            return page;
+        }
+    }
+}
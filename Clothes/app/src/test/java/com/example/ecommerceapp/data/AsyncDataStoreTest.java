@@ -0,0 +1,102 @@
+package com.example.ecommerceapp.data;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for AsyncDataStore.submit ordering, callback delivery and the bounded I/O pool
+ * A single-thread executor stands in for the main thread
+ */
+public class AsyncDataStoreTest {
+    private final ExecutorService io = AsyncDataStore.newIoExecutor(AsyncDataStore.IO_QUEUE_CAPACITY);
+    private final ExecutorService main = Executors.newSingleThreadExecutor(r -> new Thread(r, "main"));
+
+    @After
+    public void shutdown() {
+        io.shutdownNow();
+        main.shutdownNow();
+    }
+
+    @Test
+    public void readAfterWriteOfSameKeySeesTheWrite() throws Exception {
+        AsyncDataStore store = new AsyncDataStore(null, io, main);
+        List<String> cart = Collections.synchronizedList(new ArrayList<>());
+
+        store.submit("cart", () -> {
+            Thread.sleep(50);
+            cart.add("shirt");
+            return null;
+        });
+        CompletableFuture<Integer> size = store.submit("cart", cart::size);
+
+        assertEquals(Integer.valueOf(1), size.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void resultsAreDeliveredOnCallbackExecutor() throws Exception {
+        AsyncDataStore store = new AsyncDataStore(null, io, main);
+
+        CompletableFuture<String> workerThread = store.submit("products", () -> Thread.currentThread().getName());
+        CompletableFuture<String> callbackThread = workerThread.thenApply(ignored -> Thread.currentThread().getName());
+
+        assertNotEquals("main", workerThread.get(5, TimeUnit.SECONDS));
+        assertEquals("main", callbackThread.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failuresCompleteExceptionally() throws Exception {
+        AsyncDataStore store = new AsyncDataStore(null, io, main);
+
+        CompletableFuture<Object> failed = store.submit("orders", () -> {
+            throw new IllegalStateException("disk full");
+        });
+        try {
+            failed.get(5, TimeUnit.SECONDS);
+            fail("expected failure");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        // The key is still usable after a failure
+        assertEquals("ok", store.submit("orders", () -> "ok").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void fullQueueRunsTaskOnCallerThread() throws Exception {
+        ThreadPoolExecutor pool = AsyncDataStore.newIoExecutor(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < AsyncDataStore.IO_THREADS + 1; i++) {
+                pool.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            assertEquals(1, pool.getQueue().size());
+
+            List<String> ranOn = new ArrayList<>();
+            pool.execute(() -> ranOn.add(Thread.currentThread().getName()));
+
+            assertEquals(Collections.singletonList(Thread.currentThread().getName()), ranOn);
+            assertEquals(1, pool.getQueue().size());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+}
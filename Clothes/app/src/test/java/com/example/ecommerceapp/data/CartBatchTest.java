@@ -0,0 +1,97 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.CartChange;
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.CartSnapshot;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for applying CartBatch operations to a SharedCart
+ */
+public class CartBatchTest {
+    private final Map<Integer, Product> catalog = new HashMap<>();
+
+    public CartBatchTest() {
+        for (int id = 1; id <= 5; id++) {
+            catalog.put(id, new Product(id, "Product " + id, id * 2.50, 4.0, 10, "", null));
+        }
+    }
+
+    @Test
+    public void reportsEveryOperationWithoutAbortingTheRest() {
+        SharedCart cart = new SharedCart();
+        cart.add(catalog.get(1), 1);
+
+        CartBatch.Result result = cart.apply(new CartBatch()
+                .add(2, 2)
+                .add(99, 1)
+                .setQuantity(1, 3)
+                .setQuantity(4, 1)
+                .add(3, 0)
+                .remove(5)
+                .setQuantity(2, 2)
+                .add(catalog.get(3), 1), catalog::get);
+
+        assertEquals(8, result.getStatuses().size());
+        assertEquals(CartBatch.Status.APPLIED, result.getStatus(0));
+        assertEquals(CartBatch.Status.UNKNOWN_PRODUCT, result.getStatus(1));
+        assertEquals(CartBatch.Status.APPLIED, result.getStatus(2));
+        assertEquals(CartBatch.Status.NOT_IN_CART, result.getStatus(3));
+        assertEquals(CartBatch.Status.INVALID_QUANTITY, result.getStatus(4));
+        assertEquals(CartBatch.Status.NOT_IN_CART, result.getStatus(5));
+        assertEquals(CartBatch.Status.UNCHANGED, result.getStatus(6));
+        assertEquals(CartBatch.Status.APPLIED, result.getStatus(7));
+        assertEquals(3, result.getAppliedCount());
+        assertEquals(4, result.getFailedCount());
+
+        CartSnapshot snapshot = cart.snapshot();
+        assertEquals(6, snapshot.getTotalQuantity());
+        assertEquals(3 * 250 + 2 * 500 + 750, snapshot.getSubtotalCents());
+    }
+
+    @Test
+    public void batchPublishesOnce() {
+        SharedCart cart = new SharedCart();
+        cart.add(catalog.get(1), 1);
+        List<List<CartChange>> published = new ArrayList<>();
+        cart.setListener((previous, current, changes) -> published.add(changes));
+
+        List<CartItem> order = new ArrayList<>();
+        order.add(new CartItem(1, 2, Money.of(2.50)));
+        order.add(new CartItem(2, 1, Money.of(5.00)));
+        order.add(new CartItem(2, 1, Money.of(5.00)));
+        CartBatch.Result result = cart.apply(new CartBatch().addAll(order).remove(1), catalog::get);
+
+        assertEquals(4, result.getAppliedCount());
+        assertEquals(1, published.size());
+        // Line 1 was added to then removed, line 2 added twice: one change each
+        assertEquals(2, published.get(0).size());
+        assertEquals(CartChange.Type.REMOVED, published.get(0).get(0).getType());
+        assertEquals(CartChange.Type.ADDED, published.get(0).get(1).getType());
+        assertEquals(2, published.get(0).get(1).getCurrent().getQuantity());
+        assertEquals(2, cart.snapshot().getVersion());
+    }
+
+    @Test
+    public void batchWithNoEffectDoesNotPublish() {
+        SharedCart cart = new SharedCart();
+        List<List<CartChange>> published = new ArrayList<>();
+        cart.setListener((previous, current, changes) -> published.add(changes));
+
+        CartBatch.Result result = cart.apply(new CartBatch().add(42, 1).remove(1), catalog::get);
+
+        assertFalse(result.isChanged());
+        assertTrue(published.isEmpty());
+        assertEquals(0, cart.snapshot().getVersion());
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.search.SearchIndex;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Replay harness for catalog deltas
+ * Applies a sequence of random deltas to a large base catalog through CatalogState, the way
+ * DataStore does (including a compaction at the delta threshold), and checks the catalog,
+ * ProductRepository and SearchIndex against a full rebuild from scratch; then reopens the
+ * state as after a restart and checks the replayed catalog too
+ */
+public class CatalogDeltaReplayTest {
+    private static final int BASE_PRODUCTS = 50_000;
+    private static final int DELTAS = 40;
+    private static final int COMPACT_AFTER = 32;
+    private static final String[] WORDS = {
+            "cotton", "linen", "denim", "wool", "silk", "shirt", "dress", "jacket", "scarf", "boots",
+            "summer", "winter", "classic", "slim", "relaxed", "navy", "black", "white", "red", "green"
+    };
+    private static final String[] QUERIES = {
+            "cotton", "shirt", "slim denim", "red dress", "wo", "winter jacket navy", "boots black", "li"
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replayedDeltasMatchAFullRebuild() throws IOException {
+        Random random = new Random(7);
+        List<Product> base = new ArrayList<>(BASE_PRODUCTS);
+        for (int id = 1; id <= BASE_PRODUCTS; id++) {
+            base.add(randomProduct(random, id, 0));
+        }
+
+        // Incremental state, as kept by DataStore
+        MemoryBaseStore store = new MemoryBaseStore();
+        File logFile = new File(folder.getRoot(), "deltas.log");
+        CatalogState state = new CatalogState(store, new CatalogDeltaLog(logFile), COMPACT_AFTER);
+        state.save(base);
+        AtomicReference<List<Product>> catalog = new AtomicReference<>(state.load());
+        ProductRepository repository = new ProductRepository(catalog::get);
+        repository.get(1);
+        SearchIndex index = SearchIndex.build(base);
+
+        // Reference: the catalog kept as an id-ordered map
+        Map<Integer, Product> reference = new LinkedHashMap<>();
+        for (Product product : base) {
+            reference.put(product.getId(), product);
+        }
+
+        int nextId = BASE_PRODUCTS + 1;
+        for (int version = 1; version <= DELTAS; version++) {
+            CatalogDelta delta = randomDelta(random, version, new ArrayList<>(reference.keySet()), nextId);
+            nextId += 100;
+
+            catalog.set(state.apply(delta, catalog.get()));
+            CatalogState.updateIndexes(delta, repository, index);
+            // Already applied: ignored
+            assertNull(state.apply(delta, catalog.get()));
+
+            for (int productId : delta.getDeletes()) {
+                reference.remove(productId);
+            }
+            for (Product product : delta.getUpserts()) {
+                reference.put(product.getId(), product);
+            }
+        }
+
+        List<Product> rebuilt = new ArrayList<>(reference.values());
+        assertSameProducts(rebuilt, catalog.get());
+
+        // One compaction: the base was rewritten at version COMPACT_AFTER, the rest are logged
+        assertEquals(2, store.writes);
+        assertEquals(COMPACT_AFTER, store.version);
+        assertEquals(DELTAS - COMPACT_AFTER, state.getLoggedDeltaCount());
+        assertEquals(DELTAS, state.getVersion());
+
+        // Restart: the base with the logged deltas replayed gives the same catalog
+        CatalogState restarted = new CatalogState(store, new CatalogDeltaLog(logFile), COMPACT_AFTER);
+        assertEquals(DELTAS, restarted.getVersion());
+        assertEquals(ids(rebuilt), ids(restarted.load()));
+
+        // Id index: every product resolves, deleted ids do not
+        ProductRepository fresh = new ProductRepository(() -> rebuilt);
+        assertEquals(fresh.size(), repository.size());
+        for (int productId = 1; productId < nextId; productId++) {
+            assertSame(fresh.get(productId), repository.get(productId));
+        }
+
+        // Search index: same results, in the same order, as one built from the final catalog
+        SearchIndex full = SearchIndex.build(rebuilt);
+        assertEquals(full.size(), index.size());
+        assertTrue(full.search("cotton", 50).length > 0);
+        for (String query : QUERIES) {
+            assertArrayEquals(query, full.search(query, 50), index.search(query, 50));
+        }
+    }
+
+    /**
+     * Base store kept in memory, counting writes
+     */
+    private static final class MemoryBaseStore implements CatalogState.BaseStore {
+        List<Product> products = new ArrayList<>();
+        long version;
+        int writes;
+
+        @Override
+        public List<Product> read() {
+            return products;
+        }
+
+        @Override
+        public long readVersion() {
+            return version;
+        }
+
+        @Override
+        public void write(List<Product> products, long version) {
+            this.products = new ArrayList<>(products);
+            this.version = version;
+            writes++;
+        }
+    }
+
+    private static CatalogDelta randomDelta(Random random, int version, List<Integer> liveIds, int firstNewId) {
+        List<Product> upserts = new ArrayList<>();
+        Set<Integer> touched = new HashSet<>();
+        // Price, rating or text changes to existing products
+        for (int i = 0; i < 300; i++) {
+            int productId = liveIds.get(random.nextInt(liveIds.size()));
+            if (touched.add(productId)) {
+                upserts.add(randomProduct(random, productId, version));
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            upserts.add(randomProduct(random, firstNewId + i, version));
+        }
+        int[] deletes = new int[150];
+        int count = 0;
+        while (count < deletes.length) {
+            int productId = liveIds.get(random.nextInt(liveIds.size()));
+            if (touched.add(productId)) {
+                deletes[count++] = productId;
+            }
+        }
+        return new CatalogDelta(version, upserts, deletes);
+    }
+
+    private static Product randomProduct(Random random, int id, int version) {
+        String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                + " " + WORDS[random.nextInt(WORDS.length)];
+        String description = "Version " + version + " " + WORDS[random.nextInt(WORDS.length)]
+                + " " + WORDS[random.nextInt(WORDS.length)];
+        return new Product(id, name, 5 + random.nextInt(20000) / 100.0, random.nextInt(51) / 10.0,
+                random.nextInt(1000), description, null);
+    }
+
+    private static void assertSameProducts(List<Product> expected, List<Product> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        List<Integer> ids = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for CatalogDelta application, validation and the delta log
+ */
+public class CatalogDeltaTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replacesInPlaceRemovesAndAppendsNew() {
+        List<Product> catalog = Arrays.asList(product(1, "A"), product(2, "B"), product(3, "C"));
+        CatalogDelta delta = new CatalogDelta(1,
+                Arrays.asList(product(4, "D"), product(2, "B2")), new int[]{1, 99});
+
+        List<Product> updated = delta.applyTo(catalog);
+
+        assertEquals(3, catalog.size());
+        assertEquals(Arrays.asList(2, 3, 4), ids(updated));
+        assertEquals("B2", updated.get(0).getName());
+        assertSame(catalog.get(2), updated.get(1));
+    }
+
+    @Test
+    public void readsJsonAndRoundTripsThroughTheLog() throws IOException {
+        CatalogDelta delta = CatalogDelta.read(new StringReader(
+                "{\"version\":7,\"upserts\":[{\"id\":5,\"name\":\"Cap\",\"price\":12.50,\"rating\":4.0,\"reviews\":3}],"
+                        + "\"deletes\":[3,9]}"));
+        assertEquals(7, delta.getVersion());
+        assertEquals(1250, delta.getUpserts().get(0).getPrice().getCents());
+        assertArrayEquals(new int[]{3, 9}, delta.getDeletes());
+
+        File file = folder.newFile("deltas.log");
+        new CatalogDeltaLog(file).append(delta);
+        CatalogDeltaLog reopened = new CatalogDeltaLog(file);
+
+        assertEquals(7, reopened.getLatestVersion());
+        CatalogDelta logged = reopened.readAll().get(0);
+        assertEquals("Cap", logged.getUpserts().get(0).getName());
+        assertArrayEquals(new int[]{3, 9}, logged.getDeletes());
+    }
+
+    @Test
+    public void tornAppendIsDroppedWhole() throws IOException {
+        File file = folder.newFile("deltas.log");
+        CatalogDeltaLog log = new CatalogDeltaLog(file);
+        log.append(new CatalogDelta(1, Arrays.asList(product(1, "A")), null));
+        long committed = file.length();
+        log.append(new CatalogDelta(2, Arrays.asList(product(2, "B")), null));
+        // App killed part way through the second append
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(file.length() - 5);
+        }
+
+        CatalogDeltaLog reopened = new CatalogDeltaLog(file);
+
+        assertEquals(1, reopened.size());
+        assertEquals(1, reopened.getLatestVersion());
+        assertEquals(committed, file.length());
+    }
+
+    @Test
+    public void clearDropsLoggedDeltas() throws IOException {
+        File file = folder.newFile("deltas.log");
+        CatalogDeltaLog log = new CatalogDeltaLog(file);
+        log.append(new CatalogDelta(3, null, new int[]{1}));
+
+        log.clear();
+        log.append(new CatalogDelta(4, null, new int[]{2}));
+
+        assertEquals(1, new CatalogDeltaLog(file).size());
+        assertEquals(4, log.getLatestVersion());
+    }
+
+    @Test
+    public void invalidDeltasAreRejectedWhole() {
+        assertInvalid(new CatalogDelta(0, null, null), "version");
+        assertInvalid(new CatalogDelta(1, Arrays.asList(product(1, "A"), product(1, "A2")), null), "twice");
+        assertInvalid(new CatalogDelta(1, Arrays.asList(product(1, "A")), new int[]{1}), "both");
+        assertInvalid(new CatalogDelta(1, Arrays.asList(product(1, "A"), product(2, " ")), null), "name");
+        new CatalogDelta(1, Arrays.asList(product(1, "A")), new int[]{2}).validate();
+    }
+
+    @Test
+    public void upsertWithoutPriceIsRejected() {
+        CatalogDelta delta = CatalogDelta.read(new StringReader(
+                "{\"version\":2,\"upserts\":[{\"id\":5,\"name\":\"Cap\",\"rating\":4.0}]}"));
+        assertNull(delta.getUpserts().get(0).getPrice());
+        assertInvalid(delta, "price is required");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void malformedJsonIsRejected() {
+        CatalogDelta.read(new StringReader("{\"version\":2,\"upserts\":[{\"id\":"));
+    }
+
+    private static void assertInvalid(CatalogDelta delta, String reason) {
+        try {
+            delta.validate();
+            fail("expected " + reason);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(reason));
+        }
+    }
+
+    private static Product product(int id, String name) {
+        return new Product(id, name, 10.00, 4.0, 1, "", null);
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        List<Integer> ids = new ArrayList<>();
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ecommerceapp.data;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of CatalogImporter throughput on a 200k-product catalog
+ * The source is generated line by line as it is read, so the benchmark (like the importer)
+ * never holds the whole file; chunks are counted and dropped by the sink
+ * - 1 thread: parsing on a single-threaded pool
+ * - parallel: parsing on one thread per core
+ */
+public class CatalogImportBenchmark {
+    private static final int PRODUCTS = 200_000;
+    private static final int ROUNDS = 3;
+
+    @Test
+    public void importThroughput() throws IOException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(cores);
+
+        System.out.println("Import of " + PRODUCTS + " products, best of " + ROUNDS + " (" + cores + " cores)");
+        System.out.println("  format   1 thread (rows/s)   parallel (rows/s)");
+        for (CatalogImporter.Format format : CatalogImporter.Format.values()) {
+            long singleNanos = best(new CatalogImporter(single, 2000), format);
+            long parallelNanos = best(new CatalogImporter(parallel, 2000), format);
+            System.out.printf("  %-6s   %,17d   %,17d%n", format,
+                    PRODUCTS * 1_000_000_000L / singleNanos, PRODUCTS * 1_000_000_000L / parallelNanos);
+        }
+        single.shutdown();
+        parallel.shutdown();
+    }
+
+    private static long best(CatalogImporter importer, CatalogImporter.Format format) throws IOException {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long[] received = new long[1];
+            long begin = System.nanoTime();
+            CatalogImporter.Report report = importer.importFrom(new GeneratedSource(format, PRODUCTS),
+                    format, chunk -> received[0] += chunk.size());
+            best = Math.min(best, System.nanoTime() - begin);
+            assertEquals(PRODUCTS, report.getImportedCount());
+            assertEquals(PRODUCTS, received[0]);
+        }
+        return best;
+    }
+
+    /**
+     * Reader producing a catalog one line at a time
+     */
+    private static final class GeneratedSource extends Reader {
+        private final CatalogImporter.Format format;
+        private final int products;
+        private int next;
+        private String line;
+        private int position;
+
+        GeneratedSource(CatalogImporter.Format format, int products) {
+            this.format = format;
+            this.products = products;
+            this.line = format == CatalogImporter.Format.CSV ? "id,name,price,rating,reviews,description,imageUrl\n" : "";
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            while (position == line.length()) {
+                if (next == products) {
+                    return -1;
+                }
+                line = line(++next);
+                position = 0;
+            }
+            int count = Math.min(length, line.length() - position);
+            line.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        private String line(int id) {
+            String price = (id % 500) + "." + (10 + id % 90);
+            String rating = (id % 5) + ".5";
+            String description = "Description of product " + id + ", with a comma";
+            String image = "https://example.com/products/" + id + ".jpg";
+            if (format == CatalogImporter.Format.CSV) {
+                return id + ",Product " + id + "," + price + "," + rating + "," + (id % 1000)
+                        + ",\"" + description + "\"," + image + "\n";
+            }
+            return "{\"id\":" + id + ",\"name\":\"Product " + id + "\",\"price\":" + price
+                    + ",\"rating\":" + rating + ",\"reviews\":" + (id % 1000)
+                    + ",\"description\":\"" + description + "\",\"imageUrl\":\"" + image + "\"}\n";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for CatalogImporter parsing, validation and chunked delivery
+ */
+public class CatalogImporterTest {
+    private final List<List<Product>> chunks = new ArrayList<>();
+
+    @Test
+    public void importsJsonLines() throws IOException {
+        String source = json(1, "Headphones", "129.99") + "\n"
+                + "\n"
+                + json(2, "Smart Watch", "299.99") + "\n";
+
+        CatalogImporter.Report report = importer(100).importFrom(new StringReader(source),
+                CatalogImporter.Format.JSONL, chunks::add);
+
+        assertEquals(2, report.getImportedCount());
+        assertEquals(0, report.getRejectedCount());
+        List<Product> products = all();
+        assertEquals("Smart Watch", products.get(1).getName());
+        assertEquals(29999, products.get(1).getPrice().getCents());
+    }
+
+    @Test
+    public void importsCsvWithQuotedFieldsInAnyColumnOrder() throws IOException {
+        String source = "Name,Price,ID,description\n"
+                + "\"Cable, braided\",14.99,6,\"Says \"\"fast\"\"\"\n"
+                + "Stand,49.99,3,\n";
+
+        CatalogImporter.Report report = importer(100).importFrom(new StringReader(source),
+                CatalogImporter.Format.CSV, chunks::add);
+
+        assertEquals(2, report.getImportedCount());
+        Product cable = all().get(0);
+        assertEquals(6, cable.getId());
+        assertEquals("Cable, braided", cable.getName());
+        assertEquals("Says \"fast\"", cable.getDescription());
+        assertNull(all().get(1).getDescription());
+        assertEquals(0, all().get(1).getReviews());
+    }
+
+    @Test
+    public void rejectsInvalidRowsWithTheirLineNumbers() throws IOException {
+        String source = "id,name,price,rating\n"
+                + "1,Good,10.00,4.5\n"
+                + "2,,10.00,4\n"
+                + "3,Bad price,ten,4\n"
+                + "4,Too good,10.00,7\n"
+                + "5,\"Unclosed,10.00,4\n"
+                + "1,Again,12.00,4\n"
+                + "6,Also good,11.00,3\n";
+
+        CatalogImporter.Report report = importer(100).importFrom(new StringReader(source),
+                CatalogImporter.Format.CSV, chunks::add);
+
+        assertEquals(2, report.getImportedCount());
+        assertEquals(5, report.getRejectedCount());
+        int[] lines = new int[report.getRejects().size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = report.getRejects().get(i).getLineNumber();
+        }
+        assertArrayEquals(new int[]{3, 4, 5, 6, 7}, lines);
+        assertEquals("name is required", report.getRejects().get(0).getReason());
+        assertTrue(report.getRejects().get(4).getReason().startsWith("duplicate id 1"));
+    }
+
+    @Test
+    public void malformedJsonIsRejectedNotFatal() throws IOException {
+        String source = "{\"id\":1,\"name\":\"A\",\"price\":1.00}\n"
+                + "{\"id\":2,\"name\":\n"
+                + "{\"id\":3,\"name\":\"C\",\"price\":-1.00}\n";
+
+        CatalogImporter.Report report = importer(100).importFrom(new StringReader(source),
+                CatalogImporter.Format.JSONL, chunks::add);
+
+        assertEquals(1, report.getImportedCount());
+        assertEquals("malformed JSON", report.getRejects().get(0).getReason());
+        assertEquals("price must not be negative", report.getRejects().get(1).getReason());
+    }
+
+    @Test
+    public void rowsMissingRequiredFieldsAreRejected() throws IOException {
+        String source = "{\"id\":1,\"name\":\"A\",\"rating\":4.0}\n"
+                + "{\"name\":\"B\",\"price\":1.00}\n"
+                + "{\"id\":3,\"price\":1.00}\n"
+                + json(4, "D", "0.00") + "\n";
+
+        CatalogImporter.Report report = importer(100).importFrom(new StringReader(source),
+                CatalogImporter.Format.JSONL, chunks::add);
+
+        // Only the explicitly free product imports; a missing price is not $0.00
+        assertEquals(1, report.getImportedCount());
+        assertEquals(4, all().get(0).getId());
+        assertEquals("price is required", report.getRejects().get(0).getReason());
+        assertEquals("id must be positive", report.getRejects().get(1).getReason());
+        assertEquals("name is required", report.getRejects().get(2).getReason());
+    }
+
+    @Test
+    public void chunksArriveInSourceOrderAndDuplicatesAcrossChunksAreDropped() throws IOException {
+        StringBuilder source = new StringBuilder();
+        for (int id = 1; id <= 1000; id++) {
+            source.append(json(id, "Product " + id, "1.00")).append('\n');
+        }
+        source.append(json(500, "Repeat", "1.00")).append('\n');
+
+        CatalogImporter.Report report = new CatalogImporter(new ForkJoinPool(4), 7)
+                .importFrom(new StringReader(source.toString()), CatalogImporter.Format.JSONL, chunks::add);
+
+        assertEquals(1000, report.getImportedCount());
+        assertEquals(1001, report.getRejects().get(0).getLineNumber());
+        List<Product> products = all();
+        for (int i = 0; i < products.size(); i++) {
+            assertEquals(i + 1, products.get(i).getId());
+        }
+        for (List<Product> chunk : chunks) {
+            assertTrue(chunk.size() <= 7);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void csvWithoutRequiredColumnsFails() throws IOException {
+        importer(100).importFrom(new StringReader("id,title,cost\n1,A,1.00\n"),
+                CatalogImporter.Format.CSV, chunks::add);
+    }
+
+    @Test
+    public void formatFollowsFileExtension() {
+        assertEquals(CatalogImporter.Format.CSV, CatalogImporter.Format.forFileName("Catalog.CSV"));
+        assertEquals(CatalogImporter.Format.JSONL, CatalogImporter.Format.forFileName("catalog.jsonl"));
+    }
+
+    private static CatalogImporter importer(int chunkSize) {
+        return new CatalogImporter(new ForkJoinPool(2), chunkSize);
+    }
+
+    private static String json(int id, String name, String price) {
+        return "{\"id\":" + id + ",\"name\":\"" + name + "\",\"price\":" + price + ",\"rating\":4.0,\"reviews\":1}";
+    }
+
+    private List<Product> all() {
+        List<Product> products = new ArrayList<>();
+        for (List<Product> chunk : chunks) {
+            products.addAll(chunk);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for CatalogState apply, compaction and replay
+ */
+public class CatalogStateTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Product> baseProducts = new ArrayList<>();
+    private long baseVersion;
+    private int baseWrites;
+    private boolean failBaseWrites;
+    private File logFile;
+
+    private final CatalogState.BaseStore store = new CatalogState.BaseStore() {
+        @Override
+        public List<Product> read() {
+            return new ArrayList<>(baseProducts);
+        }
+
+        @Override
+        public long readVersion() {
+            return baseVersion;
+        }
+
+        @Override
+        public void write(List<Product> products, long version) {
+            if (failBaseWrites) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+            baseProducts.clear();
+            baseProducts.addAll(products);
+            baseVersion = version;
+            baseWrites++;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        logFile = new File(folder.getRoot(), "deltas.log");
+    }
+
+    @Test
+    public void invalidOrStaleDeltasChangeNothing() throws IOException {
+        CatalogState state = new CatalogState(store, new CatalogDeltaLog(logFile), 10);
+        state.save(Arrays.asList(product(1, "A")));
+        List<Product> current = state.apply(delta(2, product(2, "B")), state.load());
+
+        assertNull(state.apply(delta(2, product(3, "C")), current));
+        try {
+            state.apply(new CatalogDelta(3, Arrays.asList(product(4, "D"), product(4, "D")), null), current);
+            fail("duplicate upsert");
+        } catch (IllegalArgumentException expected) {
+            // not logged
+        }
+
+        assertEquals(1, state.getLoggedDeltaCount());
+        assertEquals(2, state.getVersion());
+        assertEquals(2, state.load().size());
+    }
+
+    @Test
+    public void replayFromAnEmptyBase() throws IOException {
+        CatalogState state = new CatalogState(store, new CatalogDeltaLog(logFile), 10);
+        state.apply(delta(1, product(1, "A")), state.load());
+
+        CatalogState restarted = new CatalogState(store, new CatalogDeltaLog(logFile), 10);
+        assertEquals(1, restarted.load().size());
+        assertEquals(0, baseWrites);
+    }
+
+    @Test
+    public void compactionWritesTheBaseAndClearsTheLog() throws IOException {
+        CatalogState state = new CatalogState(store, new CatalogDeltaLog(logFile), 3);
+        state.save(Collections.emptyList());
+        List<Product> current = state.load();
+        for (int version = 1; version <= 4; version++) {
+            current = state.apply(delta(version, product(version, "P" + version)), current);
+        }
+
+        assertEquals(2, baseWrites);
+        assertEquals(3, baseVersion);
+        assertEquals(3, baseProducts.size());
+        assertEquals(1, state.getLoggedDeltaCount());
+        assertEquals(4, new CatalogState(store, new CatalogDeltaLog(logFile), 3).load().size());
+    }
+
+    @Test
+    public void failedCompactionKeepsTheLoggedDelta() throws IOException {
+        CatalogState state = new CatalogState(store, new CatalogDeltaLog(logFile), 2);
+        state.save(Arrays.asList(product(1, "A")));
+        List<Product> current = state.apply(delta(1, product(2, "B")), state.load());
+
+        failBaseWrites = true;
+        current = state.apply(delta(2, product(3, "C")), current);
+
+        // Applied despite the failed base write, and still there after a restart
+        assertEquals(3, current.size());
+        assertEquals(2, state.getVersion());
+        assertEquals(2, state.getLoggedDeltaCount());
+        assertEquals(3, new CatalogState(store, new CatalogDeltaLog(logFile), 2).load().size());
+
+        // The next apply compacts
+        failBaseWrites = false;
+        state.apply(delta(3, product(4, "D")), current);
+        assertEquals(0, state.getLoggedDeltaCount());
+        assertEquals(4, baseProducts.size());
+        assertEquals(3, baseVersion);
+    }
+
+    @Test
+    public void deltasTheBaseAlreadyIncludesAreNotReplayed() throws IOException {
+        CatalogDeltaLog log = new CatalogDeltaLog(logFile);
+        CatalogState state = new CatalogState(store, log, 10);
+        List<Product> current = state.load();
+        current = state.apply(delta(1, product(1, "A")), current);
+        current = state.apply(new CatalogDelta(2, null, new int[]{1}), current);
+        // Crash after a base write but before the log was cleared
+        store.write(current, 2);
+
+        CatalogState restarted = new CatalogState(store, new CatalogDeltaLog(logFile), 10);
+        assertTrue(restarted.load().isEmpty());
+        assertEquals(2, restarted.getVersion());
+    }
+
+    private static CatalogDelta delta(long version, Product upsert) {
+        return new CatalogDelta(version, Arrays.asList(upsert), null);
+    }
+
+    private static Product product(int id, String name) {
+        return new Product(id, name, 10.00, 4.0, 1, "", null);
+    }
+}
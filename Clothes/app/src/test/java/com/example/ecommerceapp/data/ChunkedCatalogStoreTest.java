@@ -0,0 +1,97 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.data.codec.Codecs;
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for ChunkedCatalogStore chunked writes, commit and recovery
+ */
+public class ChunkedCatalogStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void chunksAppendedAcrossCallsReadBackInOrder() throws IOException {
+        File file = new File(folder.getRoot(), "catalog.log");
+        ChunkedCatalogStore store = new ChunkedCatalogStore(file, 3, () -> Codecs.BINARY);
+        assertFalse(store.exists());
+        assertTrue(store.read().isEmpty());
+
+        try (CatalogState.BaseWriter writer = store.begin()) {
+            writer.append(products(1, 4));
+            writer.append(products(5, 11));
+            writer.commit(7);
+        }
+
+        ChunkedCatalogStore reopened = new ChunkedCatalogStore(file, 3, () -> Codecs.JSON);
+        assertEquals(7, reopened.readVersion());
+        assertEquals(ids(1, 11), ids(reopened.read()));
+        // 4 + 7 products in chunks of at most 3, plus the version record
+        assertEquals(2 + 3 + 1, new OrderLog(file).size());
+    }
+
+    @Test
+    public void uncommittedWriteKeepsTheOldBase() throws IOException {
+        File file = new File(folder.getRoot(), "catalog.log");
+        ChunkedCatalogStore store = new ChunkedCatalogStore(file, 100, () -> Codecs.JSON);
+        store.write(products(1, 2), 3);
+
+        try (CatalogState.BaseWriter writer = store.begin()) {
+            writer.append(products(10, 20));
+        }
+
+        assertEquals(ids(1, 2), ids(store.read()));
+        assertEquals(3, store.readVersion());
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void reopeningDropsTempFilesOfAnInterruptedWrite() throws IOException {
+        File file = new File(folder.getRoot(), "catalog.log");
+        ChunkedCatalogStore store = new ChunkedCatalogStore(file, 100, () -> Codecs.JSON);
+        store.write(products(1, 2), 1);
+        // App killed mid-import: the writer is never closed
+        store.begin().append(products(10, 20));
+        assertEquals(2, folder.getRoot().list().length);
+
+        ChunkedCatalogStore reopened = new ChunkedCatalogStore(file, 100, () -> Codecs.JSON);
+        assertEquals(ids(1, 2), ids(reopened.read()));
+        assertArrayEquals(new String[]{"catalog.log"}, folder.getRoot().list());
+    }
+
+    private static List<Product> products(int firstId, int lastId) {
+        List<Product> products = new ArrayList<>();
+        for (int id = firstId; id <= lastId; id++) {
+            products.add(new Product(id, "Product " + id, 10.00, 4.0, 1, "", null));
+        }
+        return products;
+    }
+
+    private static List<Integer> ids(int firstId, int lastId) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = firstId; id <= lastId; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        Integer[] ids = new Integer[products.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = products.get(i).getId();
+        }
+        return Arrays.asList(ids);
+    }
+}
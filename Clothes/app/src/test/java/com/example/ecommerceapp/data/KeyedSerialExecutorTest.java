@@ -0,0 +1,95 @@
+package com.example.ecommerceapp.data;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for KeyedSerialExecutor per-key ordering and cross-key concurrency
+ */
+public class KeyedSerialExecutorTest {
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void sameKeyRunsInSubmissionOrderWithoutOverlap() throws InterruptedException {
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(pool);
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            executor.execute("cart", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                seen.add(value);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), seen.get(i));
+        }
+    }
+
+    @Test
+    public void differentKeysRunConcurrently() throws InterruptedException {
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(pool);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(2);
+
+        for (String key : new String[]{"cart", "orders"}) {
+            executor.execute(key, () -> {
+                bothStarted.countDown();
+                try {
+                    // Deadlocks unless the other key's task runs at the same time
+                    assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failingTaskDoesNotBlockLaterTasks() throws InterruptedException {
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(pool);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute("cart", () -> {
+            throw new IllegalStateException("write failed");
+        });
+        executor.execute("cart", done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void idleKeysAreReleased() throws InterruptedException {
+        KeyedSerialExecutor executor = new KeyedSerialExecutor(Runnable::run);
+        executor.execute("cart", () -> { });
+        executor.execute("orders", () -> { });
+        assertEquals(0, executor.activeKeys());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.data.codec.Codecs;
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Order;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for resuming an interrupted legacy order migration
+ */
+public class LegacyOrderMigrationTest {
+    private static final OrderIndex.HeaderReader READER =
+            payload -> Codecs.forData(payload).decodeOrderHeader(payload);
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void interruptedMigrationResumesWithoutDuplicates() throws IOException {
+        File logFile = new File(tmp.getRoot(), "orders.log");
+        File indexFile = new File(tmp.getRoot(), "orders.idx");
+        List<Order> legacy = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) {
+            legacy.add(order(id));
+        }
+
+        // First start: the app dies after appending two orders
+        OrderLog log = new OrderLog(logFile);
+        OrderIndex index = OrderIndex.open(indexFile, log, READER);
+        try {
+            LegacyOrderMigration.migrate(legacy, index, order -> {
+                if (order.getId() == 3) {
+                    throw new UncheckedIOException(new IOException("killed"));
+                }
+                append(log, index, order);
+            });
+            fail("migration should have been interrupted");
+        } catch (UncheckedIOException expected) {
+            // legacy orders are kept
+        }
+        assertEquals(2, log.size());
+
+        // Next start: reopen the store and run the migration again
+        OrderLog reopenedLog = new OrderLog(logFile);
+        OrderIndex reopenedIndex = OrderIndex.open(indexFile, reopenedLog, READER);
+        int appended = LegacyOrderMigration.migrate(legacy, reopenedIndex,
+                order -> append(reopenedLog, reopenedIndex, order));
+
+        assertEquals(3, appended);
+        assertEquals(5, reopenedLog.size());
+        for (int id = 1; id <= 5; id++) {
+            assertTrue(reopenedIndex.offsetOf(id) >= 0);
+        }
+        assertTrue(reopenedIndex.verify(reopenedLog, READER).isEmpty());
+        // A further start has nothing left to append
+        assertEquals(0, LegacyOrderMigration.migrate(legacy, reopenedIndex, order -> fail()));
+    }
+
+    private static void append(OrderLog log, OrderIndex index, Order order) {
+        try {
+            long offset = log.append(Codecs.JSON.encodeOrder(order));
+            index.add(order.getId(), order.getUserEmail(), order.getTimestamp().getTime(), offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Order order(int id) {
+        List<CartItem> items = new ArrayList<>();
+        items.add(new CartItem(7, 1, Money.of(9.99)));
+        Order order = new Order(id, "a@example.com", items, Money.of(9.99), "User", "1 Main St", null, "a@example.com");
+        order.setTimestamp(new Date(1000L * id));
+        return order;
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.data.codec.Codecs;
+import com.example.ecommerceapp.data.codec.DataCodec;
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.utils.DateUtils;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for OrderIndex lookups, journal persistence and rebuild from the log
+ */
+public class OrderIndexTest {
+    private static final OrderIndex.HeaderReader READER =
+            payload -> Codecs.forData(payload).decodeOrderHeader(payload);
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private File logFile;
+    private File indexFile;
+    private OrderLog log;
+    private OrderIndex index;
+
+    @Before
+    public void setUp() throws IOException {
+        logFile = new File(tmp.getRoot(), "orders.log");
+        indexFile = new File(tmp.getRoot(), "orders.idx");
+        log = new OrderLog(logFile);
+        index = OrderIndex.open(indexFile, log, READER);
+    }
+
+    @Test
+    public void lookupsFollowAppends() throws IOException {
+        long first = append(Codecs.JSON, 1, "a@example.com", 1000);
+        long second = append(Codecs.BINARY, 2, "b@example.com", 2000);
+        append(Codecs.JSON, 3, "a@example.com", 3000);
+
+        assertEquals(first, index.offsetOf(1));
+        assertEquals(second, index.offsetOf(2));
+        assertEquals(-1, index.offsetOf(99));
+        assertArrayEquals(new int[]{1, 3}, allIds(index, "a@example.com"));
+        assertArrayEquals(new int[]{2}, allIds(index, "b@example.com"));
+        assertArrayEquals(new int[0], allIds(index, "nobody@example.com"));
+
+        byte[] payload = log.readAt(index.offsetOf(2));
+        assertEquals(2, Codecs.forData(payload).decodeOrder(payload).getId());
+        assertTrue(index.verify(log, READER).isEmpty());
+    }
+
+    @Test
+    public void rangeLookupIsHalfOpen() throws IOException {
+        append(Codecs.JSON, 1, "a@example.com", 1000);
+        append(Codecs.JSON, 2, "a@example.com", 2000);
+        append(Codecs.JSON, 3, "a@example.com", 2000);
+        append(Codecs.JSON, 4, "a@example.com", 3000);
+
+        assertArrayEquals(new int[]{2, 3}, index.idsBetween(2000, 3000));
+        assertArrayEquals(new int[]{1, 2, 3, 4}, index.idsBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertArrayEquals(new int[0], index.idsBetween(3001, 4000));
+        assertArrayEquals(new int[0], index.idsBetween(3000, 1000));
+    }
+
+    @Test
+    public void perUserWindowUsesCutoffFromFixedClock() throws IOException {
+        DateUtils.setClock(Clock.fixed(Instant.parse("2025-08-31T12:00:00Z"), ZoneOffset.UTC));
+        try {
+            long cutoff = DateUtils.getSixMonthsAgo().getTime();
+            append(Codecs.JSON, 1, "a@example.com", cutoff - 1);
+            append(Codecs.JSON, 2, "b@example.com", cutoff + 5);
+            append(Codecs.JSON, 3, "a@example.com", cutoff);
+            append(Codecs.JSON, 4, "a@example.com", cutoff + 10);
+
+            assertArrayEquals(new int[]{3, 4},
+                    index.idsForUserBetween("a@example.com", cutoff, Long.MAX_VALUE));
+            assertArrayEquals(new int[]{1},
+                    index.idsForUserBetween("a@example.com", Long.MIN_VALUE, cutoff));
+            assertArrayEquals(new int[0],
+                    allIds(index, "nobody@example.com"));
+        } finally {
+            DateUtils.setClock(null);
+        }
+    }
+
+    @Test
+    public void perUserSeriesStaysSortedForLateArrivals() throws IOException {
+        append(Codecs.JSON, 1, "a@example.com", 3000);
+        append(Codecs.JSON, 2, "b@example.com", 500);
+        append(Codecs.JSON, 3, "a@example.com", 1000);
+        append(Codecs.JSON, 4, "a@example.com", 2000);
+
+        assertArrayEquals(new int[]{3, 4, 1}, allIds(index, "a@example.com"));
+        assertArrayEquals(new int[]{3, 4}, index.idsForUserBetween("a@example.com", 1000, 3000));
+        assertTrue(index.verify(log, READER).isEmpty());
+    }
+
+    @Test
+    public void outOfOrderTimestampsStaySorted() throws IOException {
+        append(Codecs.JSON, 1, "a@example.com", 3000);
+        append(Codecs.JSON, 2, "a@example.com", 1000);
+        append(Codecs.JSON, 3, "a@example.com", 2000);
+
+        assertArrayEquals(new int[]{2, 3, 1}, index.idsBetween(0, 5000));
+        assertTrue(index.verify(log, READER).isEmpty());
+    }
+
+    @Test
+    public void journalSurvivesReopen() throws IOException {
+        append(Codecs.JSON, 1, "a@example.com", 1000);
+        append(Codecs.BINARY, 2, "b@example.com", 2000);
+
+        OrderIndex reopened = OrderIndex.open(indexFile, new OrderLog(logFile), payload -> {
+            throw new AssertionError("journal is current, log should not be rescanned");
+        });
+        assertEquals(2, reopened.size());
+        assertEquals(index.offsetOf(2), reopened.offsetOf(2));
+        assertArrayEquals(new int[]{1}, allIds(reopened, "a@example.com"));
+    }
+
+    @Test
+    public void missingJournalIsRebuilt() throws IOException {
+        append(Codecs.JSON, 1, "a@example.com", 1000);
+        append(Codecs.JSON, 2, "a@example.com", 2000);
+        assertTrue(indexFile.delete());
+
+        OrderIndex rebuilt = OrderIndex.open(indexFile, new OrderLog(logFile), READER);
+        assertEquals(2, rebuilt.size());
+        assertArrayEquals(new int[]{1, 2}, allIds(rebuilt, "a@example.com"));
+        assertTrue(indexFile.exists());
+    }
+
+    @Test
+    public void journalMissingLastEntryIsRebuilt() throws IOException {
+        append(Codecs.JSON, 1, "a@example.com", 1000);
+        // Simulates a crash between the log append and the journal append
+        byte[] payload = Codecs.JSON.encodeOrder(order(2, "a@example.com", 2000));
+        log.append(payload);
+
+        OrderIndex rebuilt = OrderIndex.open(indexFile, new OrderLog(logFile), READER);
+        assertEquals(2, rebuilt.size());
+        assertTrue(rebuilt.offsetOf(2) > 0);
+    }
+
+    @Test
+    public void tornJournalIsRebuilt() throws IOException {
+        append(Codecs.JSON, 1, "a@example.com", 1000);
+        append(Codecs.JSON, 2, "b@example.com", 2000);
+        try (RandomAccessFile raf = new RandomAccessFile(indexFile, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        OrderIndex rebuilt = OrderIndex.open(indexFile, new OrderLog(logFile), READER);
+        assertEquals(2, rebuilt.size());
+        assertTrue(rebuilt.verify(log, READER).isEmpty());
+    }
+
+    @Test
+    public void failedJournalWriteKeepsTheOrderAndRebuildsOnOpen() throws IOException {
+        append(Codecs.JSON, 1, "a@example.com", 1000);
+        // Journal path becomes unwritable (a directory)
+        assertTrue(indexFile.delete());
+        assertTrue(indexFile.mkdir());
+
+        append(Codecs.JSON, 2, "a@example.com", 2000);
+        assertTrue(index.isJournalStale());
+        assertTrue(index.offsetOf(2) > 0);
+        assertFalse(indexFile.exists());
+
+        OrderIndex rebuilt = OrderIndex.open(indexFile, new OrderLog(logFile), READER);
+        assertEquals(2, rebuilt.size());
+        assertTrue(rebuilt.verify(log, READER).isEmpty());
+    }
+
+    @Test
+    public void maxOrderIdSurvivesReopenAndRebuild() throws IOException {
+        assertEquals(0, index.getMaxOrderId());
+        append(Codecs.JSON, 7, "a@example.com", 1000);
+        append(Codecs.JSON, 3, "a@example.com", 2000);
+        assertEquals(7, index.getMaxOrderId());
+
+        assertEquals(7, OrderIndex.open(indexFile, new OrderLog(logFile), READER).getMaxOrderId());
+        assertTrue(indexFile.delete());
+        assertEquals(7, OrderIndex.open(indexFile, new OrderLog(logFile), READER).getMaxOrderId());
+    }
+
+    @Test
+    public void verifyReportsEntriesMissingFromIndex() throws IOException {
+        append(Codecs.JSON, 1, "a@example.com", 1000);
+        log.append(Codecs.JSON.encodeOrder(order(2, "a@example.com", 2000)));
+
+        List<String> problems = index.verify(log, READER);
+        assertFalse(problems.isEmpty());
+        assertTrue(problems.get(0).contains("Order 2"));
+    }
+
+    private static int[] allIds(OrderIndex index, String email) {
+        return index.idsForUserBetween(email, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private long append(DataCodec codec, int id, String email, long timestamp) throws IOException {
+        long offset = log.append(codec.encodeOrder(order(id, email, timestamp)));
+        index.add(id, email, timestamp, offset);
+        return offset;
+    }
+
+    private static Order order(int id, String email, long timestamp) {
+        List<CartItem> items = new ArrayList<>();
+        items.add(new CartItem(7, 2, Money.of(9.99)));
+        Order order = new Order(id, email, items, Money.of(19.98), "User", "1 Main St", null, email);
+        order.setTimestamp(new Date(timestamp));
+        return order;
+    }
+}
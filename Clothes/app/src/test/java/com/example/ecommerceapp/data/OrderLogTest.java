@@ -0,0 +1,150 @@
+package com.example.ecommerceapp.data;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for OrderLog append, streaming and torn-tail recovery
+ */
+public class OrderLogTest {
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void appendAndReadBack() throws IOException {
+        File file = new File(tmp.getRoot(), "orders.log");
+        OrderLog log = new OrderLog(file);
+        log.append(bytes("one"));
+        log.append(bytes("two"));
+        log.append(bytes("three"));
+
+        assertEquals(3, log.size());
+        assertEquals(List.of("one", "two", "three"), readAll(new OrderLog(file)));
+    }
+
+    @Test
+    public void appendReturnsRecordOffsets() throws IOException {
+        OrderLog log = new OrderLog(new File(tmp.getRoot(), "orders.log"));
+        long first = log.append(bytes("a"));
+        long second = log.append(bytes("bb"));
+
+        assertEquals(OrderLog.FILE_HEADER_SIZE, first);
+        assertEquals(first + OrderLog.RECORD_HEADER_SIZE + 1, second);
+
+        List<Long> offsets = new ArrayList<>();
+        log.forEach((offset, payload) -> offsets.add(offset));
+        assertEquals(List.of(first, second), offsets);
+    }
+
+    @Test
+    public void truncatedPayloadIsDroppedOnOpen() throws IOException {
+        File file = new File(tmp.getRoot(), "orders.log");
+        OrderLog log = new OrderLog(file);
+        log.append(bytes("kept"));
+        long validEnd = log.getEndOffset();
+        log.append(bytes("this record gets torn"));
+
+        // Simulate a crash halfway through writing the second record
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(validEnd + OrderLog.RECORD_HEADER_SIZE + 4);
+        }
+
+        OrderLog reopened = new OrderLog(file);
+        assertEquals(1, reopened.size());
+        assertEquals(validEnd, file.length());
+        assertEquals(List.of("kept"), readAll(reopened));
+    }
+
+    @Test
+    public void partialRecordHeaderIsDroppedOnOpen() throws IOException {
+        File file = new File(tmp.getRoot(), "orders.log");
+        OrderLog log = new OrderLog(file);
+        log.append(bytes("kept"));
+        long validEnd = log.getEndOffset();
+
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[] {0, 0, 1});
+        }
+
+        OrderLog reopened = new OrderLog(file);
+        assertEquals(1, reopened.size());
+        assertEquals(validEnd, file.length());
+    }
+
+    @Test
+    public void corruptedTailChecksumIsDroppedOnOpen() throws IOException {
+        File file = new File(tmp.getRoot(), "orders.log");
+        OrderLog log = new OrderLog(file);
+        log.append(bytes("kept"));
+        long validEnd = log.getEndOffset();
+        log.append(bytes("corrupted"));
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(validEnd + OrderLog.RECORD_HEADER_SIZE);
+            raf.write('X');
+        }
+
+        OrderLog reopened = new OrderLog(file);
+        assertEquals(List.of("kept"), readAll(reopened));
+        assertEquals(validEnd, file.length());
+    }
+
+    @Test
+    public void appendAfterRecoveryStartsOnRecordBoundary() throws IOException {
+        File file = new File(tmp.getRoot(), "orders.log");
+        OrderLog log = new OrderLog(file);
+        log.append(bytes("first"));
+        long validEnd = log.getEndOffset();
+        log.append(bytes("torn"));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 2);
+        }
+
+        OrderLog reopened = new OrderLog(file);
+        assertEquals(validEnd, reopened.append(bytes("second")));
+        assertEquals(List.of("first", "second"), readAll(new OrderLog(file)));
+    }
+
+    @Test
+    public void garbageLengthIsDroppedOnOpen() throws IOException {
+        File file = new File(tmp.getRoot(), "orders.log");
+        OrderLog log = new OrderLog(file);
+        log.append(bytes("kept"));
+
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 1, 2, 3, 4});
+        }
+
+        assertEquals(List.of("kept"), readAll(new OrderLog(file)));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsForeignFile() throws IOException {
+        File file = new File(tmp.getRoot(), "orders.log");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(bytes("[{\"id\":1}]"));
+        }
+        new OrderLog(file);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readAll(OrderLog log) throws IOException {
+        List<String> records = new ArrayList<>();
+        log.forEach((offset, payload) -> records.add(new String(payload, StandardCharsets.UTF_8)));
+        return records;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ecommerceapp.data;
+
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for OrderQuery header matching
+ */
+public class OrderQueryTest {
+    private static final long T = 1735689600000L;
+
+    @Test
+    public void allMatchesEverything() {
+        assertTrue(OrderQuery.all().accept("a@example.com", T, "Delivered"));
+        assertTrue(OrderQuery.all().accept(null, Long.MIN_VALUE, null));
+    }
+
+    @Test
+    public void filtersOnUser() {
+        OrderQuery query = OrderQuery.forUser("a@example.com");
+        assertTrue(query.accept("a@example.com", T, "Delivered"));
+        assertFalse(query.accept("b@example.com", T, "Delivered"));
+        assertFalse(query.accept(null, T, "Delivered"));
+    }
+
+    @Test
+    public void timeRangeIsHalfOpen() {
+        OrderQuery query = OrderQuery.all().since(new Date(T)).until(new Date(T + 1000));
+        assertFalse(query.accept("a", T - 1, null));
+        assertTrue(query.accept("a", T, null));
+        assertTrue(query.accept("a", T + 999, null));
+        assertFalse(query.accept("a", T + 1000, null));
+    }
+
+    @Test
+    public void statusIsCaseInsensitive() {
+        OrderQuery query = OrderQuery.forUser("a").withStatus("shipped");
+        assertTrue(query.accept("a", T, "Shipped"));
+        assertFalse(query.accept("a", T, "Delivered"));
+        assertFalse(query.accept("a", T, null));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.utils.DateUtils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of "last 6 months" lookups over 100k orders for one user
+ * - per-order Calendar: the old isWithinLast6Months, recomputing the cutoff for every order
+ * - cutoff once: one cutoff, linear scan over timestamps
+ * - index: one cutoff, binary search in the user's timestamp-sorted series
+ */
+public class OrderWindowBenchmark {
+    private static final int ORDERS_PER_USER = 100_000;
+    private static final int ROUNDS = 20;
+    private static final Instant NOW = Instant.parse("2025-08-31T12:00:00Z");
+    private static final long SPAN_MILLIS = 3L * 365 * 24 * 60 * 60 * 1000;
+
+    @After
+    public void restoreClock() {
+        DateUtils.setClock(null);
+    }
+
+    @Test
+    public void lastSixMonthsWindow() {
+        DateUtils.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        long[] timestamps = new long[ORDERS_PER_USER];
+        OrderIndex.TimeSeries series = new OrderIndex.TimeSeries();
+        long start = NOW.toEpochMilli() - SPAN_MILLIS;
+        for (int i = 0; i < ORDERS_PER_USER; i++) {
+            timestamps[i] = start + SPAN_MILLIS * i / ORDERS_PER_USER;
+            series.insert(timestamps[i], i + 1);
+        }
+
+        // Expected count computed independently with the precomputed cutoff
+        long cutoff = DateUtils.getSixMonthsAgo().getTime();
+        int expected = 0;
+        for (long timestamp : timestamps) {
+            if (timestamp >= cutoff) {
+                expected++;
+            }
+        }
+
+        long legacyNanos = Long.MAX_VALUE;
+        long onceNanos = Long.MAX_VALUE;
+        long indexNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long begin = System.nanoTime();
+            int legacy = 0;
+            for (long timestamp : timestamps) {
+                if (perOrderCalendarCheck(new Date(timestamp))) {
+                    legacy++;
+                }
+            }
+            legacyNanos = Math.min(legacyNanos, System.nanoTime() - begin);
+
+            begin = System.nanoTime();
+            Date sixMonthsAgo = DateUtils.getSixMonthsAgo();
+            int once = 0;
+            for (long timestamp : timestamps) {
+                if (timestamp >= sixMonthsAgo.getTime()) {
+                    once++;
+                }
+            }
+            onceNanos = Math.min(onceNanos, System.nanoTime() - begin);
+
+            begin = System.nanoTime();
+            int[] ids = series.between(DateUtils.getSixMonthsAgo().getTime(), Long.MAX_VALUE);
+            indexNanos = Math.min(indexNanos, System.nanoTime() - begin);
+
+            assertEquals(expected, legacy);
+            assertEquals(expected, once);
+            assertEquals(expected, ids.length);
+        }
+
+        System.out.println("Last 6 months of " + ORDERS_PER_USER + " orders (" + expected + " match), best of "
+                + ROUNDS);
+        System.out.printf("  per-order Calendar : %10.3f ms%n", legacyNanos / 1e6);
+        System.out.printf("  cutoff once        : %10.3f ms%n", onceNanos / 1e6);
+        System.out.printf("  index binary search: %10.3f ms%n", indexNanos / 1e6);
+    }
+
+    /**
+     * The pre-index DateUtils.isWithinLast6Months, which builds a Calendar per call
+     */
+    private static boolean perOrderCalendarCheck(Date date) {
+        Calendar sixMonthsAgo = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        sixMonthsAgo.setTimeInMillis(DateUtils.getClock().millis());
+        sixMonthsAgo.add(Calendar.MONTH, -6);
+        Date sixMonthsAgoDate = sixMonthsAgo.getTime();
+        return date.after(sixMonthsAgoDate) || date.equals(sixMonthsAgoDate);
+    }
+}
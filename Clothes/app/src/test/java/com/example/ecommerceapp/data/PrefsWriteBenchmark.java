@@ -0,0 +1,142 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.models.User;
+import com.example.ecommerceapp.utils.Constants;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of bytes rewritten to disk per cart mutation
+ * SharedPreferences rewrites its whole XML file on apply(), so the cost of a cart tap
+ * is the size of whichever file holds KEY_CART
+ */
+public class PrefsWriteBenchmark {
+    private static final int USERS = 200;
+    private static final int ORDERS = 500;
+    private static final int CART_LINES = 4;
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void bytesWrittenPerCartMutation() {
+        List<Product> products = products();
+        List<CartItem> cart = new ArrayList<>();
+        for (int i = 0; i < CART_LINES; i++) {
+            cart.add(new CartItem(products.get(i), i + 1));
+        }
+        Map<String, User> users = new HashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            String email = "user" + i + "@example.com";
+            users.put(email, new User(email, "User " + i, "password" + i));
+        }
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(new Order(i + 1, "user" + (i % USERS) + "@example.com", cart, Money.of(100.0),
+                    "User", "1 Main St", "0400000000", "user@example.com"));
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put(Constants.KEY_USERS, gson.toJson(users));
+        values.put(Constants.KEY_CURRENT_USER, "user0@example.com");
+        values.put(Constants.KEY_CART, gson.toJson(cart));
+        values.put(Constants.KEY_PRODUCTS, gson.toJson(products));
+        values.put(Constants.KEY_LAST_ORDER_ID, ORDERS);
+
+        Map<String, Object> withOrders = new LinkedHashMap<>(values);
+        withOrders.put(Constants.KEY_ORDERS, gson.toJson(orders));
+
+        int legacyWithOrders = xmlBytes(withOrders);
+        int legacy = xmlBytes(values);
+        int split = xmlBytes(byDomain(values).get(StoreDomain.CART));
+
+        System.out.printf("Bytes written per cart mutation (%d users, %d orders, %d cart lines)%n",
+                USERS, ORDERS, CART_LINES);
+        System.out.printf("  single file, orders in prefs : %,d%n", legacyWithOrders);
+        System.out.printf("  single file, orders in log   : %,d%n", legacy);
+        System.out.printf("  per-domain files             : %,d%n", split);
+
+        assertTrue(split < legacy);
+        assertEquals(xmlBytes(singleton(Constants.KEY_CART, values.get(Constants.KEY_CART))), split);
+    }
+
+    @Test
+    public void everyLegacyKeyHasADomainExceptOrders() {
+        assertEquals(StoreDomain.USERS, StoreDomain.forKey(Constants.KEY_USERS));
+        assertEquals(StoreDomain.SESSION, StoreDomain.forKey(Constants.KEY_CURRENT_USER));
+        assertEquals(StoreDomain.CART, StoreDomain.forKey(Constants.KEY_CART));
+        assertEquals(StoreDomain.PRODUCTS, StoreDomain.forKey(Constants.KEY_PRODUCTS));
+        assertEquals(StoreDomain.COUNTERS, StoreDomain.forKey(Constants.KEY_LAST_ORDER_ID));
+        // Orders moved to the order log rather than a preferences file
+        assertNull(StoreDomain.forKey(Constants.KEY_ORDERS));
+    }
+
+    private static Map<StoreDomain, Map<String, Object>> byDomain(Map<String, Object> values) {
+        Map<StoreDomain, Map<String, Object>> files = new EnumMap<>(StoreDomain.class);
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            StoreDomain domain = StoreDomain.forKey(entry.getKey());
+            Map<String, Object> file = files.get(domain);
+            if (file == null) {
+                file = new LinkedHashMap<>();
+                files.put(domain, file);
+            }
+            file.put(entry.getKey(), entry.getValue());
+        }
+        return files;
+    }
+
+    private static Map<String, Object> singleton(String key, Object value) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put(key, value);
+        return map;
+    }
+
+    /**
+     * Size of the XML file SharedPreferences writes for the given values
+     */
+    private static int xmlBytes(Map<String, Object> values) {
+        StringBuilder xml = new StringBuilder("<?xml version='1.0' encoding='utf-8' standalone='yes' ?>\n<map>\n");
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Integer) {
+                xml.append("    <int name=\"").append(entry.getKey())
+                        .append("\" value=\"").append(value).append("\" />\n");
+            } else {
+                xml.append("    <string name=\"").append(entry.getKey()).append("\">")
+                        .append(escape((String) value)).append("</string>\n");
+            }
+        }
+        xml.append("</map>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&apos;");
+    }
+
+    private static List<Product> products() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            products.add(new Product(i, "Product " + i, 10.0 * i + 0.99, 4.5, 100 + i,
+                    "Product description that is about as long as the seed catalog descriptions, "
+                            + "covering features, materials and intended use of product " + i + ".",
+                    "https://images.unsplash.com/photo-" + i + "?auto=format&fit=crop&w=800&q=60"));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for ProductRepository lookups and catalog-save consistency
+ */
+public class ProductRepositoryTest {
+
+    @Test
+    public void buildsOnceAndLooksUpById() {
+        AtomicInteger loads = new AtomicInteger();
+        List<Product> products = catalog();
+        ProductRepository repository = new ProductRepository(() -> {
+            loads.incrementAndGet();
+            return products;
+        });
+
+        assertSame(products.get(1), repository.get(2));
+        assertNull(repository.get(99));
+        assertTrue(repository.contains(3));
+        assertEquals(3, repository.size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void getAllKeepsIdOrderWithNullsForMissing() {
+        List<Product> products = catalog();
+        ProductRepository repository = new ProductRepository(() -> products);
+
+        Product[] found = repository.getAll(new int[]{3, 99, 1});
+
+        assertSame(products.get(2), found[0]);
+        assertNull(found[1]);
+        assertSame(products.get(0), found[2]);
+    }
+
+    @Test
+    public void savedCatalogReplacesIndexWithoutReload() {
+        List<Product> products = catalog();
+        AtomicInteger loads = new AtomicInteger();
+        ProductRepository repository = new ProductRepository(() -> {
+            loads.incrementAndGet();
+            return products;
+        });
+        repository.get(1);
+
+        List<Product> saved = new ArrayList<>(products);
+        saved.remove(0);
+        Product added = new Product(4, "Silk Tie", 25.00, 4.1, 12, "", null);
+        saved.add(added);
+        repository.onCatalogSaved(saved);
+
+        assertNull(repository.get(1));
+        assertSame(added, repository.resolve(4));
+        assertEquals(3, repository.size());
+        assertEquals(1, loads.get());
+
+        repository.invalidate();
+        assertSame(products.get(0), repository.get(1));
+        assertEquals(2, loads.get());
+    }
+
+    private static List<Product> catalog() {
+        List<Product> products = new ArrayList<>();
+        products.add(new Product(1, "Linen Shirt", 49.99, 4.5, 120, "", null));
+        products.add(new Product(2, "Wool Coat", 59.99, 4.8, 200, "", null));
+        products.add(new Product(3, "Cotton Socks", 9.99, 4.2, 900, "", null));
+        return products;
+    }
+}
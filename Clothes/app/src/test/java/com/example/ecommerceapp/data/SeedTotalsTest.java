@@ -0,0 +1,67 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.Cart;
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that Money totals over the seed catalog equal what the old double path displayed
+ * The old path summed price * quantity as doubles and formatted with "$%.2f"
+ */
+public class SeedTotalsTest {
+    private static final double[] SEED_PRICES = {129.99, 299.99, 49.99, 19.99, 89.99, 14.99};
+
+    @Test
+    public void seedPricesConvertLosslessly() {
+        List<Product> catalog = SeedData.createProductList();
+        assertEquals(SEED_PRICES.length, catalog.size());
+        for (int i = 0; i < SEED_PRICES.length; i++) {
+            Product product = catalog.get(i);
+            assertEquals(Math.round(SEED_PRICES[i] * 100), product.getPrice().getCents());
+            assertEquals(SEED_PRICES[i], product.getPrice().toDouble(), 0.0);
+        }
+    }
+
+    @Test
+    public void everySeedCartTotalMatchesDoublePath() {
+        List<Product> catalog = SeedData.createProductList();
+        int products = catalog.size();
+        int maxQuantity = 5;
+        int combinations = (int) Math.pow(maxQuantity + 1, products);
+
+        // Every cart with 0..5 of each seed product
+        for (int combination = 0; combination < combinations; combination++) {
+            Cart cart = new Cart();
+            List<CartItem> lines = new ArrayList<>();
+            double doubleTotal = 0.0;
+            int remaining = combination;
+            for (Product product : catalog) {
+                int quantity = remaining % (maxQuantity + 1);
+                remaining /= maxQuantity + 1;
+                if (quantity > 0) {
+                    cart.add(product, quantity);
+                    lines.add(new CartItem(product, quantity));
+                    doubleTotal += product.getPrice().toDouble() * quantity;
+                }
+            }
+
+            Money total = Money.ZERO;
+            for (CartItem line : lines) {
+                total = total.plus(line.getTotalPrice());
+            }
+            String expected = String.format(Locale.US, "$%.2f", doubleTotal);
+            assertEquals(expected, total.format());
+            assertEquals(expected, cart.getSubtotal().format());
+            assertEquals(Math.round(doubleTotal * 100), total.getCents());
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.models.Cart;
+import com.example.ecommerceapp.models.CartChange;
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.CartSnapshot;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for SharedCart snapshots, including concurrent writers and lock-free readers
+ */
+public class SharedCartTest {
+    private static final int PRODUCTS = 200;
+
+    @Test
+    public void snapshotsAreImmutable() {
+        SharedCart cart = new SharedCart();
+        cart.add(product(1, 10.00), 1);
+        CartSnapshot before = cart.snapshot();
+
+        cart.setQuantity(1, 5);
+        cart.add(product(2, 2.00), 1);
+
+        assertEquals(1, before.getItems().size());
+        assertEquals(1, before.getItems().get(0).getQuantity());
+        assertEquals(1000, before.getSubtotalCents());
+        assertEquals(5, cart.snapshot().getItems().get(0).getQuantity());
+        assertEquals(1200 + 4000, cart.snapshot().getSubtotalCents());
+        assertTrue(cart.snapshot().getVersion() > before.getVersion());
+        try {
+            before.getItems().clear();
+            fail("snapshot lines must be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void noOpWritesDoNotPublish() {
+        SharedCart cart = new SharedCart();
+        cart.add(product(1, 1.00), 2);
+        long version = cart.snapshot().getVersion();
+
+        assertFalse(cart.setQuantity(1, 2));
+        assertFalse(cart.setQuantity(9, 1));
+        assertFalse(cart.remove(9));
+        assertFalse(cart.add(product(1, 1.00), 0));
+        assertEquals(version, cart.snapshot().getVersion());
+    }
+
+    @Test
+    public void repriceAndMergeUpdateTotals() {
+        SharedCart cart = new SharedCart();
+        cart.add(product(1, 10.00), 2);
+        cart.add(product(2, 5.00), 1);
+
+        Map<Integer, Product> catalog = new HashMap<>();
+        catalog.put(1, product(1, 12.50));
+        assertTrue(cart.reprice(catalog::get));
+        assertEquals(2500 + 500, cart.snapshot().getSubtotalCents());
+        assertFalse(cart.reprice(catalog::get));
+
+        List<CartItem> saved = new ArrayList<>();
+        saved.add(new CartItem(2, 3, Money.of(5.00)));
+        saved.add(new CartItem(3, 1, Money.of(1.00)));
+        assertTrue(cart.merge(saved));
+        assertEquals(7, cart.snapshot().getTotalQuantity());
+        assertEquals(4, cart.snapshot().getItems().get(1).getQuantity());
+    }
+
+    @Test
+    public void publishesOneChangePerAffectedLine() {
+        SharedCart cart = new SharedCart();
+        List<List<CartChange>> published = new ArrayList<>();
+        List<Long> versions = new ArrayList<>();
+        cart.setListener((previous, current, changes) -> {
+            assertEquals(previous.getVersion() + 1, current.getVersion());
+            published.add(changes);
+            versions.add(current.getVersion());
+        });
+
+        cart.add(product(1, 10.00), 1);
+        cart.add(product(1, 10.00), 2);
+        cart.setQuantity(1, 0);
+        cart.setQuantity(1, 4); // not in the cart any more: no event
+
+        assertEquals(3, published.size());
+        assertChange(published.get(0).get(0), CartChange.Type.ADDED, 1, 0, 1);
+        assertChange(published.get(1).get(0), CartChange.Type.UPDATED, 1, 1, 3);
+        assertTrue(published.get(1).get(0).isQuantityChanged());
+        assertFalse(published.get(1).get(0).isPriceChanged());
+        assertChange(published.get(2).get(0), CartChange.Type.REMOVED, 1, 3, 0);
+        assertEquals(3L, (long) versions.get(2));
+    }
+
+    @Test
+    public void bulkWritesPublishOnceWithCollapsedChanges() {
+        SharedCart cart = new SharedCart();
+        cart.add(product(1, 1.00), 1);
+        cart.add(product(2, 2.00), 1);
+        List<List<CartChange>> published = new ArrayList<>();
+        cart.setListener((previous, current, changes) -> published.add(changes));
+
+        List<CartItem> saved = new ArrayList<>();
+        saved.add(new CartItem(2, 1, Money.of(2.00)));
+        saved.add(new CartItem(3, 1, Money.of(3.00)));
+        saved.add(new CartItem(3, 2, Money.of(3.00)));
+        cart.merge(saved);
+
+        assertEquals(1, published.size());
+        List<CartChange> changes = published.get(0);
+        assertEquals(2, changes.size());
+        assertChange(changes.get(0), CartChange.Type.UPDATED, 2, 1, 2);
+        assertChange(changes.get(1), CartChange.Type.ADDED, 3, 0, 3);
+
+        Map<Integer, Product> catalog = new HashMap<>();
+        catalog.put(1, product(1, 1.50));
+        cart.reprice(catalog::get);
+        CartChange repriced = published.get(1).get(0);
+        assertTrue(repriced.isPriceChanged());
+        assertFalse(repriced.isQuantityChanged());
+
+        cart.clear();
+        assertEquals(3, published.get(2).size());
+        for (CartChange change : published.get(2)) {
+            assertEquals(CartChange.Type.REMOVED, change.getType());
+        }
+    }
+
+    @Test
+    public void lateLoadMergesIntoLinesAddedBeforeIt() {
+        // A user's cart continues the version numbering of the cart it replaced
+        SharedCart cart = new SharedCart(new Cart(), 7);
+        cart.add(product(1, 4.00), 1);
+
+        List<CartItem> saved = new ArrayList<>();
+        saved.add(new CartItem(1, 2, Money.of(4.00)));
+        saved.add(new CartItem(2, 1, Money.of(6.00)));
+        assertTrue(cart.merge(saved));
+
+        CartSnapshot snapshot = cart.snapshot();
+        assertEquals(9, snapshot.getVersion());
+        assertEquals(2, snapshot.getItems().size());
+        assertEquals(3, snapshot.getItems().get(0).getQuantity());
+        assertEquals(1200 + 600, snapshot.getSubtotalCents());
+    }
+
+    @Test
+    public void concurrentWritersAndReadersSeeConsistentSnapshots() throws InterruptedException {
+        SharedCart cart = new SharedCart();
+        Product[] products = new Product[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            products[i] = product(i + 1, (i % 50 + 1) * 1.25);
+        }
+        int writers = 4;
+        int readers = 4;
+        int opsPerWriter = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch writersDone = new CountDownLatch(writers);
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            long seed = w;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                try {
+                    start.await();
+                    for (int op = 0; op < opsPerWriter; op++) {
+                        Product product = products[random.nextInt(PRODUCTS)];
+                        switch (random.nextInt(4)) {
+                            case 0:
+                            case 1:
+                                cart.add(product, 1 + random.nextInt(3));
+                                break;
+                            case 2:
+                                cart.setQuantity(product.getId(), random.nextInt(6));
+                                break;
+                            default:
+                                cart.remove(product.getId());
+                                break;
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    writersDone.countDown();
+                }
+            }));
+        }
+        for (int r = 0; r < readers; r++) {
+            threads.add(new Thread(() -> {
+                long lastVersion = -1;
+                try {
+                    start.await();
+                    while (!stop.get()) {
+                        CartSnapshot snapshot = cart.snapshot();
+                        assertTrue("versions never go backwards", snapshot.getVersion() >= lastVersion);
+                        lastVersion = snapshot.getVersion();
+                        assertConsistent(snapshot);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        assertTrue(writersDone.await(60, TimeUnit.SECONDS));
+        stop.set(true);
+        for (Thread thread : threads) {
+            thread.join(10_000);
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertConsistent(cart.snapshot());
+    }
+
+    private static void assertChange(CartChange change, CartChange.Type type, int productId,
+                                     int quantityBefore, int quantityAfter) {
+        assertEquals(type, change.getType());
+        assertEquals(productId, change.getProductId());
+        assertEquals(quantityBefore, change.getPrevious() == null ? 0 : change.getPrevious().getQuantity());
+        assertEquals(quantityAfter, change.getCurrent() == null ? 0 : change.getCurrent().getQuantity());
+    }
+
+    /**
+     * Aggregates match the lines, and no product appears twice
+     */
+    private static void assertConsistent(CartSnapshot snapshot) {
+        long cents = 0;
+        int quantity = 0;
+        Map<Integer, Boolean> seen = new HashMap<>();
+        for (CartItem item : snapshot.getItems()) {
+            assertNull("duplicate line", seen.put(item.getProductId(), Boolean.TRUE));
+            assertTrue(item.getQuantity() > 0);
+            cents += item.getTotalCents();
+            quantity += item.getQuantity();
+        }
+        assertEquals(cents, snapshot.getSubtotalCents());
+        assertEquals(quantity, snapshot.getTotalQuantity());
+    }
+
+    private static Product product(int id, double price) {
+        return new Product(id, "Product " + id, price, 4.0, 10, "", null);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.ecommerceapp.data;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for SnapshotCache hit/miss accounting and write-through behaviour
+ */
+public class SnapshotCacheTest {
+
+    @Test
+    public void loadsOnceThenServesHits() {
+        SnapshotCache<String> cache = new SnapshotCache<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("decoded", cache.get(() -> {
+                loads.incrementAndGet();
+                return "decoded";
+            }));
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMisses());
+        assertEquals(99, cache.getHits());
+    }
+
+    @Test
+    public void putWritesThroughWithoutReload() {
+        SnapshotCache<String> cache = new SnapshotCache<>();
+        cache.put("saved");
+
+        assertEquals("saved", cache.get(() -> {
+            throw new AssertionError("should not decode after put");
+        }));
+        assertEquals(0, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void invalidateForcesReload() {
+        SnapshotCache<String> cache = new SnapshotCache<>();
+        cache.get(() -> "first");
+        cache.invalidate();
+
+        assertNull(cache.peek());
+        assertEquals("second", cache.get(() -> "second"));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void versionChangesOnlyOnWrites() {
+        SnapshotCache<String> cache = new SnapshotCache<>();
+        long initial = cache.getVersion();
+
+        cache.get(() -> "value");
+        cache.get(() -> "value");
+        assertEquals(initial, cache.getVersion());
+
+        cache.put("new");
+        assertEquals(initial + 1, cache.getVersion());
+        cache.invalidate();
+        assertEquals(initial + 2, cache.getVersion());
+    }
+
+    @Test
+    public void peekDoesNotCountAsRead() {
+        SnapshotCache<String> cache = new SnapshotCache<>();
+        assertNull(cache.peek());
+        cache.put("value");
+        assertEquals("value", cache.peek());
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.ecommerceapp.data;
+
+import com.example.ecommerceapp.data.codec.Codecs;
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Money;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for WriteBehindScheduler coalescing against a virtual clock
+ */
+public class WriteBehindSchedulerTest {
+    private static final long QUIET_MS = 500;
+
+    private FakeScheduler scheduler;
+    private List<CartItem> cart;
+    private List<byte[]> writes;
+    private WriteBehindScheduler writer;
+
+    @Before
+    public void setUp() {
+        scheduler = new FakeScheduler();
+        cart = new ArrayList<>();
+        writes = new ArrayList<>();
+        // Each write serializes the whole cart, like CartManager.saveCart
+        writer = new WriteBehindScheduler(scheduler, QUIET_MS, () -> writes.add(Codecs.JSON.encodeCart(cart)));
+    }
+
+    @Test
+    public void burstInsideWindowSerializesOnce() {
+        cart.add(new CartItem(1, 1, Money.of(9.99)));
+        for (int i = 0; i < 50; i++) {
+            cart.get(0).setQuantity(cart.get(0).getQuantity() + 1);
+            writer.markDirty();
+            scheduler.advance(QUIET_MS - 1);
+        }
+        assertTrue(writes.isEmpty());
+
+        scheduler.advance(QUIET_MS);
+        assertEquals(1, writes.size());
+        assertEquals(51, Codecs.JSON.decodeCart(writes.get(0)).get(0).getQuantity());
+        assertFalse(writer.isDirty());
+    }
+
+    @Test
+    public void separateBurstsWriteSeparately() {
+        cart.add(new CartItem(1, 1, Money.of(9.99)));
+        writer.markDirty();
+        scheduler.advance(QUIET_MS);
+        cart.add(new CartItem(2, 1, Money.of(4.50)));
+        writer.markDirty();
+        scheduler.advance(QUIET_MS);
+
+        assertEquals(2, writes.size());
+        assertEquals(2, writer.getWriteCount());
+    }
+
+    @Test
+    public void forcedFlushWritesLatestStateOnce() {
+        cart.add(new CartItem(1, 1, Money.of(9.99)));
+        writer.markDirty();
+        cart.add(new CartItem(2, 3, Money.of(4.50)));
+        writer.markDirty();
+
+        writer.flush();
+        assertEquals(1, writes.size());
+        List<CartItem> saved = Codecs.JSON.decodeCart(writes.get(0));
+        assertEquals(2, saved.size());
+        assertEquals(3, saved.get(1).getQuantity());
+
+        // The pending timer was cancelled, so nothing is written again
+        scheduler.advance(QUIET_MS * 4);
+        assertEquals(1, writes.size());
+    }
+
+    @Test
+    public void flushWithoutChangesDoesNotWrite() {
+        writer.flush();
+        writer.markDirty();
+        writer.flush();
+        writer.flush();
+        assertEquals(1, writes.size());
+    }
+
+    @Test
+    public void cancelDropsPendingWrite() {
+        cart.add(new CartItem(1, 1, Money.of(9.99)));
+        writer.markDirty();
+        writer.cancel();
+        scheduler.advance(QUIET_MS);
+        writer.flush();
+        assertTrue(writes.isEmpty());
+    }
+
+    /**
+     * Scheduler driven by a virtual clock
+     */
+    private static class FakeScheduler implements WriteBehindScheduler.Scheduler {
+        private final Map<Runnable, Long> pending = new LinkedHashMap<>();
+        private long now;
+
+        @Override
+        public void postDelayed(Runnable task, long delayMillis) {
+            pending.put(task, now + delayMillis);
+        }
+
+        @Override
+        public void removeCallbacks(Runnable task) {
+            pending.remove(task);
+        }
+
+        void advance(long millis) {
+            now += millis;
+            List<Runnable> due = new ArrayList<>();
+            for (Iterator<Map.Entry<Runnable, Long>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Runnable, Long> entry = it.next();
+                if (entry.getValue() <= now) {
+                    due.add(entry.getKey());
+                    it.remove();
+                }
+            }
+            for (Runnable task : due) {
+                task.run();
+            }
+        }
+    }
+}
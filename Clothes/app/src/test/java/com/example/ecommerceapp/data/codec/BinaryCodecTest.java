@@ -0,0 +1,196 @@
+package com.example.ecommerceapp.data.codec;
+
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for BinaryCodec round trips, header checks and codec detection
+ */
+public class BinaryCodecTest {
+    private final BinaryCodec codec = new BinaryCodec();
+
+    @Test
+    public void productsRoundTrip() {
+        List<Product> products = catalog();
+        List<Product> copy = codec.decodeProducts(codec.encodeProducts(products));
+
+        assertEquals(products.size(), copy.size());
+        for (int i = 0; i < products.size(); i++) {
+            assertProductEquals(products.get(i), copy.get(i));
+        }
+    }
+
+    @Test
+    public void cartRoundTrip() {
+        List<CartItem> cart = new ArrayList<>();
+        cart.add(new CartItem(catalog().get(0), 2));
+        cart.add(new CartItem(catalog().get(1), 1));
+
+        List<CartItem> copy = codec.decodeCart(codec.encodeCart(cart));
+        assertEquals(2, copy.size());
+        assertEquals(1, copy.get(0).getProductId());
+        assertEquals(2, copy.get(0).getQuantity());
+        assertEquals(Money.of(299.99), copy.get(1).getUnitPrice());
+    }
+
+    @Test
+    public void readsSchemaOneOrderWithEmbeddedProducts() {
+        Product product = catalog().get(0);
+        BinaryWriter out = new BinaryWriter(0);
+        out.writeByte(BinaryCodec.MAGIC);
+        out.writeByte(BinaryCodec.SCHEMA_EMBEDDED_PRODUCTS);
+        out.writeByte(BinaryCodec.KIND_ORDER);
+        out.writeVarInt(9);
+        out.writeString("user@example.com");
+        out.writeSignedVarLong(1735689600123L);
+        out.writeString("Delivered");
+        out.writeFixed2(259.98);
+        out.writeString("User");
+        out.writeString("1 Main St");
+        out.writeString(null);
+        out.writeString("user@example.com");
+        out.writeVarInt(1);
+        out.writeVarInt(product.getId());
+        out.writeString(product.getName());
+        out.writeFixed2(product.getPrice().toDouble());
+        out.writeFixed2(product.getRating());
+        out.writeVarInt(product.getReviews());
+        out.writeString(product.getDescription());
+        out.writeString(product.getImageUrl());
+        out.writeVarInt(2);
+
+        Order order = codec.decodeOrder(out.toByteArray());
+        assertEquals(9, order.getId());
+        assertEquals("user@example.com", order.getEmail());
+        assertEquals(1, order.getItems().size());
+        assertEquals(product.getId(), order.getItems().get(0).getProductId());
+        assertEquals(2, order.getItems().get(0).getQuantity());
+        assertEquals(product.getPrice(), order.getItems().get(0).getUnitPrice());
+    }
+
+    @Test
+    public void orderRoundTrip() {
+        Order order = order(7);
+        Order copy = codec.decodeOrder(codec.encodeOrder(order));
+
+        assertEquals(order.getId(), copy.getId());
+        assertEquals(order.getUserEmail(), copy.getUserEmail());
+        assertEquals(order.getTimestamp(), copy.getTimestamp());
+        assertEquals(order.getStatus(), copy.getStatus());
+        assertEquals(order.getTotal(), copy.getTotal());
+        assertEquals(order.getAddress(), copy.getAddress());
+        assertNull(copy.getPhone());
+        assertEquals(order.getItems().size(), copy.getItems().size());
+        assertEquals(order.getItems().get(2).getQuantity(), copy.getItems().get(2).getQuantity());
+        assertEquals(order.getItems().get(2).getUnitPrice(), copy.getItems().get(2).getUnitPrice());
+    }
+
+    @Test
+    public void repeatedStringsAreStoredOnce() {
+        List<Product> once = catalog();
+        List<Product> twice = new ArrayList<>(once);
+        twice.addAll(catalog());
+
+        int singleSize = codec.encodeProducts(once).length;
+        int doubleSize = codec.encodeProducts(twice).length;
+        // Repeats only cost their numbers and one-byte string references
+        assertTrue(doubleSize - singleSize < 20 * once.size());
+    }
+
+    @Test
+    public void binaryIsSmallerThanJson() {
+        Order order = order(1);
+        assertTrue(codec.encodeOrder(order).length * 2 < Codecs.JSON.encodeOrder(order).length);
+    }
+
+    @Test
+    public void detectsCodecFromPayload() {
+        Order order = order(3);
+        byte[] binary = Codecs.BINARY.encodeOrder(order);
+        byte[] json = Codecs.JSON.encodeOrder(order);
+
+        assertSame(Codecs.BINARY, Codecs.forData(binary));
+        assertSame(Codecs.JSON, Codecs.forData(json));
+        assertEquals(3, Codecs.forData(json).decodeOrder(json).getId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownSchemaVersion() {
+        byte[] data = codec.encodeOrder(order(1));
+        data[1] = (byte) (BinaryCodec.SCHEMA_VERSION + 1);
+        codec.decodeOrder(data);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsWrongRecordKind() {
+        codec.decodeOrder(codec.encodeProducts(catalog()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTruncatedPayload() {
+        byte[] data = codec.encodeOrder(order(1));
+        byte[] truncated = new byte[data.length - 5];
+        System.arraycopy(data, 0, truncated, 0, truncated.length);
+        codec.decodeOrder(truncated);
+    }
+
+    @Test
+    public void varintsHandleExtremes() {
+        BinaryWriter out = new BinaryWriter(0);
+        out.writeVarInt(Integer.MAX_VALUE);
+        out.writeVarInt(-1);
+        out.writeSignedVarLong(Long.MIN_VALUE);
+        out.writeSignedVarLong(-1);
+        out.writeFixed2(-12.34);
+        out.writeString("");
+        out.writeString("\u00e9t\u00e9");
+
+        BinaryReader in = new BinaryReader(out.toByteArray(), 0);
+        assertEquals(Integer.MAX_VALUE, in.readVarInt());
+        assertEquals(-1, in.readVarInt());
+        assertEquals(Long.MIN_VALUE, in.readSignedVarLong());
+        assertEquals(-1, in.readSignedVarLong());
+        assertEquals(-12.34, in.readFixed2(), 0.0);
+        assertEquals("", in.readString());
+        assertEquals("\u00e9t\u00e9", in.readString());
+    }
+
+    static List<Product> catalog() {
+        List<Product> products = new ArrayList<>();
+        products.add(new Product(1, "Premium Wireless Headphones", 129.99, 4.5, 124,
+                "Premium wireless headphones with active noise cancellation.", "https://img/1"));
+        products.add(new Product(2, "Smart Watch", 299.99, 4.8, 89, "Advanced smartwatch.", "https://img/2"));
+        products.add(new Product(3, "Phone Case", 19.99, 4.6, 210, "Durable case.", "https://img/3"));
+        return products;
+    }
+
+    static Order order(int id) {
+        List<CartItem> items = new ArrayList<>();
+        for (Product product : catalog()) {
+            items.add(new CartItem(product, product.getId()));
+        }
+        Order order = new Order(id, "user@example.com", items, Money.of(789.94), "User", "1 Main St", null, "user@example.com");
+        order.setTimestamp(new Date(1735689600123L));
+        return order;
+    }
+
+    private static void assertProductEquals(Product expected, Product actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getPrice(), actual.getPrice());
+        assertEquals(expected.getRating(), actual.getRating(), 0.0);
+        assertEquals(expected.getReviews(), actual.getReviews());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getImageUrl(), actual.getImageUrl());
+    }
+}
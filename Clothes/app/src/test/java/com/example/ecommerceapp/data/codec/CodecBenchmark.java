@@ -0,0 +1,84 @@
+package com.example.ecommerceapp.data.codec;
+
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of stored size and decode time for JSON vs binary order records
+ * Each order is encoded as its own record, the way DataStore appends to the order log
+ */
+public class CodecBenchmark {
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+
+    @Test
+    public void orderHistorySizeAndDecodeTime() {
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            catalog.add(new Product(i, "Product " + i, 9.99 + i, 4.5, 10 * i,
+                    "Description of product " + i + " with enough text to resemble the seed catalog entries.",
+                    "https://images.example.com/product-" + i + ".jpg"));
+        }
+
+        System.out.println("orders    codec   bytes          decode ms");
+        for (int size : SIZES) {
+            List<byte[]> json = encodeAll(Codecs.JSON, catalog, size);
+            List<byte[]> binary = encodeAll(Codecs.BINARY, catalog, size);
+
+            long jsonBytes = totalBytes(json);
+            long binaryBytes = totalBytes(binary);
+            double jsonMs = decodeMs(Codecs.JSON, json);
+            double binaryMs = decodeMs(Codecs.BINARY, binary);
+
+            System.out.printf("%,8d  json    %,12d   %8.1f%n", size, jsonBytes, jsonMs);
+            System.out.printf("%,8d  binary  %,12d   %8.1f%n", size, binaryBytes, binaryMs);
+            assertTrue(binaryBytes < jsonBytes);
+        }
+    }
+
+    private static List<byte[]> encodeAll(DataCodec codec, List<Product> catalog, int count) {
+        List<byte[]> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<CartItem> items = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                items.add(new CartItem(catalog.get((i + j * 7) % catalog.size()), 1 + j));
+            }
+            Order order = new Order(i + 1, "user" + (i % 100) + "@example.com", items, Money.of(123.45),
+                    "User " + i, i + " Main St", "0400000000", "user@example.com");
+            order.setTimestamp(new Date(1700000000000L + i * 60_000L));
+            records.add(codec.encodeOrder(order));
+        }
+        return records;
+    }
+
+    private static long totalBytes(List<byte[]> records) {
+        long total = 0;
+        for (byte[] record : records) {
+            total += record.length;
+        }
+        return total;
+    }
+
+    private static double decodeMs(DataCodec codec, List<byte[]> records) {
+        // One warm-up pass, then a timed pass
+        for (byte[] record : records) {
+            codec.decodeOrder(record);
+        }
+        long start = System.nanoTime();
+        int ids = 0;
+        for (byte[] record : records) {
+            ids += codec.decodeOrder(record).getId();
+        }
+        assertTrue(ids > 0);
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ecommerceapp.data.codec;
+
+import com.example.ecommerceapp.data.OrderQuery;
+import com.example.ecommerceapp.models.Order;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for decoding order records with a header filter pushed down
+ */
+public class HeaderFilterDecodeTest {
+
+    @Test
+    public void binaryAcceptsAndRejects() {
+        assertFilterBehaviour(Codecs.BINARY);
+    }
+
+    @Test
+    public void jsonAcceptsAndRejects() {
+        assertFilterBehaviour(Codecs.JSON);
+    }
+
+    @Test
+    public void jsonRejectsBeforeReadingItems() {
+        // Items are deliberately malformed: a rejected record must never reach them
+        String record = "{\"id\":1,\"userEmail\":\"other@example.com\",\"timestamp\":1735689600123,"
+                + "\"status\":\"Delivered\",\"items\":[{\"productId\":\"not a number\"}";
+        byte[] data = record.getBytes(StandardCharsets.UTF_8);
+
+        assertNull(Codecs.JSON.decodeOrderIfMatches(data, OrderQuery.forUser("user@example.com")));
+    }
+
+    @Test
+    public void binaryRejectsBeforeReadingItems() {
+        // A record that ends right after its header fields
+        BinaryWriter out = new BinaryWriter(0);
+        out.writeByte(BinaryCodec.MAGIC);
+        out.writeByte(BinaryCodec.SCHEMA_VERSION);
+        out.writeByte(BinaryCodec.KIND_ORDER);
+        out.writeVarInt(1);
+        out.writeString("user@example.com");
+        out.writeSignedVarLong(1735689600123L);
+        out.writeString("Delivered");
+
+        assertNull(Codecs.BINARY.decodeOrderIfMatches(out.toByteArray(), OrderQuery.forUser("other@example.com")));
+    }
+
+    private static void assertFilterBehaviour(DataCodec codec) {
+        Order order = BinaryCodecTest.order(5);
+        byte[] data = codec.encodeOrder(order);
+        long t = order.getTimestamp().getTime();
+
+        Order accepted = codec.decodeOrderIfMatches(data, OrderQuery.forUser("user@example.com"));
+        assertNotNull(accepted);
+        assertEquals(5, accepted.getId());
+        assertEquals(3, accepted.getItems().size());
+
+        assertNull(codec.decodeOrderIfMatches(data, OrderQuery.forUser("other@example.com")));
+        assertNull(codec.decodeOrderIfMatches(data, OrderQuery.all().since(new java.util.Date(t + 1))));
+        assertNull(codec.decodeOrderIfMatches(data, OrderQuery.all().withStatus("Shipped")));
+        assertNotNull(codec.decodeOrderIfMatches(data, OrderQuery.all().withStatus("delivered")));
+    }
+}
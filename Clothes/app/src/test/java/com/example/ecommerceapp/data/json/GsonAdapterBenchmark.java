@@ -0,0 +1,125 @@
+package com.example.ecommerceapp.data.json;
+
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.models.Product;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * JVM benchmark comparing reflective Gson with the streaming model adapters
+ * Reports throughput and bytes allocated when decoding 10k orders
+ */
+public class GsonAdapterBenchmark {
+    private static final int ORDERS = 10_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 5;
+
+    @Test
+    public void decodeTenThousandOrders() {
+        List<Order> orders = orders(ORDERS);
+        Type type = new TypeToken<List<Order>>(){}.getType();
+
+        Gson reflective = new Gson();
+        Gson streaming = GsonProvider.get();
+        String reflectiveJson = reflective.toJson(orders, type);
+        String streamingJson = streaming.toJson(orders, type);
+
+        Result reflectiveResult = measure(() -> reflective.fromJson(reflectiveJson, type));
+        Result streamingResult = measure(() -> streaming.fromJson(streamingJson, type));
+
+        System.out.printf("Decode %,d orders%n", ORDERS);
+        System.out.printf("  reflective : %8.1f orders/ms, %,d bytes allocated%n",
+                reflectiveResult.ordersPerMs(), reflectiveResult.allocatedBytes);
+        System.out.printf("  streaming  : %8.1f orders/ms, %,d bytes allocated%n",
+                streamingResult.ordersPerMs(), streamingResult.allocatedBytes);
+
+        List<Order> decoded = streaming.fromJson(streamingJson, type);
+        assertEquals(ORDERS, decoded.size());
+    }
+
+    @Test
+    public void encodeTenThousandOrders() {
+        List<Order> orders = orders(ORDERS);
+        Type type = new TypeToken<List<Order>>(){}.getType();
+        Gson reflective = new Gson();
+        Gson streaming = GsonProvider.get();
+
+        Result reflectiveResult = measure(() -> reflective.toJson(orders, type));
+        Result streamingResult = measure(() -> streaming.toJson(orders, type));
+
+        System.out.printf("Encode %,d orders%n", ORDERS);
+        System.out.printf("  reflective : %8.1f orders/ms, %,d bytes allocated%n",
+                reflectiveResult.ordersPerMs(), reflectiveResult.allocatedBytes);
+        System.out.printf("  streaming  : %8.1f orders/ms, %,d bytes allocated%n",
+                streamingResult.ordersPerMs(), streamingResult.allocatedBytes);
+    }
+
+    private static Result measure(Runnable task) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            task.run();
+        }
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = allocatedBytes() - bytesBefore;
+        return new Result(elapsed / ROUNDS, bytes / ROUNDS);
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    static List<Order> orders(int count) {
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            catalog.add(new Product(i, "Product " + i, 9.99 + i, 4.0 + (i % 10) / 10.0, 10 * i,
+                    "Description of product " + i + " with enough text to resemble the seed catalog entries.",
+                    "https://images.example.com/product-" + i + ".jpg"));
+        }
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<CartItem> items = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                items.add(new CartItem(catalog.get((i + j * 7) % catalog.size()), 1 + j));
+            }
+            Order order = new Order(i + 1, "user" + (i % 100) + "@example.com", items, Money.of(123.45),
+                    "User " + i, i + " Main St", "0400000000", "user@example.com");
+            order.setTimestamp(new Date(1700000000000L + i * 60_000L));
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    private static final class Result {
+        final long nanosPerRound;
+        final long allocatedBytes;
+
+        Result(long nanosPerRound, long allocatedBytes) {
+            this.nanosPerRound = nanosPerRound;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        double ordersPerMs() {
+            return ORDERS / (nanosPerRound / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.ecommerceapp.data.json;
+
+import com.example.ecommerceapp.models.CartItem;
+import com.example.ecommerceapp.models.Money;
+import com.example.ecommerceapp.models.Order;
+import com.example.ecommerceapp.models.Product;
+import com.example.ecommerceapp.models.User;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the streaming model adapters registered in GsonProvider
+ */
+public class ModelTypeAdaptersTest {
+    private final Gson gson = GsonProvider.get();
+
+    @Test
+    public void productRoundTrip() {
+        Product product = new Product(7, "Lamp", 24.5, 4.2, 31, "Desk lamp", "https://img/7");
+        Product copy = gson.fromJson(gson.toJson(product), Product.class);
+        assertProductEquals(product, copy);
+    }
+
+    @Test
+    public void orderRoundTrip() {
+        Order order = sampleOrder();
+        Order copy = gson.fromJson(gson.toJson(order), Order.class);
+
+        assertEquals(order.getId(), copy.getId());
+        assertEquals(order.getUserEmail(), copy.getUserEmail());
+        assertEquals(order.getTimestamp(), copy.getTimestamp());
+        assertEquals(order.getStatus(), copy.getStatus());
+        assertEquals(order.getTotal(), copy.getTotal());
+        assertEquals(order.getFullName(), copy.getFullName());
+        assertEquals(order.getAddress(), copy.getAddress());
+        assertEquals(order.getPhone(), copy.getPhone());
+        assertEquals(order.getEmail(), copy.getEmail());
+        assertEquals(2, copy.getItems().size());
+        assertEquals(2, copy.getItems().get(1).getProductId());
+        assertEquals(3, copy.getItems().get(1).getQuantity());
+        assertEquals(Money.of(299.99), copy.getItems().get(1).getUnitPrice());
+    }
+
+    @Test
+    public void cartItemIsStoredAsReference() {
+        CartItem item = new CartItem(new Product(5, "Speaker", 89.99, 4.7, 142, "Long description", "https://img/5"), 2);
+        String json = gson.toJson(item);
+        assertEquals("{\"productId\":5,\"quantity\":2,\"unitPrice\":89.99}", json);
+    }
+
+    @Test
+    public void readsJsonWrittenByReflectiveGson() {
+        Date timestamp = new Date(1735689600000L);
+        // Older builds persisted with new Gson(): locale date strings and embedded products
+        LegacyProduct product = new LegacyProduct(1, "Headphones", 129.99, 4.5, 124, "Noise cancelling", "https://img/1");
+        String legacy = "{\"id\":42,\"userEmail\":\"a@example.com\",\"items\":[{\"product\":"
+                + new Gson().toJson(product) + ",\"quantity\":2}],\"total\":259.98,\"timestamp\":"
+                + new Gson().toJson(timestamp) + ",\"status\":\"Delivered\"}";
+
+        Order copy = gson.fromJson(legacy, Order.class);
+        assertEquals(42, copy.getId());
+        assertEquals(timestamp, copy.getTimestamp());
+        assertEquals(1, copy.getItems().size());
+        assertEquals(1, copy.getItems().get(0).getProductId());
+        assertEquals(2, copy.getItems().get(0).getQuantity());
+        assertEquals(Money.of(129.99), copy.getItems().get(0).getUnitPrice());
+    }
+
+    @Test
+    public void reflectiveGsonReadsFieldsWrittenByAdapters() {
+        // Builds before Money read prices straight into a double field
+        Product product = new Product(3, "Stand", 49.99, 4.3, 56, "Stand", "https://img/3");
+        LegacyProduct copy = new Gson().fromJson(gson.toJson(product), LegacyProduct.class);
+        assertEquals(product.getId(), copy.id);
+        assertEquals(product.getName(), copy.name);
+        assertEquals(49.99, copy.price, 0.0);
+        assertEquals(product.getRating(), copy.rating, 0.0);
+        assertEquals(product.getReviews(), copy.reviews);
+        assertEquals(product.getDescription(), copy.description);
+        assertEquals(product.getImageUrl(), copy.imageUrl);
+    }
+
+    @Test
+    public void pricesConvertExactlyFromStoredLiterals() {
+        Product copy = gson.fromJson("{\"id\":1,\"price\":0.1}", Product.class);
+        assertEquals(10, copy.getPrice().getCents());
+        // Totals summed as doubles by older builds are rounded to the cent they displayed
+        Order order = gson.fromJson("{\"id\":1,\"total\":789.9399999999999,\"items\":[]}", Order.class);
+        assertEquals(78994, order.getTotal().getCents());
+        assertTrue(gson.toJson(order).contains("\"total\":789.94"));
+    }
+
+    @Test
+    public void usersMapRoundTrip() {
+        Map<String, User> users = new HashMap<>();
+        users.put("a@example.com", new User("a@example.com", "Alice", "secret"));
+        Type type = new TypeToken<Map<String, User>>(){}.getType();
+
+        Map<String, User> copy = gson.fromJson(gson.toJson(users), type);
+        assertEquals("Alice", copy.get("a@example.com").getFullName());
+        assertEquals("secret", copy.get("a@example.com").getPassword());
+    }
+
+    @Test
+    public void nullFieldsAreOmittedAndUnknownFieldsSkipped() {
+        Product product = new Product();
+        product.setId(1);
+        String json = gson.toJson(product);
+        assertFalse(json.contains("name"));
+
+        Product copy = gson.fromJson("{\"id\":1,\"color\":{\"r\":1},\"name\":null}", Product.class);
+        assertEquals(1, copy.getId());
+        assertNull(copy.getName());
+    }
+
+    /**
+     * Product shape persisted by builds before Money (price as a double)
+     */
+    static class LegacyProduct {
+        int id;
+        String name;
+        double price;
+        double rating;
+        int reviews;
+        String description;
+        String imageUrl;
+
+        LegacyProduct(int id, String name, double price, double rating, int reviews, String description,
+                      String imageUrl) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+            this.rating = rating;
+            this.reviews = reviews;
+            this.description = description;
+            this.imageUrl = imageUrl;
+        }
+    }
+
+    static Order sampleOrder() {
+        List<CartItem> items = new ArrayList<>();
+        items.add(new CartItem(new Product(1, "Headphones", 129.99, 4.5, 124, "Noise cancelling", "https://img/1"), 1));
+        items.add(new CartItem(new Product(2, "Watch", 299.99, 4.8, 89, "Smart watch", "https://img/2"), 3));
+        Order order = new Order(42, "a@example.com", items, Money.of(1029.96), "Alice", "1 Main St", "0400", "a@example.com");
+        order.setTimestamp(new Date(1735689600123L));
+        return order;
+    }
+
+    private static void assertProductEquals(Product expected, Product actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getPrice(), actual.getPrice());
+        assertEquals(expected.getRating(), actual.getRating(), 0.0);
+        assertEquals(expected.getReviews(), actual.getReviews());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getImageUrl(), actual.getImageUrl());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ecommerceapp.models;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for CartItem lazy product resolution and price snapshots
+ */
+public class CartItemTest {
+
+    @After
+    public void resetResolver() {
+        CartItem.setProductResolver(null);
+    }
+
+    @Test
+    public void resolvesProductFromCatalog() {
+        Product canonical = new Product(4, "Phone Case", 19.99, 4.6, 210, "Case", "https://img/4");
+        Map<Integer, Product> catalog = new HashMap<>();
+        catalog.put(4, canonical);
+        CartItem.setProductResolver(catalog::get);
+
+        CartItem item = new CartItem(4, 2, Money.of(19.99));
+        assertSame(canonical, item.getProduct());
+    }
+
+    @Test
+    public void totalUsesPriceSnapshotNotCurrentCatalogPrice() {
+        Product product = new Product(4, "Phone Case", 19.99, 4.6, 210, "Case", "https://img/4");
+        CartItem item = new CartItem(product, 3);
+        product.setPrice(Money.of(24.99));
+
+        assertEquals(Money.of(19.99), item.getUnitPrice());
+        assertEquals(Money.of(59.97), item.getTotalPrice());
+    }
+
+    @Test
+    public void missingProductFallsBackToPlaceholder() {
+        CartItem.setProductResolver(id -> null);
+        CartItem item = new CartItem(99, 1, Money.of(5.0));
+
+        Product product = item.getProduct();
+        assertEquals(99, product.getId());
+        assertEquals(Money.of(5.0), product.getPrice());
+        assertNotNull(product.getName());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.ecommerceapp.models;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for Cart lookups and running aggregates
+ */
+public class CartTest {
+
+    @Test
+    public void addMergesLinesAndKeepsInsertionOrder() {
+        Cart cart = new Cart();
+        cart.add(product(1, 10.00), 1);
+        cart.add(product(2, 2.50), 2);
+        cart.add(product(1, 10.00), 3);
+
+        assertEquals(2, cart.size());
+        assertEquals(4, cart.get(1).getQuantity());
+        assertEquals(1, cart.getItems().get(0).getProductId());
+        assertEquals(2, cart.getItems().get(1).getProductId());
+        assertEquals(6, cart.getTotalQuantity());
+        assertEquals(Money.of(45.00), cart.getSubtotal());
+    }
+
+    @Test
+    public void setQuantityAndRemoveUpdateAggregates() {
+        Cart cart = new Cart();
+        cart.add(product(1, 19.99), 2);
+        cart.add(product(2, 5.00), 1);
+
+        assertTrue(cart.setQuantity(1, 5));
+        assertEquals(6, cart.getTotalQuantity());
+        assertEquals(10495, cart.getSubtotalCents());
+
+        assertTrue(cart.setQuantity(2, 0));
+        assertNull(cart.get(2));
+        assertEquals(5, cart.getTotalQuantity());
+
+        assertNotNull(cart.remove(1));
+        assertTrue(cart.isEmpty());
+        assertEquals(0, cart.getTotalQuantity());
+        assertEquals(0, cart.getSubtotalCents());
+
+        assertFalse(cart.setQuantity(3, 1));
+        assertNull(cart.remove(3));
+    }
+
+    @Test
+    public void savedLinesWithDuplicateIdsAreMerged() {
+        List<CartItem> saved = new ArrayList<>();
+        saved.add(new CartItem(1, 2, Money.of(3.00)));
+        saved.add(new CartItem(2, 1, Money.of(1.25)));
+        saved.add(new CartItem(1, 1, Money.of(3.00)));
+
+        Cart cart = new Cart(saved);
+        assertEquals(2, cart.size());
+        assertEquals(3, cart.get(1).getQuantity());
+        assertEquals(4, cart.getTotalQuantity());
+        assertEquals(Money.of(10.25), cart.getSubtotal());
+    }
+
+    @Test
+    public void clearResetsAggregates() {
+        Cart cart = new Cart();
+        cart.add(product(1, 1.00), 3);
+        cart.clear();
+        assertEquals(0, cart.size());
+        assertEquals(0, cart.getTotalQuantity());
+        assertEquals(Money.of(0.0), cart.getSubtotal());
+    }
+
+    @Test
+    public void bulkCartAggregatesMatchRecomputation() {
+        Random random = new Random(42);
+        Cart cart = new Cart();
+        int lines = 5000;
+        Product[] products = new Product[lines];
+        for (int i = 0; i < lines; i++) {
+            products[i] = product(i + 1, (1 + random.nextInt(50_000)) / 100.0);
+        }
+
+        for (int op = 0; op < 200_000; op++) {
+            Product product = products[random.nextInt(lines)];
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    cart.add(product, 1 + random.nextInt(20));
+                    break;
+                case 2:
+                    cart.setQuantity(product.getId(), random.nextInt(50) - 5);
+                    break;
+                default:
+                    cart.remove(product.getId());
+                    break;
+            }
+            if (op % 10_000 == 0) {
+                assertAggregatesMatch(cart);
+            }
+        }
+        assertTrue(cart.size() > 1000);
+        assertAggregatesMatch(cart);
+    }
+
+    private static void assertAggregatesMatch(Cart cart) {
+        long cents = 0;
+        int quantity = 0;
+        for (CartItem item : cart.getItems()) {
+            assertTrue(item.getQuantity() > 0);
+            cents += item.getUnitPrice().getCents() * item.getQuantity();
+            quantity += item.getQuantity();
+        }
+        assertEquals(cents, cart.getSubtotalCents());
+        assertEquals(quantity, cart.getTotalQuantity());
+    }
+
+    private static Product product(int id, double price) {
+        return new Product(id, "Product " + id, price, 4.0, 10, "", null);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ecommerceapp.models;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of badge/total refresh cost after a quantity tap
+ * - list: linear findCartItem + re-summing every line (previous CartManager)
+ * - cart: O(1) map lookup + running aggregates
+ */
+public class CartTotalsBenchmark {
+    private static final int[] LINE_COUNTS = {10, 1_000, 10_000};
+    private static final int TAPS = 20_000;
+
+    @Test
+    public void refreshAfterTap() {
+        System.out.println("Quantity tap + badge/total refresh, " + TAPS + " taps");
+        System.out.println("   lines        list (ns/tap)   cart (ns/tap)");
+        for (int lines : LINE_COUNTS) {
+            List<CartItem> list = new ArrayList<>();
+            Cart cart = new Cart();
+            for (int i = 0; i < lines; i++) {
+                Product product = new Product(i + 1, "P" + i, 1 + (i % 100) / 100.0, 4.0, 1, "", null);
+                list.add(new CartItem(product, 1));
+                cart.add(product, 1);
+            }
+
+            long best = Long.MAX_VALUE;
+            long bestCart = Long.MAX_VALUE;
+            for (int round = 0; round < 5; round++) {
+                long begin = System.nanoTime();
+                long listTotal = 0;
+                for (int tap = 0; tap < TAPS; tap++) {
+                    int productId = 1 + (tap * 7919) % lines;
+                    CartItem item = null;
+                    for (CartItem candidate : list) {
+                        if (candidate.getProductId() == productId) {
+                            item = candidate;
+                            break;
+                        }
+                    }
+                    item.setQuantity(1 + tap % 3);
+                    listTotal = 0;
+                    int count = 0;
+                    for (CartItem line : list) {
+                        listTotal += line.getTotalCents();
+                        count += line.getQuantity();
+                    }
+                    assertTrue(count >= lines);
+                }
+                best = Math.min(best, System.nanoTime() - begin);
+
+                begin = System.nanoTime();
+                long cartTotal = 0;
+                for (int tap = 0; tap < TAPS; tap++) {
+                    int productId = 1 + (tap * 7919) % lines;
+                    cart.setQuantity(productId, 1 + tap % 3);
+                    cartTotal = cart.getSubtotalCents();
+                    assertTrue(cart.getTotalQuantity() >= lines);
+                }
+                bestCart = Math.min(bestCart, System.nanoTime() - begin);
+                assertEquals(listTotal, cartTotal);
+            }
+            System.out.printf("  %6d  %14.1f  %14.1f%n", lines, (double) best / TAPS, (double) bestCart / TAPS);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ecommerceapp.models;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for Money conversion, arithmetic and formatting
+ */
+public class MoneyTest {
+
+    @Test
+    public void doublesConvertToTheNearestCent() {
+        assertEquals(12999, Money.of(129.99).getCents());
+        assertEquals(10, Money.of(0.1).getCents());
+        assertEquals(101, Money.of(1.005).getCents());
+        assertEquals(78994, Money.of(789.9399999999999).getCents());
+        assertEquals(-250, Money.of(-2.5).getCents());
+    }
+
+    @Test
+    public void parseIsExactForDecimalLiterals() {
+        assertEquals(12999, Money.parse("129.99").getCents());
+        assertEquals(12900, Money.parse("129").getCents());
+        assertEquals(12999, Money.parse("1.2999E2").getCents());
+        assertEquals(Money.of(19.99), Money.parse("19.990"));
+    }
+
+    @Test
+    public void arithmeticIsExact() {
+        Money sum = Money.ZERO;
+        for (int i = 0; i < 1000; i++) {
+            sum = sum.plus(Money.of(0.1));
+        }
+        assertEquals(Money.ofCents(10000), sum);
+        assertEquals(Money.of(59.97), Money.of(19.99).times(3));
+        assertEquals(Money.of(5.00), Money.of(20.00).minus(Money.of(15.00)));
+        assertTrue(Money.ZERO.isZero());
+        assertSame(Money.ZERO, Money.ofCents(0));
+    }
+
+    @Test
+    public void formatMatchesStringFormat() {
+        long[] samples = {0, 1, 9, 10, 99, 100, 105, 12999, 100000000, -1, -105, -12999};
+        for (long cents : samples) {
+            String expected = String.format(Locale.US, "$%.2f", cents / 100.0);
+            assertEquals(expected, Money.ofCents(cents).format());
+            assertEquals(expected, Money.format(cents));
+        }
+    }
+
+    @Test
+    public void formatIsCachedPerInstance() {
+        Money price = Money.of(89.99);
+        assertSame(price.format(), price.format());
+    }
+
+    @Test
+    public void equalityAndOrderingFollowCents() {
+        assertEquals(Money.of(1.50), Money.ofCents(150));
+        assertEquals(Money.of(1.50).hashCode(), Money.ofCents(150).hashCode());
+        assertTrue(Money.of(1.49).compareTo(Money.of(1.50)) < 0);
+        assertEquals(new BigDecimal("1.50"), Money.ofCents(150).toBigDecimal());
+        assertEquals("1.50", Money.ofCents(150).toString());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.ecommerceapp.search;
+
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of type-ahead query latency on a synthetic 100k-product catalog
+ * - scan: lowercase + contains over every name (previous SearchActivity.filterProducts)
+ * - index: SearchIndex.search with a 50-result limit
+ * - typing: every prefix of a query in turn, searched from scratch vs narrowing the last result
+ */
+public class SearchIndexBenchmark {
+    private static final int PRODUCTS = 100_000;
+    private static final String[] QUERIES = {"s", "sh", "shi", "shirt", "blue sh", "linen shirt sl", "zz"};
+    private static final String[] COLORS = {"Blue", "Black", "White", "Red", "Green", "Navy", "Grey", "Olive"};
+    private static final String[] MATERIALS = {"Linen", "Cotton", "Wool", "Denim", "Silk", "Leather"};
+    private static final String[] TYPES = {"Shirt", "Shorts", "Jacket", "Dress", "Sneakers", "Scarf", "Skirt", "Hoodie"};
+    private static final String[] FITS = {"Slim", "Regular", "Relaxed", "Oversized"};
+
+    static List<Product> syntheticCatalog(int count, long seed) {
+        Random random = new Random(seed);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = COLORS[random.nextInt(COLORS.length)] + " "
+                    + MATERIALS[random.nextInt(MATERIALS.length)] + " "
+                    + FITS[random.nextInt(FITS.length)] + " "
+                    + TYPES[random.nextInt(TYPES.length)] + " " + (char) ('A' + random.nextInt(26)) + random.nextInt(1000);
+            products.add(new Product(i + 1, name, 5 + random.nextInt(200), 1 + random.nextInt(40) / 10.0,
+                    random.nextInt(500), name + " made for everyday wear", null));
+        }
+        return products;
+    }
+
+    @Test
+    public void queryLatency() {
+        List<Product> products = syntheticCatalog(PRODUCTS, 42);
+        long begin = System.nanoTime();
+        SearchIndex index = SearchIndex.build(products);
+        long buildNanos = System.nanoTime() - begin;
+
+        System.out.println("Type-ahead over " + PRODUCTS + " products (index build "
+                + buildNanos / 1_000_000 + " ms, " + index.getTermCount() + " terms), best of 20");
+        System.out.println("  query              scan (ms)   index (ms)   index hits");
+        for (String query : QUERIES) {
+            long bestScan = Long.MAX_VALUE;
+            long bestIndex = Long.MAX_VALUE;
+            int hits = 0;
+            for (int round = 0; round < 20; round++) {
+                begin = System.nanoTime();
+                String lower = query.toLowerCase(Locale.ROOT);
+                int scanned = 0;
+                for (Product product : products) {
+                    if (product.getName().toLowerCase().contains(lower)) {
+                        scanned++;
+                    }
+                }
+                bestScan = Math.min(bestScan, System.nanoTime() - begin);
+                assertTrue(scanned >= 0);
+
+                begin = System.nanoTime();
+                hits = index.search(query, 50).length;
+                bestIndex = Math.min(bestIndex, System.nanoTime() - begin);
+            }
+            System.out.printf("  %-16s %10.3f %12.3f %12d%n", '"' + query + '"',
+                    bestScan / 1e6, bestIndex / 1e6, hits);
+        }
+
+        // Typing a query one character at a time, each keystroke narrowing the last result
+        String typed = "linen shirt sl";
+        long bestFull = Long.MAX_VALUE;
+        long bestNarrowed = Long.MAX_VALUE;
+        int narrowedSteps = 0;
+        for (int round = 0; round < 20; round++) {
+            begin = System.nanoTime();
+            for (int end = 1; end <= typed.length(); end++) {
+                index.query(typed.substring(0, end), 50, null);
+            }
+            bestFull = Math.min(bestFull, System.nanoTime() - begin);
+
+            begin = System.nanoTime();
+            SearchResult last = null;
+            narrowedSteps = 0;
+            for (int end = 1; end <= typed.length(); end++) {
+                last = index.query(typed.substring(0, end), 50, last);
+                narrowedSteps += last.isNarrowed() ? 1 : 0;
+            }
+            bestNarrowed = Math.min(bestNarrowed, System.nanoTime() - begin);
+        }
+        System.out.printf("  typing \"%s\" (%d keystrokes): full %.3f ms, narrowing %.3f ms (%d narrowed)%n",
+                typed, typed.length(), bestFull / 1e6, bestNarrowed / 1e6, narrowedSteps);
+
+        // Re-saving the catalog with a handful of edits re-indexes just those products
+        List<Product> edited = new ArrayList<>(products);
+        for (int i = 0; i < 10; i++) {
+            Product old = edited.get(i * 1000);
+            edited.set(i * 1000, new Product(old.getId(), "Limited " + old.getName(), 10, 4, 1, "", null));
+        }
+        begin = System.nanoTime();
+        assertEquals(10, index.update(edited));
+        System.out.printf("  incremental update (10 of %d changed): %.3f ms%n", PRODUCTS,
+                (System.nanoTime() - begin) / 1e6);
+    }
+}
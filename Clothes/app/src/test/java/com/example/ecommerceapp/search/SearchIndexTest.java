@@ -0,0 +1,160 @@
+package com.example.ecommerceapp.search;
+
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for SearchIndex matching, ranking and incremental updates
+ */
+public class SearchIndexTest {
+
+    @Test
+    public void tokenizerSplitsOnNonAlphanumerics() {
+        assertEquals(Arrays.asList("men", "s", "slim", "fit", "t", "shirt", "2024"),
+                Tokenizer.tokenize("Men's Slim-Fit T-Shirt (2024)"));
+        assertTrue(Tokenizer.tokenize("  -- ").isEmpty());
+        assertTrue(Tokenizer.tokenize(null).isEmpty());
+    }
+
+    @Test
+    public void everyQueryTermMustMatchAsTermOrPrefix() {
+        SearchIndex index = SearchIndex.build(catalog());
+
+        assertArrayEquals(new int[]{1, 3}, index.search("shirt", 10));
+        // All prefix matches: the shorter name ranks first
+        assertArrayEquals(new int[]{5, 1, 3}, index.search("sh", 10));
+        assertArrayEquals(new int[]{3}, index.search("blue sh", 10));
+        assertArrayEquals(new int[]{3}, index.search("SH BLU", 10));
+        assertArrayEquals(new int[0], index.search("blue sock", 10));
+        assertArrayEquals(new int[0], index.search("  ", 10));
+        // Substrings inside a term do not match
+        assertArrayEquals(new int[0], index.search("irt", 10));
+    }
+
+    @Test
+    public void wholeTermMatchesRankAbovePrefixMatches() {
+        List<Product> products = new ArrayList<>();
+        products.add(product(1, "Shortsleeve Top"));
+        products.add(product(2, "Cargo Shorts"));
+        products.add(product(3, "Denim Shorts With Pockets"));
+        SearchIndex index = SearchIndex.build(products);
+
+        // "shorts" is a whole term for 2 and 3 (2 has the shorter name); 1 only by prefix
+        assertArrayEquals(new int[]{2, 3, 1}, index.search("shorts", 10));
+        // Prefix-only for all three: equal-length names 1 and 2 fall back to product id
+        assertArrayEquals(new int[]{1, 2, 3}, index.search("short", 10));
+        assertArrayEquals(new int[]{1}, index.search("short", 1));
+    }
+
+    @Test
+    public void updateReindexesOnlyChangedProducts() {
+        List<Product> products = catalog();
+        SearchIndex index = SearchIndex.build(products);
+        assertEquals(5, index.size());
+
+        assertEquals(0, index.update(products));
+
+        List<Product> next = new ArrayList<>(catalog());
+        next.remove(0);                                   // id 1 removed
+        next.set(0, product(2, "Wool Scarf"));            // id 2 renamed
+        next.add(product(6, "Linen Shirt"));              // id 6 added
+        assertEquals(3, index.update(next));
+
+        assertEquals(5, index.size());
+        assertArrayEquals(new int[]{6, 3}, index.search("shirt", 10));
+        assertArrayEquals(new int[]{2}, index.search("scarf", 10));
+        assertArrayEquals(new int[0], index.search("cargo", 10));
+    }
+
+    @Test
+    public void descriptionMatchesButNameMatchesRankHigher() {
+        List<Product> products = new ArrayList<>();
+        products.add(new Product(1, "Everyday Tee", 10.00, 4.0, 10, "Soft linen blend", null));
+        products.add(new Product(2, "Linen Trousers", 10.00, 4.0, 10, "Relaxed fit", null));
+        products.add(new Product(3, "Wool Coat", 10.00, 4.0, 10, "Warm", null));
+        SearchIndex index = SearchIndex.build(products);
+
+        assertArrayEquals(new int[]{2, 1}, index.search("linen", 10));
+        // One term from each field
+        assertArrayEquals(new int[]{1}, index.search("tee soft", 10));
+    }
+
+    @Test
+    public void priorBreaksTextTiesAndCanBeTuned() {
+        List<Product> products = new ArrayList<>();
+        products.add(new Product(1, "Canvas Tote", 10.00, 3.0, 2, "", null));
+        products.add(new Product(2, "Canvas Tote", 10.00, 4.8, 500, "", null));
+        products.add(new Product(3, "Canvas Sneakers Low", 10.00, 5.0, 1000, "", null));
+        // Unrelated products, so "canvas" is not in every document (which would zero its idf)
+        products.add(product(10, "Wool Scarf"));
+        products.add(product(11, "Leather Belt"));
+        products.add(product(12, "Silk Tie"));
+        products.add(product(13, "Cotton Socks"));
+        SearchIndex index = SearchIndex.build(products);
+
+        // Same text score: the better reviewed product first
+        assertArrayEquals(new int[]{2, 1}, index.search("canvas tote", 10));
+
+        // A rating change is picked up without re-indexing the text
+        List<Product> rerated = new ArrayList<>(products);
+        rerated.set(0, new Product(1, "Canvas Tote", 10.00, 5.0, 2000, "", null));
+        assertEquals(1, index.update(rerated));
+        assertArrayEquals(new int[]{1, 2}, index.search("canvas tote", 10));
+
+        // By default the shorter names win; a heavy prior lets the better reviewed longer name
+        // overtake them, and no prior falls back to product id among equal text scores
+        assertArrayEquals(new int[]{1, 2, 3}, index.search("canvas", 10));
+        index.setScorer(Bm25Scorer.DEFAULT.withPriorWeight(0));
+        assertArrayEquals(new int[]{1, 2, 3}, index.search("canvas", 10));
+        index.setScorer(Bm25Scorer.DEFAULT.withPriorWeight(10));
+        assertArrayEquals(new int[]{1, 3, 2}, index.search("canvas", 10));
+    }
+
+    @Test
+    public void fieldBoostsChangeWhichFieldWins() {
+        List<Product> products = new ArrayList<>();
+        products.add(new Product(1, "Denim Jacket", 10.00, 4.0, 10, "Classic cut", null));
+        products.add(new Product(2, "Trucker Coat", 10.00, 4.0, 10, "Washed denim with denim trim", null));
+        SearchIndex index = SearchIndex.build(products);
+
+        assertArrayEquals(new int[]{1, 2}, index.search("denim", 10));
+        index.setScorer(Bm25Scorer.DEFAULT.withFieldBoosts(1.0, 3.0));
+        assertArrayEquals(new int[]{2, 1}, index.search("denim", 10));
+    }
+
+    @Test
+    public void topKKeepsBestScoresAndBreaksTiesById() {
+        TopK top = new TopK(3);
+        top.offer(10, 1.0);
+        top.offer(11, 5.0);
+        top.offer(12, 3.0);
+        top.offer(13, 4.0);
+        top.offer(9, 3.0);
+        top.offer(14, 0.5);
+
+        assertArrayEquals(new int[]{11, 13, 9}, top.drainDescending());
+        assertEquals(0, top.size());
+        assertArrayEquals(new int[0], new TopK(0).drainDescending());
+    }
+
+    private static List<Product> catalog() {
+        List<Product> products = new ArrayList<>();
+        products.add(product(1, "Classic White Shirt"));
+        products.add(product(2, "Cargo Pants"));
+        products.add(product(3, "Blue Oxford Shirt"));
+        products.add(product(4, "Blue Jeans"));
+        products.add(product(5, "Running Shoes"));
+        return products;
+    }
+
+    static Product product(int id, String name) {
+        return new Product(id, name, 10.00, 4.0, 10, "", null);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.ecommerceapp.search;
+
+import com.example.ecommerceapp.data.ProductRepository;
+import com.example.ecommerceapp.data.WriteBehindScheduler;
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for SearchPipeline debouncing, cancellation and stale-result handling
+ * Timer, worker and main thread are manual queues the test runs in any order it likes
+ */
+public class SearchPipelineTest {
+    private final ManualScheduler scheduler = new ManualScheduler();
+    private final Deque<Runnable> worker = new ArrayDeque<>();
+    private final Deque<Runnable> main = new ArrayDeque<>();
+    private final List<String> deliveredQueries = new ArrayList<>();
+    private final List<List<Product>> deliveredResults = new ArrayList<>();
+    private final Map<Integer, Product> catalog = new HashMap<>();
+    private final SearchIndex index;
+    private final SearchPipeline pipeline;
+
+    public SearchPipelineTest() {
+        List<Product> products = new ArrayList<>();
+        String[] names = {"Blue Shirt", "Blue Shorts", "Black Shirt", "Blue Jeans", "Shirt Dress", "Red Scarf"};
+        for (int i = 0; i < names.length; i++) {
+            Product product = SearchIndexTest.product(i + 1, names[i]);
+            products.add(product);
+            catalog.put(product.getId(), product);
+        }
+        index = SearchIndex.build(products);
+        ProductRepository repository = new ProductRepository(() -> products);
+        pipeline = new SearchPipeline(() -> index, repository, worker::add, scheduler, main::add,
+                150, 10, (query, results) -> {
+                    deliveredQueries.add(query);
+                    deliveredResults.add(results);
+                });
+    }
+
+    @Test
+    public void burstOfKeystrokesRunsOneSearch() {
+        pipeline.setQuery("s");
+        pipeline.setQuery("sh");
+        pipeline.setQuery("shi");
+        assertEquals(1, scheduler.tasks.size());
+        assertEquals(150, scheduler.lastDelay);
+
+        scheduler.fireAll();
+        assertEquals(1, worker.size());
+        runAll(worker);
+        runAll(main);
+
+        assertEquals(1, deliveredQueries.size());
+        assertEquals("shi", deliveredQueries.get(0));
+        assertEquals(3, deliveredResults.get(0).size());
+    }
+
+    @Test
+    public void supersededQueuedSearchIsCancelled() {
+        pipeline.setQuery("blue");
+        scheduler.fireAll();
+        pipeline.setQuery("black");
+        scheduler.fireAll();
+
+        assertEquals(2, worker.size());
+        runAll(worker);
+        runAll(main);
+
+        // The "blue" task was cancelled before it ran: only one delivery
+        assertEquals(1, deliveredQueries.size());
+        assertEquals("black", deliveredQueries.get(0));
+    }
+
+    @Test
+    public void staleResultsNeverOverwriteNewerOnes() {
+        pipeline.setQuery("blue");
+        scheduler.fireAll();
+        Runnable blueSearch = worker.poll();
+        blueSearch.run();                    // finished, delivery still queued on main
+        Runnable blueDelivery = main.poll();
+
+        pipeline.setQuery("shirt");
+        scheduler.fireAll();
+        runAll(worker);
+        runAll(main);                        // "shirt" delivered first
+        blueDelivery.run();                  // then the older result arrives
+
+        assertEquals(1, deliveredQueries.size());
+        assertEquals("shirt", deliveredQueries.get(0));
+    }
+
+    @Test
+    public void searchStartedBeforeNewerQueryIsNotDelivered() {
+        pipeline.setQuery("blue");
+        scheduler.fireAll();
+        Runnable blueSearch = worker.poll();
+
+        pipeline.setQuery("shirt");
+        scheduler.fireAll();
+        runAll(worker);
+        blueSearch.run();                    // cancelled: does nothing
+        runAll(main);
+
+        assertEquals(1, deliveredQueries.size());
+        assertEquals("shirt", deliveredQueries.get(0));
+    }
+
+    @Test
+    public void blankQueryClearsImmediately() {
+        pipeline.setQuery("blue");
+        pipeline.setQuery("  ");
+
+        assertTrue(scheduler.tasks.isEmpty());
+        assertEquals(1, deliveredQueries.size());
+        assertTrue(deliveredResults.get(0).isEmpty());
+    }
+
+    @Test
+    public void extendingTheQueryNarrowsTheDeliveredResult() {
+        SearchResult blue = index.query("blue", 10, null);
+        assertFalse(blue.isNarrowed());
+        assertEquals(3, blue.getMatchCount());
+
+        // "blue sh": 2 candidates left to check beat walking the postings of "blue" and "sh*"
+        SearchResult narrowed = index.query("blue sh", 10, blue);
+        assertTrue(narrowed.isNarrowed());
+        assertArrayEquals(index.search("blue sh", 10), narrowed.getProductIds());
+        assertArrayEquals(new int[]{1, 2}, narrowed.getProductIds());
+
+        // Not an extension of "blue": full search
+        assertFalse(index.query("black", 10, blue).isNarrowed());
+
+        // The index changed since: full search
+        List<Product> products = new ArrayList<>(catalog.values());
+        products.add(SearchIndexTest.product(7, "Blue Shirt Jacket"));
+        index.update(products);
+        SearchResult afterUpdate = index.query("blue sh", 10, blue);
+        assertFalse(afterUpdate.isNarrowed());
+        assertEquals(3, afterUpdate.getMatchCount());
+    }
+
+    private static void runAll(Deque<Runnable> queue) {
+        while (!queue.isEmpty()) {
+            queue.poll().run();
+        }
+    }
+
+    private static final class ManualScheduler implements WriteBehindScheduler.Scheduler {
+        final List<Runnable> tasks = new ArrayList<>();
+        long lastDelay;
+
+        @Override
+        public void postDelayed(Runnable task, long delayMillis) {
+            tasks.add(task);
+            lastDelay = delayMillis;
+        }
+
+        @Override
+        public void removeCallbacks(Runnable task) {
+            tasks.remove(task);
+        }
+
+        void fireAll() {
+            List<Runnable> due = new ArrayList<>(tasks);
+            tasks.clear();
+            for (Runnable task : due) {
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ecommerceapp.search;
+
+import com.example.ecommerceapp.models.Product;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of BM25-ranked query latency on synthetic 10k and 100k-product catalogs
+ * Queries mix rare and common terms, prefixes, and terms only found in descriptions;
+ * reports the median and best of 30 runs with the default 50-result limit
+ */
+public class SearchRelevanceBenchmark {
+    private static final int[] SIZES = {10_000, 100_000};
+    private static final String[] QUERIES = {"s", "shirt", "blue sh", "linen slim shirt", "everyday", "wear denim", "zz"};
+    private static final int ROUNDS = 30;
+
+    @Test
+    public void queryLatency() {
+        for (int size : SIZES) {
+            List<Product> products = SearchIndexBenchmark.syntheticCatalog(size, 7);
+            long begin = System.nanoTime();
+            SearchIndex index = SearchIndex.build(products);
+            long buildNanos = System.nanoTime() - begin;
+
+            System.out.println("BM25 search over " + size + " products (index build "
+                    + buildNanos / 1_000_000 + " ms, " + index.getTermCount() + " terms), " + ROUNDS + " runs");
+            System.out.println("  query              median (ms)   best (ms)   hits");
+            for (String query : QUERIES) {
+                long[] nanos = new long[ROUNDS];
+                int hits = 0;
+                for (int round = 0; round < ROUNDS; round++) {
+                    begin = System.nanoTime();
+                    hits = index.search(query, 50).length;
+                    nanos[round] = System.nanoTime() - begin;
+                }
+                Arrays.sort(nanos);
+                System.out.printf("  %-18s %12.3f %11.3f %6d%n", '"' + query + '"',
+                        nanos[ROUNDS / 2] / 1e6, nanos[0] / 1e6, hits);
+                assertTrue(hits <= 50);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ecommerceapp.utils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for DateUtils windows against a fixed clock
+ */
+public class DateUtilsTest {
+    private static final Instant NOW = Instant.parse("2025-08-31T12:00:00Z");
+
+    @After
+    public void restoreClock() {
+        DateUtils.setClock(null);
+    }
+
+    @Test
+    public void sixMonthsAgoUsesInjectedClock() {
+        DateUtils.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        // Feb has no 31st, so the calendar month arithmetic clamps to the 28th
+        assertEquals(Instant.parse("2025-02-28T12:00:00Z"), DateUtils.getSixMonthsAgo().toInstant());
+    }
+
+    @Test
+    public void cutoffFollowsClockTimeZone() {
+        DateUtils.setClock(Clock.fixed(Instant.parse("2025-03-31T23:30:00Z"), ZoneId.of("Asia/Tokyo")));
+        // 2025-04-01T08:30 in Tokyo minus 6 months is 2024-10-01T08:30 Tokyo
+        assertEquals(Instant.parse("2024-09-30T23:30:00Z"), DateUtils.getSixMonthsAgo().toInstant());
+    }
+
+    @Test
+    public void withinLastSixMonthsIncludesCutoff() {
+        DateUtils.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        Date cutoff = DateUtils.getSixMonthsAgo();
+
+        assertTrue(DateUtils.isWithinLast6Months(cutoff));
+        assertTrue(DateUtils.isWithinLast6Months(Date.from(NOW)));
+        assertFalse(DateUtils.isWithinLast6Months(new Date(cutoff.getTime() - 1)));
+        assertFalse(DateUtils.isWithinLast6Months(null));
+    }
+
+    @Test
+    public void isOnOrAfterComparesAgainstPrecomputedCutoff() {
+        Date cutoff = new Date(1000);
+        assertTrue(DateUtils.isOnOrAfter(new Date(1000), cutoff));
+        assertTrue(DateUtils.isOnOrAfter(new Date(1001), cutoff));
+        assertFalse(DateUtils.isOnOrAfter(new Date(999), cutoff));
+        assertFalse(DateUtils.isOnOrAfter(null, cutoff));
+    }
+
+    @Test
+    public void nullRestoresSystemClock() {
+        DateUtils.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        DateUtils.setClock(null);
+        assertEquals(Clock.systemDefaultZone().getZone(), DateUtils.getClock().getZone());
+        assertNotEquals(NOW, DateUtils.getClock().instant());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ecommerceapp.utils;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for IntIntHashMap put/get and resizing
+ */
+public class IntIntHashMapTest {
+
+    @Test
+    public void putGetAndReplace() {
+        IntIntHashMap map = new IntIntHashMap();
+        map.put(7, 70);
+        map.put(0, 0);
+        map.put(-3, -30);
+
+        assertEquals(70, map.get(7, -1));
+        assertEquals(0, map.get(0, -1));
+        assertTrue(map.containsKey(0));
+        assertEquals(-30, map.get(-3, -1));
+        assertEquals(-1, map.get(8, -1));
+        assertFalse(map.containsKey(8));
+        map.put(7, 71);
+        assertEquals(71, map.get(7, -1));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void matchesHashMapThroughResizes() {
+        IntIntHashMap map = new IntIntHashMap(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(50_000) - 25_000;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), map.get(entry.getKey(), -1));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ecommerceapp.utils;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for IntLongHashMap put/get, iteration and resizing
+ */
+public class IntLongHashMapTest {
+
+    @Test
+    public void putGetAndReplace() {
+        IntLongHashMap map = new IntLongHashMap();
+        map.put(7, 70L);
+        map.put(0, 0L);
+        map.put(-3, 5_000_000_000L);
+
+        assertEquals(70L, map.get(7, -1));
+        assertEquals(0L, map.get(0, -1));
+        assertTrue(map.containsKey(0));
+        assertEquals(5_000_000_000L, map.get(-3, -1));
+        assertEquals(-1L, map.get(8, -1));
+        assertFalse(map.containsKey(8));
+        map.put(7, 71L);
+        assertEquals(71L, map.get(7, -1));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void matchesHashMapThroughResizes() {
+        IntLongHashMap map = new IntLongHashMap(4);
+        Map<Integer, Long> expected = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(50_000) - 25_000;
+            long value = (long) i << 20;
+            map.put(key, value);
+            expected.put(key, value);
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, Long> entry : expected.entrySet()) {
+            assertEquals((long) entry.getValue(), map.get(entry.getKey(), -1));
+        }
+
+        Map<Integer, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+}
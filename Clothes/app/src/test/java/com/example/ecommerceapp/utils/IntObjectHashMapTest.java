@@ -0,0 +1,74 @@
+package com.example.ecommerceapp.utils;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for IntObjectHashMap put/get/remove and resizing
+ */
+public class IntObjectHashMapTest {
+
+    @Test
+    public void putGetAndReplace() {
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        assertNull(map.put(7, "seven"));
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-3, "minus three"));
+
+        assertEquals("seven", map.get(7));
+        assertEquals("zero", map.get(0));
+        assertEquals("minus three", map.get(-3));
+        assertNull(map.get(8));
+        assertEquals("seven", map.put(7, "SEVEN"));
+        assertEquals("SEVEN", map.get(7));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void removeKeepsCollidingKeysReachable() {
+        IntObjectHashMap<Integer> map = new IntObjectHashMap<>(4);
+        for (int i = 0; i < 64; i++) {
+            map.put(i * 16, i);
+        }
+        for (int i = 0; i < 64; i += 2) {
+            assertEquals(Integer.valueOf(i), map.remove(i * 16));
+        }
+        assertNull(map.remove(0));
+        assertEquals(32, map.size());
+        for (int i = 0; i < 64; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), map.get(i * 16));
+        }
+    }
+
+    @Test
+    public void matchesHashMapUnderRandomOperations() {
+        IntObjectHashMap<Integer> map = new IntObjectHashMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int step = 0; step < 100_000; step++) {
+            int key = random.nextInt(2000) - 1000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, step), map.put(key, step));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        int[] visited = new int[1];
+        map.forEach((key, value) -> {
+            assertEquals(expected.get(key), value);
+            visited[0]++;
+        });
+        assertEquals(expected.size(), visited[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNullValues() {
+        new IntObjectHashMap<String>().put(1, null);
+    }
+}